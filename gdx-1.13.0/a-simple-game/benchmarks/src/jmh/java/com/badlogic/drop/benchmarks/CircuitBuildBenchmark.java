@@ -0,0 +1,74 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.drop.entities.Circuit;
+import com.badlogic.drop.entities.gates.InputBits;
+import com.badlogic.drop.entities.gates.LogicGate;
+import com.badlogic.drop.entities.gates.OutputBits;
+import com.badlogic.drop.levels.JSONtoCircuit;
+import com.badlogic.drop.levels.LevelDescriptor;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcao de circuitos sinteticos de 10^2 a 10^5 portas.
+ * buildLevel: JSONtoCircuit.build (portas, fios via CircuitBuilder e Circuit).
+ * constructCircuit: apenas o construtor do Circuit, que e o que CircuitBuilder.build() executa
+ * (grafo de dependencias, Kahn, netlist compilada e computeLevels).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CircuitBuildBenchmark {
+    @Param({"100", "1000", "10000", "100000"})
+    public int gates;
+
+    private JSONtoCircuit converter;
+    private LevelDescriptor descriptor;
+
+    // componentes de um circuito ja montado, reaproveitados pelo constructCircuit
+    private Array<InputBits> inputs;
+    private Array<LogicGate> middleGates;
+    private Array<OutputBits> outputs;
+    private Array<Boolean> expectedOutput;
+    private Circuit built;
+
+    @Setup
+    public void setup() {
+        HeadlessGdx.init();
+        converter = new JSONtoCircuit();
+        descriptor = SyntheticLevels.generate(gates, 16, 8, 42L);
+
+        built = converter.build(descriptor, false);
+        inputs = built.getInputs();
+        outputs = built.getOutputs();
+        expectedOutput = new Array<>(built.getOutputCount());
+        for (int o = 0; o < built.getOutputCount(); o++) {
+            expectedOutput.add(built.getExpectedOutput(o));
+        }
+        middleGates = new Array<>();
+        for (LogicGate gate : built.getAllGates()) {
+            if (!(gate instanceof InputBits) && !(gate instanceof OutputBits)) {
+                middleGates.add(gate);
+            }
+        }
+    }
+
+    @Benchmark
+    public Circuit buildLevel() {
+        return converter.build(descriptor, false);
+    }
+
+    @Benchmark
+    public Circuit constructCircuit() {
+        return new Circuit(inputs, middleGates, built.getWires(), outputs, expectedOutput, false);
+    }
+}
@@ -0,0 +1,65 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.drop.entities.CircuitEditor;
+import com.badlogic.drop.entities.Wire;
+import com.badlogic.drop.entities.gates.LogicGate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Edicao incremental do modo sandbox (CircuitEditor): liga e desliga um fio entre portas
+ * proximas na ordem, em qualquer direcao. Fios que fecham laco sao rejeitados pela busca
+ * do Pearce-Kelly; os demais reordenam so as portas entre as duas pontas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EditorBenchmark {
+    @Param({"1000", "10000"})
+    public int gates;
+
+    private CircuitEditor editor;
+    private LogicGate[] nodes;
+    private final Random random = new Random(42L);
+
+    @Setup
+    public void setup() {
+        HeadlessGdx.init();
+        editor = new CircuitEditor();
+        nodes = new LogicGate[gates];
+        for (int i = 0; i < gates; i++) {
+            nodes[i] = editor.addGate(i % 50 == 0 ? "INPUT" : "AND", (i % 40) * 12, (i / 40) % 80 * 12);
+        }
+        // circuito de partida: fios locais aleatorios
+        for (int k = 0; k < gates * 2; k++) {
+            connectRandom();
+        }
+    }
+
+    private Wire connectRandom() {
+        int from = random.nextInt(gates);
+        int to = Math.max(0, Math.min(gates - 1, from + random.nextInt(33) - 16));
+        if (nodes[to].getNumInputs() == 0) {
+            return null;
+        }
+        return editor.connect(nodes[from], nodes[to], random.nextInt(nodes[to].getNumInputs()));
+    }
+
+    @Benchmark
+    public int connectDisconnect() {
+        Wire wire = connectRandom();
+        if (wire != null) {
+            editor.disconnect(wire);
+        }
+        return editor.getLastVisited();
+    }
+}
@@ -0,0 +1,53 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.drop.entities.Circuit;
+import com.badlogic.drop.entities.gates.InputBits;
+import com.badlogic.drop.levels.JSONtoCircuit;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit.evaluate() apos trocar uma entrada (como um clique do jogador),
+ * com avaliacao incremental e com a passada completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EvaluateBenchmark {
+    @Param({"100", "1000", "10000", "100000"})
+    public int gates;
+
+    @Param({"true", "false"})
+    public boolean incremental;
+
+    private Circuit circuit;
+    private Array<InputBits> inputs;
+    private int nextInput;
+
+    @Setup
+    public void setup() {
+        HeadlessGdx.init();
+        circuit = new JSONtoCircuit().build(SyntheticLevels.generate(gates, 16, 8, 42L), false);
+        circuit.setIncrementalEvaluation(incremental);
+        circuit.resetInputs();
+        circuit.evaluate();
+        inputs = circuit.getInputs();
+    }
+
+    @Benchmark
+    public boolean toggleAndEvaluate() {
+        inputs.get(nextInput).toggle();
+        nextInput = (nextInput + 1) % inputs.size;
+        circuit.evaluate();
+        return circuit.getOutputs().get(0).getOutput();
+    }
+}
@@ -0,0 +1,39 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+
+/**
+ * Ambiente libGDX headless compartilhado pelos benchmarks.
+ * Sem contexto grafico (Gdx.gl == null): o modelo dos circuitos nao depende de texturas
+ * (os sprites ficam em ui.GateRenderer), entao so a logica e medida.
+ */
+final class HeadlessGdx {
+    private static HeadlessApplication application;
+
+    private HeadlessGdx() {
+    }
+
+    static synchronized void init() {
+        if (application != null) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // sem loop de render
+        application = new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = null;
+        Gdx.gl20 = null;
+        Gdx.app.setLogLevel(com.badlogic.gdx.Application.LOG_ERROR);
+    }
+
+    /**
+     * Arquivo dentro de assets/ (caminho passado pelo build em -Dbitit.assets)
+     */
+    static FileHandle asset(String path) {
+        String assets = System.getProperty("bitit.assets", "assets");
+        return new FileHandle(new File(assets, path));
+    }
+}
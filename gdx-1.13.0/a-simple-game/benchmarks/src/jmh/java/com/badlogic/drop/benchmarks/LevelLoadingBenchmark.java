@@ -0,0 +1,59 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.drop.levels.JSONtoCircuit;
+import com.badlogic.drop.levels.Level;
+import com.badlogic.drop.levels.LevelDescriptor;
+import com.badlogic.drop.levels.LevelPack;
+import com.badlogic.drop.levels.LevelPackLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carregamento do levels.json distribuido com o jogo:
+ * leitura das descricoes e conversao completa (todos os circuitos construidos),
+ * e as mesmas descricoes decodificadas do pacote binario (levels.bin).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LevelLoadingBenchmark {
+    private FileHandle levelsFile;
+    private JSONtoCircuit converter;
+    private LevelPack pack;
+
+    @Setup
+    public void setup() {
+        HeadlessGdx.init();
+        levelsFile = HeadlessGdx.asset("levels/levels.json");
+        converter = new JSONtoCircuit();
+        pack = new LevelPack(LevelPackLoader.READ_BYTES.load(HeadlessGdx.asset("levels/levels.bin")));
+    }
+
+    @Benchmark
+    public Array<LevelDescriptor> parse() {
+        return converter.parse(levelsFile, false);
+    }
+
+    @Benchmark
+    public Array<LevelDescriptor> readPack() {
+        Array<LevelDescriptor> descriptors = new Array<>(pack.getLevelCount());
+        for (int i = 0; i < pack.getLevelCount(); i++) {
+            descriptors.add(pack.read(i));
+        }
+        return descriptors;
+    }
+
+    @Benchmark
+    public Array<Level> convert() {
+        return converter.convert(levelsFile, false);
+    }
+}
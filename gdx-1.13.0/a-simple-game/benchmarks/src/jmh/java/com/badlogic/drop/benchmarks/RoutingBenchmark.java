@@ -0,0 +1,68 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.drop.entities.Circuit;
+import com.badlogic.drop.levels.JSONtoCircuit;
+import com.badlogic.gdx.utils.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posicionamento das portas e roteamento dos fios (Wire.calculatePath para todos os fios).
+ * routeAll descarta o cache a cada operacao; routeCached alterna entre dois tamanhos de
+ * tela ja roteados (resize). hitTest consulta o indice espacial das portas num ponto
+ * pseudo-aleatorio da tela (toque/hover).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RoutingBenchmark {
+    @Param({"100", "1000", "10000", "100000"})
+    public int gates;
+
+    private Circuit circuit;
+    private boolean portrait;
+    private final IntArray hits = new IntArray();
+    private int touchSeed = 1;
+
+    @Setup
+    public void setup() {
+        HeadlessGdx.init();
+        circuit = new JSONtoCircuit().build(SyntheticLevels.generate(gates, 16, 8, 42L), false);
+        circuit.updateAllPos(540, 960);
+        circuit.updateAllPos(960, 540);
+    }
+
+    @Benchmark
+    public int hitTest() {
+        touchSeed = touchSeed * 1103515245 + 12345;
+        float x = ((touchSeed >>> 8) & 0xFFF) * (960f / 0xFFF);
+        float y = ((touchSeed >>> 20) & 0x3FF) * (540f / 0x3FF);
+        return circuit.getGateGrid().gatesAt(x, y, hits);
+    }
+
+    @Benchmark
+    public int routeAll() {
+        circuit.invalidateLayout();
+        circuit.updateAllPos(540, 960);
+        return circuit.getRoutingPasses();
+    }
+
+    @Benchmark
+    public int routeCached() {
+        portrait = !portrait;
+        if (portrait) {
+            circuit.updateAllPos(540, 960);
+        } else {
+            circuit.updateAllPos(960, 540);
+        }
+        return circuit.getLayoutVersion();
+    }
+}
@@ -0,0 +1,40 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.drop.entities.Circuit;
+import com.badlogic.drop.levels.JSONtoCircuit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit.tick() em um contador ripple de flip-flops feitos de NANDs (modo sequencial).
+ * Em media so dois bits mudam por tick, entao o custo nao deve crescer com o tamanho.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SequentialBenchmark {
+    @Param({"8", "64", "1024"})
+    public int bits;
+
+    private Circuit circuit;
+
+    @Setup
+    public void setup() {
+        HeadlessGdx.init();
+        circuit = new JSONtoCircuit().build(SyntheticLevels.rippleCounter(bits), false);
+        circuit.evaluate();
+    }
+
+    @Benchmark
+    public boolean tick() {
+        return circuit.tick();
+    }
+}
@@ -0,0 +1,91 @@
+package com.badlogic.drop.benchmarks;
+
+import com.badlogic.drop.levels.LevelDescriptor;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Gera niveis sinteticos grandes no mesmo formato do levels.json.
+ * As portas sao organizadas em camadas de ~sqrt(n) portas; cada porta le duas portas
+ * aleatorias da camada anterior (a primeira camada le os inputs), entao o circuito e
+ * sempre aciclico e a profundidade cresce com sqrt(n).
+ */
+final class SyntheticLevels {
+    private static final String[] TYPES = {"AND", "OR", "NOT", "NAND", "NOR", "XOR", "XNOR"};
+
+    private SyntheticLevels() {
+    }
+
+    static LevelDescriptor generate(int gateCount, int inputCount, int outputCount, long seed) {
+        RandomXS128 random = new RandomXS128(seed);
+        LevelDescriptor level = new LevelDescriptor(1000 + gateCount);
+        for (int i = 0; i < inputCount; i++) {
+            level.getInputs().add("I" + i);
+        }
+
+        int width = Math.max(inputCount, (int) Math.sqrt(gateCount));
+        int previousStart = -1; // -1: camada anterior sao os inputs
+        int previousSize = inputCount;
+        int gate = 0;
+        while (gate < gateCount) {
+            int layerStart = gate;
+            int layerSize = Math.min(width, gateCount - gate);
+            for (int i = 0; i < layerSize; i++, gate++) {
+                String type = TYPES[random.nextInt(TYPES.length)];
+                LevelDescriptor.GateDescriptor descriptor = new LevelDescriptor.GateDescriptor(type, "G" + gate);
+                int arity = type.equals("NOT") ? 1 : 2;
+                for (int port = 0; port < arity; port++) {
+                    int source = random.nextInt(previousSize);
+                    descriptor.addInput(port, previousStart < 0 ? "I" + source : "G" + (previousStart + source));
+                }
+                level.getGates().add(descriptor);
+            }
+            previousStart = layerStart;
+            previousSize = layerSize;
+        }
+
+        // saidas ligadas na ultima camada
+        for (int i = 0; i < outputCount; i++) {
+            String source = "G" + (previousStart + i % previousSize);
+            level.getOutputs().add(new LevelDescriptor.OutputDescriptor("O" + i, source));
+            level.getSolution().put("O" + i, random.nextBoolean());
+        }
+        return level;
+    }
+
+    /**
+     * Contador binario assincrono (ripple) de {@code bits} bits com clock "CLK".
+     * Cada bit e um flip-flop D mestre-escravo de 8 NANDs + 1 NOT com D = Qb (divide por 2);
+     * o Qb de um bit e o clock do seguinte. A saida O{b} e o bit b do contador.
+     */
+    static LevelDescriptor rippleCounter(int bits) {
+        LevelDescriptor level = new LevelDescriptor(2000 + bits);
+        level.getInputs().add("CLK");
+        level.setClock("CLK");
+        for (int b = 0; b < bits; b++) {
+            String clk = b == 0 ? "CLK" : b - 1 + "_Qb";
+            String p = b + "_";
+            gate(level, "NOT", p + "e", clk);
+            // mestre: transparente com clock baixo
+            gate(level, "NAND", p + "m1", p + "Qb", p + "e");
+            gate(level, "NAND", p + "m2", p + "m1", p + "e");
+            gate(level, "NAND", p + "mq", p + "m1", p + "mqb");
+            gate(level, "NAND", p + "mqb", p + "m2", p + "mq");
+            // escravo: transparente com clock alto
+            gate(level, "NAND", p + "s1", p + "mq", clk);
+            gate(level, "NAND", p + "s2", p + "s1", clk);
+            gate(level, "NAND", p + "Q", p + "s1", p + "Qb");
+            gate(level, "NAND", p + "Qb", p + "s2", p + "Q");
+            level.getOutputs().add(new LevelDescriptor.OutputDescriptor("O" + b, p + "Q"));
+            level.getSolution().put("O" + b, true);
+        }
+        return level;
+    }
+
+    private static void gate(LevelDescriptor level, String type, String label, String... sources) {
+        LevelDescriptor.GateDescriptor descriptor = new LevelDescriptor.GateDescriptor(type, label);
+        for (int port = 0; port < sources.length; port++) {
+            descriptor.addInput(port, sources[port]);
+        }
+        level.getGates().add(descriptor);
+    }
+}
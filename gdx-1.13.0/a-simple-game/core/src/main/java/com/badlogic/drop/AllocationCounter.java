@@ -0,0 +1,14 @@
+package com.badlogic.drop;
+
+/**
+ * Contador de alocacoes da thread de render, usado pelo overlay de debug do GameScreen.
+ * So existe no desktop (definido pelo launcher); nas outras plataformas fica null.
+ */
+public interface AllocationCounter {
+
+    /** Bytes alocados pela thread atual desde o inicio, ou -1 se a JVM nao mede */
+    long getAllocatedBytes();
+
+    /** Total de coletas de lixo desde o inicio */
+    long getCollectionCount();
+}
@@ -0,0 +1,282 @@
+package com.badlogic.drop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Registro central dos assets do jogo, montado sobre o AssetManager da libGDX.
+ *
+ * Os sprites das portas e dos bits sao empacotados em um unico TextureAtlas pela task
+ * core:packTextures (assets/gates + assets/textures/bits -> assets/atlas/gates.atlas),
+ * entao todas as portas compartilham a mesma textura na GPU e o SpriteBatch desenha
+ * todas sem trocar de textura.
+ *
+ * As texturas das telas sao enfileiradas na inicializacao ({@link #queueBundle()}) e
+ * carregadas aos poucos pela LoadingScreen. As telas pegam referencias com
+ * {@link #acquire(String)} e devolvem com {@link #release(String)}: uma textura so e
+ * decodificada uma vez e sai da memoria quando ninguem mais usa (as do bundle ficam
+ * residentes ate o fim do jogo).
+ */
+public class Assets {
+    public static final String GATES_ATLAS = "atlas/gates.atlas";
+
+    // texturas das telas carregadas antes do menu (ficam residentes)
+    public static final String[] UI_TEXTURES = {
+        "textures/UI/homescreen.png",
+        "textures/UI/playbutton.png",
+        "textures/UI/howtoplaybtn.png",
+        "textures/UI/creditsbutton.png",
+        "textures/UI/levelscreen.png",
+        "textures/UI/levelbutton.png",
+        "textures/UI/pageup.png",
+        "textures/UI/pagedown.png",
+        "textures/UI/0star.png",
+        "textures/UI/1star.png",
+        "textures/UI/2star.png",
+        "textures/UI/3star.png",
+        "textures/UI/gamescreen.png",
+        "textures/UI/pausemenu.png",
+        "textures/UI/lvlupmenu.png",
+        "textures/bits/out_on.png",
+        "textures/bits/out_off.png",
+        "textures/guides/creditsscreen.png",
+    };
+
+    private static Assets instance;
+
+    private AssetManager manager;
+    // referencias pegas pelas telas, por arquivo
+    private final ObjectIntMap<String> references;
+    // arquivos enfileirados pelo bundle, nunca descarregados antes do dispose
+    private final ObjectSet<String> resident;
+
+    private TextureAtlas gatesAtlas;
+    private final ObjectMap<String, TextureRegion> gateRegions;
+    // texturas avulsas usadas quando o atlas nao foi gerado (uma por arquivo, compartilhadas)
+    private final Array<String> fallbackTextures;
+    private boolean gatesLoaded = false;
+
+    private boolean debug = false;
+
+    private Assets() {
+        references = new ObjectIntMap<>();
+        resident = new ObjectSet<>();
+        gateRegions = new ObjectMap<>();
+        fallbackTextures = new Array<>();
+    }
+
+    public static Assets getInstance() {
+        if (instance == null) {
+            instance = new Assets();
+        }
+        return instance;
+    }
+
+    private AssetManager getManager() {
+        if (manager == null) {
+            manager = new AssetManager();
+        }
+        return manager;
+    }
+
+    /**
+     * Enfileira o bundle do jogo (texturas das telas + atlas das portas) para
+     * carregamento assincrono. O carregamento avanca a cada {@link #update()}.
+     */
+    public void queueBundle() {
+        AssetManager manager = getManager();
+        for (String path : UI_TEXTURES) {
+            if (resident.add(path)) {
+                manager.load(path, Texture.class);
+            }
+        }
+        if (!resident.contains(GATES_ATLAS) && Gdx.files.internal(GATES_ATLAS).exists()) {
+            resident.add(GATES_ATLAS);
+            manager.load(GATES_ATLAS, TextureAtlas.class);
+        }
+        Gdx.app.log("Assets", "Bundle enfileirado: " + manager.getQueuedAssets() + " arquivo(s)");
+    }
+
+    /**
+     * Avanca o carregamento assincrono (chamado uma vez por frame).
+     *
+     * @return true quando nao ha mais nada na fila
+     */
+    public boolean update() {
+        if (manager == null) {
+            return true;
+        }
+        return manager.update();
+    }
+
+    /**
+     * Progresso do carregamento atual, de 0 a 1
+     */
+    public float getProgress() {
+        return manager == null ? 1f : manager.getProgress();
+    }
+
+    /**
+     * Pega uma referencia para a textura. Se ela ainda nao terminou de carregar, o
+     * carregamento e concluido aqui mesmo (sincrono) e registrado no log.
+     */
+    public Texture acquire(String path) {
+        AssetManager manager = getManager();
+        int count = references.getAndIncrement(path, 0, 1);
+        if (count == 0 && !resident.contains(path)) {
+            manager.load(path, Texture.class);
+        }
+        if (!manager.isLoaded(path)) {
+            long start = TimeUtils.millis();
+            manager.finishLoadingAsset(path);
+            Gdx.app.log("Assets", "Carregamento sincrono de " + path + ": " + TimeUtils.timeSinceMillis(start) + " ms");
+        }
+        if (debug) Gdx.app.log("Assets", "acquire " + path + " (" + (count + 1) + " referencia(s))");
+        return manager.get(path, Texture.class);
+    }
+
+    /**
+     * Pede a textura sem esperar: ela e carregada em segundo plano pelo {@link #update()}.
+     * Conta como referencia, deve ser devolvida com {@link #release(String)}.
+     */
+    public void request(String path) {
+        int count = references.getAndIncrement(path, 0, 1);
+        if (count == 0 && !resident.contains(path)) {
+            getManager().load(path, Texture.class);
+        }
+    }
+
+    /**
+     * Textura ja pedida com {@link #request(String)}, terminando o carregamento se preciso
+     */
+    public Texture get(String path) {
+        AssetManager manager = getManager();
+        if (!manager.isLoaded(path)) {
+            long start = TimeUtils.millis();
+            manager.finishLoadingAsset(path);
+            Gdx.app.log("Assets", "Carregamento sincrono de " + path + ": " + TimeUtils.timeSinceMillis(start) + " ms");
+        }
+        return manager.get(path, Texture.class);
+    }
+
+    public boolean isLoaded(String path) {
+        return manager != null && manager.isLoaded(path);
+    }
+
+    /**
+     * Devolve uma referencia pega com {@link #acquire(String)} ou {@link #request(String)}.
+     * Texturas fora do bundle sao descarregadas quando a ultima referencia e devolvida.
+     */
+    public void release(String path) {
+        int count = references.get(path, 0);
+        if (count <= 0) {
+            Gdx.app.error("Assets", "release sem acquire: " + path);
+            return;
+        }
+        if (count > 1) {
+            references.put(path, count - 1);
+        } else {
+            references.remove(path, 0);
+            if (!resident.contains(path) && manager != null && manager.contains(path)) {
+                manager.unload(path);
+                if (debug) Gdx.app.log("Assets", "Descarregado " + path);
+            }
+        }
+        if (debug) Gdx.app.log("Assets", "release " + path + " (" + (count - 1) + " referencia(s))");
+    }
+
+    /**
+     * Numero de referencias ativas para o arquivo
+     */
+    public int getReferenceCount(String path) {
+        return references.get(path, 0);
+    }
+
+    /**
+     * Carrega o atlas das portas (uma unica vez)
+     */
+    private void loadGates() {
+        gatesLoaded = true;
+        long start = TimeUtils.millis();
+        FileHandle atlasFile = Gdx.files.internal(GATES_ATLAS);
+        if (atlasFile.exists()) {
+            AssetManager manager = getManager();
+            if (!resident.contains(GATES_ATLAS)) {
+                resident.add(GATES_ATLAS);
+                manager.load(GATES_ATLAS, TextureAtlas.class);
+            }
+            manager.finishLoadingAsset(GATES_ATLAS);
+            gatesAtlas = manager.get(GATES_ATLAS, TextureAtlas.class);
+            for (TextureAtlas.AtlasRegion region : gatesAtlas.getRegions()) {
+                gateRegions.put(region.name, region);
+            }
+            Gdx.app.log("Assets", "Atlas das portas carregado: " + gateRegions.size + " sprites em "
+                + gatesAtlas.getTextures().size + " textura(s), " + TimeUtils.timeSinceMillis(start) + " ms");
+        } else {
+            Gdx.app.error("Assets", "Atlas " + GATES_ATLAS + " nao encontrado (rodar core:packTextures), usando PNGs avulsos");
+        }
+    }
+
+    /**
+     * Retorna o sprite de uma porta ou bit pelo nome do arquivo (ex.: "AND_on", "in_off").
+     * Sem contexto grafico (ferramentas headless) retorna null.
+     */
+    public TextureRegion getGateRegion(String name) {
+        if (Gdx.gl == null) {
+            return null;
+        }
+        if (!gatesLoaded) {
+            loadGates();
+        }
+
+        TextureRegion region = gateRegions.get(name);
+        if (region == null) {
+            region = loadFallback(name);
+            gateRegions.put(name, region);
+        }
+        return region;
+    }
+
+    // carrega o PNG original do sprite quando ele nao esta no atlas
+    private TextureRegion loadFallback(String name) {
+        String path = "gates/" + name + ".png";
+        if (!Gdx.files.internal(path).exists()) {
+            path = "textures/bits/" + name + ".png";
+        }
+        fallbackTextures.add(path);
+        return new TextureRegion(acquire(path));
+    }
+
+    /**
+     * Numero de texturas na GPU usadas pelos sprites das portas
+     */
+    public int getGateTextureCount() {
+        return (gatesAtlas != null ? gatesAtlas.getTextures().size : 0) + fallbackTextures.size;
+    }
+
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    public void dispose() {
+        if (manager != null) {
+            manager.dispose();
+            manager = null;
+        }
+        gatesAtlas = null;
+        fallbackTextures.clear();
+        gateRegions.clear();
+        references.clear();
+        resident.clear();
+        gatesLoaded = false;
+    }
+}
@@ -1,11 +1,18 @@
 package com.badlogic.drop;
 
 import com.badlogic.drop.levels.LevelManager;
-import com.badlogic.drop.screens.MenuScreen;
+import com.badlogic.drop.levels.LevelProgress;
+import com.badlogic.drop.levels.LevelWatcher;
+import com.badlogic.drop.screens.GameScreen;
+import com.badlogic.drop.screens.LoadingScreen;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 
 /**
  * Classe principal que gerencia o jogo e as telas
@@ -17,8 +24,22 @@ public class BitItGame extends Game {
 
     public SpriteBatch batch;
     public BitmapFont font;
+    public AllocationCounter allocationCounter; // so no desktop (overlay de debug do GameScreen)
+    public LevelWatcher levelWatcher; // so no desktop em desenvolvimento (hot-reload do levels.json)
 
     private LevelManager levelManager;
+    private final Preloader preloader;
+
+    // telas substituidas, liberadas no inicio do proximo frame
+    private final Array<Screen> retiredScreens = new Array<>();
+
+    public BitItGame() {
+        this(null);
+    }
+
+    public BitItGame(Preloader preloader) {
+        this.preloader = preloader;
+    }
 
     @Override
     public void create() {
@@ -30,21 +51,77 @@ public class BitItGame extends Game {
 
         initializeLevels();
         levelManager.setCurrLevelIdx(0);
-        levelManager.getLevel(0).setUnlocked(true);
+        levelManager.getLevelInfo(0).setUnlocked(true);
+
+        if (levelWatcher != null) {
+            final FileHandle levelsFile = Gdx.files.internal("levels/levels.json");
+            if (levelWatcher.watch(levelsFile, () -> reloadLevels(levelsFile))) {
+                Gdx.app.log("BitItGame", "Hot-reload ativo: " + levelsFile.file().getAbsolutePath());
+            } else {
+                Gdx.app.error("BitItGame", "Hot-reload: " + levelsFile.path() + " nao esta no disco");
+            }
+        }
+
+        // Carrega os assets e depois abre o menu
+        this.setScreen(new LoadingScreen(this, preloader));
+    }
+
+    /**
+     * Troca de tela. A tela anterior e liberada (devolvendo suas texturas ao Assets)
+     * no proximo frame, ja que a troca normalmente acontece dentro do render dela.
+     */
+    @Override
+    public void setScreen(Screen screen) {
+        Screen previous = getScreen();
+        super.setScreen(screen);
+        if (previous != null && previous != screen) {
+            retiredScreens.add(previous);
+        }
+    }
+
+    @Override
+    public void render() {
+        for (Screen screen : retiredScreens) {
+            screen.dispose();
+        }
+        retiredScreens.clear();
 
-        // Inicia na tela de menu
-        this.setScreen(new MenuScreen(this));
+        // avanca carregamentos pedidos pelas telas
+        Assets.getInstance().update();
+        super.render();
+    }
+
+    /**
+     * Hot-reload: troca os niveis alterados no levels.json; se o nivel aberto mudou,
+     * o GameScreen troca o circuito sem perder o progresso da partida
+     */
+    private void reloadLevels(FileHandle file) {
+        IntArray changed = levelManager.reloadLevels(file);
+        if (changed.size > 0 && getScreen() instanceof GameScreen) {
+            ((GameScreen) getScreen()).reloadLevel(changed);
+        }
     }
 
     @Override
     public void dispose() {
+        if (levelWatcher != null) levelWatcher.dispose();
         if (batch != null) batch.dispose();
         if (font != null) font.dispose();
 
         // Dispose da tela atual
+        for (Screen screen : retiredScreens) {
+            screen.dispose();
+        }
+        retiredScreens.clear();
         if (getScreen() != null) {
             getScreen().dispose();
         }
+
+        // atlas das portas compartilhado
+        Assets.getInstance().dispose();
+
+        // grava o progresso pendente e encerra a thread de gravacao
+        LevelProgress.getInstance().dispose();
     }
 
     private void initializeLevels() {
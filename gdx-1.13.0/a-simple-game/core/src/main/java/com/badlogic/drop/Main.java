@@ -1,5 +1,7 @@
 package com.badlogic.drop;
 
+import com.badlogic.drop.levels.LevelProgress;
+import com.badlogic.drop.levels.LevelWatcher;
 import com.badlogic.gdx.ApplicationListener;
 
 /**
@@ -8,11 +10,15 @@ import com.badlogic.gdx.ApplicationListener;
  */
 public class Main implements ApplicationListener {
     private BitItGame game;
-    public Preloader preloader; // Mantido para compatibilidade com launchers
+    public Preloader preloader; // definido pelos launchers (web baixa o bundle antes do carregamento)
+    public AllocationCounter allocationCounter; // definido pelo launcher do desktop
+    public LevelWatcher levelWatcher; // hot-reload do levels.json (desktop, so em desenvolvimento)
 
     @Override
     public void create() {
-        game = new BitItGame();
+        game = new BitItGame(preloader);
+        game.allocationCounter = allocationCounter;
+        game.levelWatcher = levelWatcher;
         game.create();
     }
 
@@ -22,8 +28,8 @@ public class Main implements ApplicationListener {
 
     @Override
     public void render() {
-        if (game != null && game.getScreen() != null) {
-            game.getScreen().render(com.badlogic.gdx.Gdx.graphics.getDeltaTime());
+        if (game != null) {
+            game.render();
         }
     }
 
@@ -32,6 +38,8 @@ public class Main implements ApplicationListener {
         if (game != null && game.getScreen() != null) {
             game.getScreen().pause();
         }
+        // o app pode ser encerrado depois do pause (mobile/web): grava o progresso pendente
+        LevelProgress.getInstance().flush();
     }
 
     @Override
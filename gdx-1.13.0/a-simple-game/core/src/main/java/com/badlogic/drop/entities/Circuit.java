@@ -5,9 +5,15 @@ import com.badlogic.drop.entities.gates.LogicGate;
 import com.badlogic.drop.entities.gates.OutputBits;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
 
 // Representa o circuito completo - avaliacao baseada em ordenacao topologica
+// No modo sequencial lacos (latches, flip-flops) sao permitidos: cada componente fortemente
+// conexa vira um unico nivel e e reavaliada ate estabilizar (ver evaluateIncremental)
 public class Circuit {
 
     private final Array<LogicGate> allGates; // nos do circuito (inputs, gates, outputs)
@@ -16,21 +22,111 @@ public class Circuit {
 
     private final Array<Wire> wires;
 
-    // Saídas esperadas
-    private Array<Boolean> expectedOutput;
+    // Saidas esperadas e atuais em bitsets (bit o = saida o), comparadas palavra a palavra
+    private final long[] expectedBits;
+    private final long[] actualBits;
 
     private boolean debugMode = false;
 
     // Ordem de avaliacao e atualzacao das portas logicas
     private final Array<LogicGate> evaluationOrder;
 
-    // par de porta e array de portas das quais depende (geralmente 1 ou 2)
-    private final ObjectMap<LogicGate, Array<LogicGate>> dependencies;
+    // Grafo de dependencias indexado pela posicao da porta em allGates (CSR)
+    // succWire[succStart[g]] .. succWire[succStart[g + 1] - 1] = fios que saem da porta g
+    // predWire[predStart[g]] .. predWire[predStart[g + 1] - 1] = fios que chegam na porta g
+    // (os fios de cada porta ficam na ordem do array de fios)
+    private int[] wireFrom; // indice em allGates da porta de origem de cada fio
+    private int[] wireTo;   // indice em allGates da porta de destino de cada fio
+    private int[] succStart;
+    private int[] succWire;
+    private int[] predStart;
+    private int[] predWire;
+
+    // order[p] = indice em allGates da porta na posicao p da ordem topologica; position e o inverso
+    private int[] order;
+    private int[] position;
+
+    // Netlist compilada: arrays planos indexados pela posicao na ordem topologica
+    // fanInStart[p] .. fanInStart[p + 1] - 1 = fios que chegam na porta da posicao p
+    private boolean compiledEvaluation = true;
+    // limite de entradas de verifyCompiledEvaluation (2^16 combinacoes)
+    public static final int MAX_VERIFIED_INPUTS = 16;
+    private LogicGate[] orderedGates;
+    private int[] fanInStart;
+    private int[] fanInSource; // posicao topologica da porta de origem do fio
+    private int[] fanInPort;   // indice da entrada da porta de destino
+
+    // fan-out: fanOutStart[p] .. fanOutStart[p + 1] - 1 = fios que saem da porta da posicao p
+    private int[] fanOutStart;
+    private int[] fanOutTarget; // posicao topologica da porta de destino do fio
+    private Wire[] fanOutWire;
+    private int[] inputPosition;  // posicao topologica de cada InputBits
+    private int[] outputPosition; // posicao topologica de cada OutputBits
+
+    // Estado das portas em arrays primitivos indexados pelo id denso da porta (a posicao
+    // na ordem topologica). A avaliacao le e escreve apenas estes arrays; as portas
+    // (LogicGate) so recebem a saida calculada, usada pelos fios e pela view
+    static final int OP_INPUT = 0;
+    static final int OP_OUTPUT = 1;
+    static final int OP_AND = 2;
+    static final int OP_OR = 3;
+    static final int OP_NOT = 4;
+    static final int OP_XOR = 5;
+    static final int OP_NAND = 6;
+    static final int OP_NOR = 7;
+    static final int OP_XNOR = 8;
+    static final int OP_OTHER = 9; // tipo desconhecido: avaliado pelo proprio objeto da porta
+    private int[] gateOp;
+    private int[] portStart;  // portStart[p] .. portStart[p + 1] - 1 = entradas da porta p
+    private int[] portSource; // posicao que alimenta cada entrada (-1 = sem fio, sempre false)
+    private int[] gateLevel;  // nivel de cada posicao
+    private int[] outputSlot; // indice da saida do circuito em cada posicao (-1 = nao e saida)
+    private boolean[] value;  // saida de cada posicao
+
+    // Avaliacao incremental: apenas o cone de fan-out das entradas alteradas e reavaliado
+    private boolean incrementalEvaluation = true;
+    private boolean fullEvaluationPending = true;
+    private boolean[] lastInputValues;  // valores das entradas na ultima avaliacao
+    private boolean[] scheduled;        // posicao ja esta na fila de reavaliacao
+    private IntArray[] pendingByLevel;  // fila de reavaliacao separada por nivel do circuito
+    private int pendingCount;           // portas agendadas ainda nao avaliadas
+
+    // contadores da avaliacao incremental
+    private int lastPropagationTouched; // portas reavaliadas na ultima propagacao
+    private int propagationCount;       // quantas propagacoes aconteceram
+    private long totalTouched;          // portas reavaliadas desde a criacao do circuito
+
+    // Modo sequencial
+    // avaliacoes por porta de um nivel com realimentacao antes de considerar que ele oscila
+    private static final int MAX_SETTLE_PASSES = 32;
+    private final boolean sequential; // lacos permitidos
+    private boolean feedback;         // o circuito tem lacos (so no modo sequencial)
+    private int[] componentLevel;     // nivel da SCC de cada porta (indice em allGates), so com lacos
+    private boolean oscillating;      // a ultima propagacao nao estabilizou
+    private final Array<LogicGate> oscillatingGates = new Array<>();
+    private InputBits clock;
+    private long tickCount;
 
     // organizacao espacial dos gates
     private final Array<Array<LogicGate>> levels; // levels[i] = array dos gates no nivel i
     private int maxLevel;
 
+    // Cache de layouts: o layout por niveis e fixo, entao o tamanho da tela define as posicoes.
+    // Cada tamanho distinto guarda 2 floats por porta (posicao, na ordem de allGates) seguidos
+    // de Wire.ROUTE_STRIDE floats por fio. O levels.bin pode trazer o layout ja calculado (applyLayout)
+    private static final int MAX_CACHED_LAYOUTS = 8;
+    // versao do calculo de posicoes e rotas (updateAllPos, Wire): mude ao alterar o algoritmo
+    // para que os layouts gravados no levels.bin sejam descartados em vez de aplicados
+    public static final int LAYOUT_ALGORITHM = 1;
+    private final LongMap<float[]> layoutCache = new LongMap<>();
+    private boolean layoutValid = false;
+    private long currentLayoutKey;
+    private int routingPasses; // quantas vezes o roteamento foi calculado de fato
+    private int layoutVersion; // muda sempre que posicoes/caminhos mudam (usado pelo WireRenderer)
+
+    // indice espacial das portas (toque, hover, arraste e roteamento), refeito a cada updateAllPos
+    private final GateGrid gateGrid = new GateGrid();
+
     /**
      * @param inputs Nós de entrada (herdam de LogicGate)
      * @param gates Portas lógicas intermediárias
@@ -40,11 +136,25 @@ public class Circuit {
      */
     public Circuit(Array<InputBits> inputs, Array<LogicGate> gates, Array<Wire> wires,
                    Array<OutputBits> outputs, Array<Boolean> expectedOutput, boolean debugMode) {
+        this(inputs, gates, wires, outputs, expectedOutput, debugMode, false);
+    }
+
+    /**
+     * @param sequential permite lacos entre as portas (latches, flip-flops, contadores);
+     *                   sem ele um laco gera IllegalStateException
+     */
+    public Circuit(Array<InputBits> inputs, Array<LogicGate> gates, Array<Wire> wires,
+                   Array<OutputBits> outputs, Array<Boolean> expectedOutput, boolean debugMode, boolean sequential) {
+        this.sequential = sequential;
         this.inputs = inputs;
         this.outputs = outputs;
         this.wires = wires;
-        this.expectedOutput = expectedOutput;
         this.debugMode = debugMode;
+        this.expectedBits = new long[(outputs.size + 63) >>> 6];
+        this.actualBits = new long[expectedBits.length];
+        for (int o = 0; o < outputs.size && o < expectedOutput.size; o++) {
+            setBit(expectedBits, o, expectedOutput.get(o));
+        }
         // Combina tudo em um unico array de LogicGates
         this.allGates = new Array<>(inputs.size + gates.size + outputs.size);
         for (InputBits input : inputs) {
@@ -57,119 +167,426 @@ public class Circuit {
             allGates.add(output);
         }
 
-        this.dependencies = new ObjectMap<>();
         this.evaluationOrder = new Array<>();
         this.levels = new Array<>();
 
         buildDependencyGraph();
         computeEvaluationOrder();
+        compileNetlist();
         computeLevels();
+        prepareIncremental();
+
+        // fios do circuito buscam as portas no caminho pelo indice (gates = allGates[inputs.size, inputs.size + gates.size)).
+        // Todo fio passa a usar as portas deste circuito, mesmo se foi criado com outro array
+        for (int w = 0; w < wires.size; w++) {
+            wires.get(w).setGateGrid(gateGrid, gates, inputs.size, inputs.size + gates.size);
+        }
     }
 
-    // controi grafo de dependencias baseado nos fios
+    // controi grafo de dependencias baseado nos fios (listas de adjacencia em arrays de int)
     private void buildDependencyGraph() {
-        // Inicializa listas vazias para todas as portas
-        for (LogicGate gate : allGates) {
-            dependencies.put(gate, new Array<>());
+        int gateCount = allGates.size;
+        ObjectIntMap<LogicGate> gateIndex = new ObjectIntMap<>(gateCount);
+        for (int g = 0; g < gateCount; g++) {
+            gateIndex.put(allGates.get(g), g);
         }
 
-        // Para cada fio, adiciona dependência
-        for (Wire wire : wires) {
-            LogicGate from = wire.getFromGate();
-            LogicGate to = wire.getToGate();
-
-            // 'to' depende de 'from'
-            if (!dependencies.get(to).contains(from, true)) {
-                dependencies.get(to).add(from);
+        wireFrom = new int[wires.size];
+        wireTo = new int[wires.size];
+        for (int w = 0; w < wires.size; w++) {
+            Wire wire = wires.get(w);
+            wireFrom[w] = gateIndex.get(wire.getFromGate(), -1);
+            wireTo[w] = gateIndex.get(wire.getToGate(), -1);
+            if (wireFrom[w] < 0 || wireTo[w] < 0) {
+                throw new IllegalArgumentException("Fio " + describe(wire.getFromGate()) + " -> " + describe(wire.getToGate())
+                    + " liga uma porta que nao pertence ao circuito.");
             }
         }
+
+        // 'to' depende de 'from': cada fio e uma aresta from -> to
+        succStart = countEdges(wireFrom, gateCount);
+        succWire = fillEdges(wireFrom, succStart);
+        predStart = countEdges(wireTo, gateCount);
+        predWire = fillEdges(wireTo, predStart);
+    }
+
+    // start[g + 1] - start[g] = numero de fios com ponta na porta g
+    // (tambem agrupa portas por componente/nivel: endpoint = chave de cada elemento)
+    private static int[] countEdges(int[] endpoint, int gateCount) {
+        int[] start = new int[gateCount + 1];
+        for (int g : endpoint) {
+            start[g + 1]++;
+        }
+        for (int g = 0; g < gateCount; g++) {
+            start[g + 1] += start[g];
+        }
+        return start;
+    }
+
+    // fios agrupados pela ponta, estavel em relacao ao array de fios
+    // (ou os elementos agrupados pela chave, na ordem original)
+    private static int[] fillEdges(int[] endpoint, int[] start) {
+        int[] edges = new int[endpoint.length];
+        int[] next = new int[start.length - 1];
+        System.arraycopy(start, 0, next, 0, next.length);
+        for (int w = 0; w < endpoint.length; w++) {
+            edges[next[endpoint[w]]++] = w;
+        }
+        return edges;
     }
 
 
     // Calcula a ordem de avaliacao usando ordenacao topologica - algoritmo de Kahn's
+    // O(portas + fios): cada porta entra na fila uma vez e cada fio e visitado uma vez
     private void computeEvaluationOrder() {
-        evaluationOrder.clear();
+        int gateCount = allGates.size;
 
-        // Calcula grau de entrada para cada porta (quantas dependências)
-        ObjectMap<LogicGate, Integer> inDegree = new ObjectMap<>();
-        for (LogicGate gate : allGates) {
-            inDegree.put(gate, dependencies.get(gate).size);
+        // Calcula grau de entrada para cada porta (quantos fios chegam nela)
+        int[] inDegree = new int[gateCount];
+        for (int g = 0; g < gateCount; g++) {
+            inDegree[g] = predStart[g + 1] - predStart[g];
         }
 
         // Fila com portas sem dependências (grau de entrada = 0)
-        // InputBits naturalmente terao grau 0
-        Array<LogicGate> queue = new Array<>();
-        for (LogicGate gate : allGates) {
-            if (inDegree.get(gate) == 0) {
-                queue.add(gate);
+        // InputBits naturalmente terao grau 0. Como cada porta entra uma unica vez, o array
+        // de tamanho gateCount nunca da a volta e, no fim, ja guarda a ordem topologica
+        int[] queue = new int[gateCount];
+        int head = 0;
+        int tail = 0;
+        for (int g = 0; g < gateCount; g++) {
+            if (inDegree[g] == 0) {
+                queue[tail++] = g;
             }
         }
 
         // Processa portas em ordem topologica
-        while (queue.size > 0) {
-            LogicGate current = queue.removeIndex(0);
-            evaluationOrder.add(current);
+        while (head < tail) {
+            int current = queue[head++];
 
             // Para cada porta que depende da atual
-            for (Wire wire : wires) {
-                if (wire.getFromGate() == current) {
-                    LogicGate dependent = wire.getToGate();
-                    int newDegree = inDegree.get(dependent) - 1;
-                    inDegree.put(dependent, newDegree);
+            for (int k = succStart[current]; k < succStart[current + 1]; k++) {
+                int dependent = wireTo[succWire[k]];
+                if (--inDegree[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+
+        // Verifica se ha ciclos
+        if (tail != gateCount && sequential) {
+            computeFeedbackOrder();
+            return;
+        }
+        if (tail != gateCount) {
+            throw new IllegalStateException("Circuito contém laços (estilo latches)! Reevaluar expressão. Laco: "
+                + describeCycle(inDegree));
+        }
 
-                    if (newDegree == 0) {
-                        queue.add(dependent);
+        order = queue;
+        position = new int[gateCount];
+        evaluationOrder.clear();
+        evaluationOrder.ensureCapacity(gateCount);
+        for (int p = 0; p < gateCount; p++) {
+            position[order[p]] = p;
+            evaluationOrder.add(allGates.get(order[p]));
+        }
+    }
+
+    /**
+     * Ordem para circuitos com lacos (modo sequencial). As portas sao agrupadas em
+     * componentes fortemente conexas (SCC) e cada componente recebe o nivel
+     * 1 + maior nivel das componentes que a alimentam, como no computeLevels. As portas sao
+     * ordenadas por nivel: todo fio entre componentes vai de um nivel menor para um maior,
+     * e os fios que voltam para o mesmo nivel sao os lacos.
+     */
+    private void computeFeedbackOrder() {
+        feedback = true;
+        int gateCount = allGates.size;
+        int[] component = new int[gateCount];
+        int componentCount = findComponents(component);
+
+        // portas de cada componente (ordenacao por contagem, estavel)
+        int[] memberStart = countEdges(component, componentCount);
+        int[] members = fillEdges(component, memberStart);
+
+        // Tarjan numera as componentes em ordem topologica reversa: a ultima nao depende de ninguem
+        int[] level = new int[componentCount];
+        int levelCount = 1;
+        for (int c = componentCount - 1; c >= 0; c--) {
+            int maxLevelAnt = -1;
+            for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+                int g = members[m];
+                for (int k = predStart[g]; k < predStart[g + 1]; k++) {
+                    int from = component[wireFrom[predWire[k]]];
+                    if (from != c) {
+                        maxLevelAnt = Math.max(maxLevelAnt, level[from]);
                     }
                 }
             }
+            level[c] = maxLevelAnt + 1;
+            levelCount = Math.max(levelCount, level[c] + 1);
         }
 
-        // Verifica se ha ciclos
-        if (evaluationOrder.size != allGates.size) {
-            throw new IllegalStateException("Circuito contém laços (estilo latches)! Reevaluar expressão.");
+        componentLevel = new int[gateCount];
+        for (int g = 0; g < gateCount; g++) {
+            componentLevel[g] = level[component[g]];
+        }
+        order = fillEdges(componentLevel, countEdges(componentLevel, levelCount));
+        position = new int[gateCount];
+        evaluationOrder.clear();
+        evaluationOrder.ensureCapacity(gateCount);
+        for (int p = 0; p < gateCount; p++) {
+            position[order[p]] = p;
+            evaluationOrder.add(allGates.get(order[p]));
+        }
+        if (debugMode) {
+            Gdx.app.log("Circuit", "Circuito sequencial: " + componentCount + " componente(s) em " + levelCount + " nivel(is)");
         }
     }
 
     /**
-     * Função para calcular o nível de cada logic gate a partir das entradas com BFS.
-     * Inputs ficam no nível 0, outputs no nível mais alto.
+     * Componentes fortemente conexas pelo algoritmo de Tarjan, sem recursao
+     * (a pilha de chamadas fica em arrays para aguentar circuitos grandes).
+     *
+     * @param component recebe a componente de cada porta (indice em allGates)
+     * @return numero de componentes
      */
-    private void computeLevels() {
-        levels.clear();
+    private int findComponents(int[] component) {
+        int gateCount = allGates.size;
+        int[] index = new int[gateCount];
+        int[] low = new int[gateCount];
+        int[] nextEdge = new int[gateCount];
+        boolean[] onStack = new boolean[gateCount];
+        int[] stack = new int[gateCount];
+        int[] callStack = new int[gateCount];
+        Arrays.fill(index, -1);
+        int stackSize = 0;
+        int counter = 0;
+        int componentCount = 0;
 
-        // par de gate e nível
-        ObjectMap<LogicGate, Integer> gateLevels = new ObjectMap<>();
+        for (int root = 0; root < gateCount; root++) {
+            if (index[root] >= 0) continue;
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = low[root] = counter++;
+            nextEdge[root] = succStart[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
 
-        // Inputs começam no nível 0
-        for (InputBits input : inputs) {
-            gateLevels.put(input, 0);
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (nextEdge[v] < succStart[v + 1]) {
+                    int w = wireTo[succWire[nextEdge[v]++]];
+                    if (index[w] < 0) {
+                        index[w] = low[w] = counter++;
+                        nextEdge[w] = succStart[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // todos os fios de v visitados: fecha a componente se v for a raiz dela
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = componentCount;
+                    } while (w != v);
+                    componentCount++;
+                }
+            }
         }
+        return componentCount;
+    }
 
-        // Processa gates na ordem de avaliação
-        for (LogicGate gate : evaluationOrder) {
-            if (gateLevels.containsKey(gate)) {
-                continue; // Já processado (é um input)
+    /**
+     * Encontra um laco entre as portas que sobraram no Kahn (grau de entrada > 0).
+     * Toda porta que sobrou tem um predecessor que tambem sobrou, entao andando pelos
+     * predecessores uma porta acaba se repetindo: o trecho entre as repeticoes e o laco.
+     *
+     * @return portas do laco no sentido dos fios, ex.: "A (AND) -> B (OR) -> A (AND)"
+     */
+    private String describeCycle(int[] inDegree) {
+        int[] step = new int[allGates.size]; // passo em que a porta foi visitada (0 = nao visitada)
+        IntArray path = new IntArray();
+        int current = 0;
+        while (inDegree[current] == 0) {
+            current++;
+        }
+        while (step[current] == 0) {
+            path.add(current);
+            step[current] = path.size;
+            for (int k = predStart[current]; k < predStart[current + 1]; k++) {
+                int from = wireFrom[predWire[k]];
+                if (inDegree[from] > 0) {
+                    current = from;
+                    break;
+                }
             }
+        }
 
-            // Encontra o nível máximo dos predecessores
-            int maxLevelAnt = -1;
-            for (Wire wire : wires) {
-                if (wire.getToGate() == gate) {
-                    LogicGate ant = wire.getFromGate();
-                    if (gateLevels.containsKey(ant)) {
-                        maxLevelAnt = Math.max(maxLevelAnt,
-                                                       gateLevels.get(ant));
-                    }
+        // o caminho foi percorrido contra os fios; monta do fim para o comeco
+        StringBuilder cycle = new StringBuilder();
+        for (int i = path.size - 1; i >= step[current] - 1; i--) {
+            cycle.append(describe(allGates.get(path.get(i)))).append(" -> ");
+        }
+        return cycle.append(describe(allGates.get(path.get(path.size - 1)))).toString();
+    }
+
+    private static String describe(LogicGate gate) {
+        return gate == null ? "null" : gate.getLabel() + " (" + gate.getGateType() + ")";
+    }
+
+    /**
+     * Compila o circuito em arrays de indices de fan-in ordenados pela ordem topologica.
+     * Os fios de cada porta mantem a ordem original do array de fios, entao quando dois fios
+     * chegam na mesma entrada prevalece o ultimo, igual ao evaluate() por varredura.
+     */
+    private void compileNetlist() {
+        int gateCount = order.length;
+        orderedGates = new LogicGate[gateCount];
+        for (int p = 0; p < gateCount; p++) {
+            orderedGates[p] = allGates.get(order[p]);
+        }
+
+        // fios que chegam em cada posicao: o grafo por porta reindexado pela ordem topologica
+        fanInStart = new int[gateCount + 1];
+        fanInSource = new int[wires.size];
+        fanInPort = new int[wires.size];
+        for (int p = 0; p < gateCount; p++) {
+            int g = order[p];
+            int slot = fanInStart[p];
+            for (int k = predStart[g]; k < predStart[g + 1]; k++, slot++) {
+                int w = predWire[k];
+                fanInSource[slot] = position[wireFrom[w]];
+                fanInPort[slot] = wires.get(w).getToInputIndex();
+            }
+            fanInStart[p + 1] = slot;
+        }
+
+        // mesmo processo para os fios que saem de cada posicao
+        fanOutStart = new int[gateCount + 1];
+        fanOutTarget = new int[wires.size];
+        fanOutWire = new Wire[wires.size];
+        for (int p = 0; p < gateCount; p++) {
+            int g = order[p];
+            int slot = fanOutStart[p];
+            for (int k = succStart[g]; k < succStart[g + 1]; k++, slot++) {
+                int w = succWire[k];
+                fanOutTarget[slot] = position[wireTo[w]];
+                fanOutWire[slot] = wires.get(w);
+            }
+            fanOutStart[p + 1] = slot;
+        }
+
+        // allGates = inputs, gates, outputs
+        inputPosition = new int[inputs.size];
+        for (int i = 0; i < inputs.size; i++) {
+            inputPosition[i] = position[i];
+        }
+        int firstOutput = allGates.size - outputs.size;
+        outputPosition = new int[outputs.size];
+        outputSlot = new int[gateCount];
+        Arrays.fill(outputSlot, -1);
+        for (int i = 0; i < outputs.size; i++) {
+            outputPosition[i] = position[firstOutput + i];
+            outputSlot[outputPosition[i]] = i;
+        }
+
+        // entradas de cada porta resolvidas para a posicao de origem; quando dois fios chegam
+        // na mesma entrada prevalece o ultimo, e indices fora da porta sao ignorados (como setInput)
+        gateOp = new int[gateCount];
+        portStart = new int[gateCount + 1];
+        for (int p = 0; p < gateCount; p++) {
+            gateOp[p] = opCode(orderedGates[p].getGateType());
+            portStart[p + 1] = portStart[p] + orderedGates[p].getNumInputs();
+        }
+        portSource = new int[portStart[gateCount]];
+        Arrays.fill(portSource, -1);
+        for (int p = 0; p < gateCount; p++) {
+            int numInputs = orderedGates[p].getNumInputs();
+            for (int k = fanInStart[p]; k < fanInStart[p + 1]; k++) {
+                int port = fanInPort[k];
+                if (port >= 0 && port < numInputs) {
+                    portSource[portStart[p] + port] = fanInSource[k];
                 }
             }
-            // insere par com nivel maxLevelAnt + 1
-            gateLevels.put(gate, maxLevelAnt + 1);
         }
+        value = new boolean[gateCount];
+    }
+
+    static int opCode(String gateType) {
+        switch (gateType) {
+            case "INPUT":
+                return OP_INPUT;
+            case "OUTPUT":
+                return OP_OUTPUT;
+            case "AND":
+                return OP_AND;
+            case "OR":
+                return OP_OR;
+            case "NOT":
+                return OP_NOT;
+            case "XOR":
+                return OP_XOR;
+            case "NAND":
+                return OP_NAND;
+            case "NOR":
+                return OP_NOR;
+            case "XNOR":
+                return OP_XNOR;
+            default:
+                return OP_OTHER;
+        }
+    }
+
+    // Aloca as estruturas da avaliacao incremental (depende dos niveis ja calculados)
+    private void prepareIncremental() {
+        lastInputValues = new boolean[inputs.size];
+        scheduled = new boolean[orderedGates.length];
+        pendingByLevel = new IntArray[maxLevel + 1];
+        for (int i = 0; i <= maxLevel; i++) {
+            pendingByLevel[i] = new IntArray(levels.get(i).size);
+        }
+    }
+
+    /**
+     * Função para calcular o nível de cada logic gate a partir das entradas com BFS.
+     * Inputs ficam no nível 0, outputs no nível mais alto.
+     */
+    private void computeLevels() {
+        levels.clear();
 
-        // Encontra o max nivel
+        // nivel de cada posicao da ordem topologica: inputs no 0, demais no
+        // maior nivel dos predecessores + 1
+        int[] levelAt = new int[orderedGates.length];
+        gateLevel = levelAt;
         maxLevel = 0;
-        for (Integer level : gateLevels.values()) {
-            maxLevel = Math.max(maxLevel, level);
+        for (int p = 0; p < orderedGates.length; p++) {
+            if (feedback) {
+                levelAt[p] = componentLevel[order[p]]; // ja calculado por SCC
+                maxLevel = Math.max(maxLevel, levelAt[p]);
+                continue;
+            }
+            if (order[p] < inputs.size) {
+                continue; // input: nivel 0
+            }
+            int maxLevelAnt = -1;
+            for (int k = fanInStart[p]; k < fanInStart[p + 1]; k++) {
+                maxLevelAnt = Math.max(maxLevelAnt, levelAt[fanInSource[k]]);
+            }
+            levelAt[p] = maxLevelAnt + 1;
+            maxLevel = Math.max(maxLevel, levelAt[p]);
         }
 
         // Organiza gates por nivel
@@ -177,8 +594,9 @@ public class Circuit {
             levels.add(new Array<>());
         }
 
-        for (LogicGate gate : allGates) {
-            int level = gateLevels.get(gate);
+        for (int g = 0; g < allGates.size; g++) {
+            LogicGate gate = allGates.get(g);
+            int level = levelAt[position[g]];
             levels.get(level).add(gate);
 
             // Define nivel e indice do gate
@@ -195,6 +613,28 @@ public class Circuit {
      * @param screenHeight Altura da tela em pixels
      */
     public void updateAllPos(float screenWidth, float screenHeight) {
+        long layoutKey = layoutKey(screenWidth, screenHeight);
+        if (layoutValid && layoutKey == currentLayoutKey) {
+            return; // mesmo tamanho de tela, posicoes e caminhos ja estao corretos
+        }
+
+        // tamanho ja calculado (ou pre-calculado no levels.bin): so copia posicoes e caminhos
+        float[] layout = layoutCache.get(layoutKey);
+        if (layout != null) {
+            for (int i = 0; i < allGates.size; i++) {
+                allGates.get(i).setPosition(layout[i * 2], layout[i * 2 + 1]);
+            }
+            gateGrid.rebuild(allGates);
+            int routesStart = allGates.size * 2;
+            for (int i = 0; i < wires.size; i++) {
+                wires.get(i).readRoute(layout, routesStart + i * Wire.ROUTE_STRIDE);
+            }
+            currentLayoutKey = layoutKey;
+            layoutValid = true;
+            layoutVersion++;
+            return;
+        }
+
         int totalLevels = maxLevel + 1;
 
         // Atualiza cada gate individualmente, nivel a nivel
@@ -219,10 +659,94 @@ public class Circuit {
                 //}
             }
         }
-        // Atualiza os caminhos dos fios
-        for (Wire wire : wires) {
+        gateGrid.rebuild(allGates);
+        // Atualiza os caminhos dos fios (roteamento so na primeira vez de cada tamanho)
+        layout = new float[layoutSize()];
+        for (int i = 0; i < allGates.size; i++) {
+            layout[i * 2] = allGates.get(i).getX();
+            layout[i * 2 + 1] = allGates.get(i).getY();
+        }
+        int routesStart = allGates.size * 2;
+        for (int i = 0; i < wires.size; i++) {
+            Wire wire = wires.get(i);
             wire.updateConnectionPoints();
+            wire.writeRoute(layout, routesStart + i * Wire.ROUTE_STRIDE);
+        }
+        cacheLayout(layoutKey, layout);
+        routingPasses++;
+        if (debugMode) {
+            Gdx.app.log("Circuit", "Fios roteados para " + screenWidth + "x" + screenHeight + " (" + routingPasses + " roteamento(s))");
         }
+        currentLayoutKey = layoutKey;
+        layoutValid = true;
+        layoutVersion++;
+    }
+
+    private static long layoutKey(float screenWidth, float screenHeight) {
+        return ((long) Float.floatToIntBits(screenWidth) << 32) | (Float.floatToIntBits(screenHeight) & 0xffffffffL);
+    }
+
+    // floats de um layout: posicao de cada porta e rota de cada fio
+    private int layoutSize() {
+        return allGates.size * 2 + wires.size * Wire.ROUTE_STRIDE;
+    }
+
+    private void cacheLayout(long layoutKey, float[] layout) {
+        if (layoutCache.size >= MAX_CACHED_LAYOUTS) {
+            layoutCache.clear(); // tempestade de resize: descarta os tamanhos antigos
+        }
+        layoutCache.put(layoutKey, layout);
+    }
+
+    /**
+     * Layout do ultimo updateAllPos: 2 floats por porta (posicao, na ordem de getAllGates)
+     * seguidos de Wire.ROUTE_STRIDE floats por fio (na ordem de getWires). Usado para gravar
+     * o layout pre-calculado no levels.bin.
+     *
+     * @return null se updateAllPos ainda nao foi chamado
+     */
+    public float[] getLayout() {
+        return layoutValid ? layoutCache.get(currentLayoutKey) : null;
+    }
+
+    /**
+     * Registra um layout ja calculado (formato de getLayout) para o tamanho de tela informado:
+     * o updateAllPos com esse tamanho so copia as posicoes, sem calcular nada.
+     *
+     * @return false se o layout nao corresponde a este circuito (ignorado)
+     */
+    public boolean applyLayout(float screenWidth, float screenHeight, float[] layout) {
+        if (layout == null || layout.length != layoutSize()) {
+            return false;
+        }
+        long layoutKey = layoutKey(screenWidth, screenHeight);
+        cacheLayout(layoutKey, layout);
+        if (layoutKey == currentLayoutKey) {
+            layoutValid = false; // o proximo updateAllPos com esse tamanho aplica o layout novo
+        }
+        return true;
+    }
+
+    /**
+     * Descarta os layouts em cache (ex.: depois de mover portas manualmente)
+     */
+    public void invalidateLayout() {
+        layoutCache.clear();
+        layoutValid = false;
+    }
+
+    /**
+     * Versao do layout atual: incrementada a cada vez que posicoes e caminhos dos fios mudam
+     */
+    public int getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * Quantas vezes os caminhos dos fios foram calculados (as demais vieram do cache)
+     */
+    public int getRoutingPasses() {
+        return routingPasses;
     }
 
     /**
@@ -240,7 +764,234 @@ public class Circuit {
 
     // Avalia todo o circuito na ordem correta
     // Execucao: itera pela ordem topologica, atualiza inputs e chama update()
+    // Circuitos com lacos sempre usam a avaliacao incremental (a unica que itera ate estabilizar)
     public void evaluate() {
+        if (incrementalEvaluation || feedback) {
+            evaluateIncremental();
+            return;
+        }
+
+        if (compiledEvaluation) {
+            evaluateCompiled();
+        } else {
+            evaluateWireScan();
+        }
+
+        // Atualiza estado dos fios para renderizacao
+        updateWireStates();
+    }
+
+    // laco indexado: chamado a cada frame, sem iterator
+    private void updateWireStates() {
+        for (int i = 0; i < wires.size; i++) {
+            wires.get(i).updateState();
+        }
+    }
+
+    // Avaliacao compilada: uma passada pela ordem topologica sobre os arrays de estado
+    private void evaluateCompiled() {
+        for (int p = 0; p < value.length; p++) {
+            boolean v = computeGate(p);
+            value[p] = v;
+            if (gateOp[p] != OP_INPUT) {
+                orderedGates[p].setOutput(v);
+            }
+        }
+        for (int o = 0; o < outputPosition.length; o++) {
+            setBit(actualBits, o, value[outputPosition[o]]);
+        }
+    }
+
+    // Saida da porta na posicao p calculada a partir das saidas das posicoes que a alimentam
+    private boolean computeGate(int p) {
+        int start = portStart[p];
+        int end = portStart[p + 1];
+        switch (gateOp[p]) {
+            case OP_INPUT:
+                return orderedGates[p].getOutput(); // InputBits: valor definido pelo jogador
+            case OP_OUTPUT:
+                return start < end && port(start);
+            case OP_NOT:
+                return !(start < end && port(start));
+            case OP_AND:
+            case OP_NAND: {
+                boolean all = true;
+                for (int k = start; k < end && all; k++) {
+                    all = port(k);
+                }
+                return gateOp[p] == OP_AND ? all : !all;
+            }
+            case OP_OR:
+            case OP_NOR: {
+                boolean any = false;
+                for (int k = start; k < end && !any; k++) {
+                    any = port(k);
+                }
+                return gateOp[p] == OP_OR ? any : !any;
+            }
+            case OP_XOR:
+            case OP_XNOR: {
+                boolean odd = false;
+                for (int k = start; k < end; k++) {
+                    odd ^= port(k);
+                }
+                return gateOp[p] == OP_XOR ? odd : !odd;
+            }
+            default: {
+                LogicGate gate = orderedGates[p];
+                for (int k = start; k < end; k++) {
+                    gate.setInput(k - start, port(k));
+                }
+                gate.update();
+                return gate.getOutput();
+            }
+        }
+    }
+
+    private boolean port(int k) {
+        int source = portSource[k];
+        return source >= 0 && value[source];
+    }
+
+    private static void setBit(long[] bits, int index, boolean on) {
+        if (on) {
+            bits[index >>> 6] |= 1L << (index & 63);
+        } else {
+            bits[index >>> 6] &= ~(1L << (index & 63));
+        }
+    }
+
+    /**
+     * Avaliacao incremental: compara as entradas com os valores da ultima avaliacao e
+     * reavalia apenas o cone de fan-out das que mudaram, nivel a nivel. A propagacao para
+     * nas portas cuja saida nao mudou. Sem entradas alteradas nenhuma porta e avaliada.
+     *
+     * As filas por nivel funcionam como uma roda de eventos: no modo sequencial uma porta
+     * de um laco que muda reagenda as portas do mesmo nivel, que sao reavaliadas na mesma
+     * passada ate nenhuma saida mudar. Se um nivel passar de MAX_SETTLE_PASSES avaliacoes
+     * por porta, o circuito e marcado como oscilando e as portas pendentes ficam como estao.
+     */
+    private void evaluateIncremental() {
+        if (fullEvaluationPending && !feedback) {
+            evaluateCompiled();
+            updateWireStates();
+            for (int i = 0; i < inputs.size; i++) {
+                lastInputValues[i] = inputs.get(i).getValue();
+            }
+            fullEvaluationPending = false;
+            lastPropagationTouched = orderedGates.length;
+            totalTouched += orderedGates.length;
+            propagationCount++;
+            return;
+        }
+
+        int firstLevel = -1;
+        boolean fullEvaluation = fullEvaluationPending;
+        if (fullEvaluation) {
+            // com lacos nao ha ordem topologica: todas as portas entram na roda de eventos
+            for (int p = 0; p < orderedGates.length; p++) {
+                schedule(p);
+            }
+            fullEvaluationPending = false;
+            firstLevel = 0;
+        }
+        for (int i = 0; i < inputs.size; i++) {
+            boolean value = inputs.get(i).getValue();
+            if (value != lastInputValues[i]) {
+                lastInputValues[i] = value;
+                schedule(inputPosition[i]);
+                firstLevel = 0; // inputs ficam no nivel 0
+            }
+        }
+        if (firstLevel < 0) {
+            return;
+        }
+
+        int touched = 0;
+        oscillating = false;
+        oscillatingGates.clear();
+        for (int level = firstLevel; level <= maxLevel && pendingCount > 0; level++) {
+            IntArray pending = pendingByLevel[level];
+            int levelSize = levels.get(level).size;
+            for (int i = 0; i < pending.size; i++) {
+                if (i == levelSize * MAX_SETTLE_PASSES) {
+                    markOscillation(pending, i, levelSize);
+                    break;
+                }
+                int p = pending.items[i];
+                scheduled[p] = false;
+                pendingCount--;
+
+                boolean previous = value[p];
+                boolean v = computeGate(p);
+                touched++;
+
+                // entradas sempre propagam (ainda sem o valor novo no fullEvaluation com lacos).
+                // Testa o tipo e nao o nivel: um laco sem predecessores externos tambem fica no nivel 0
+                if (v == previous && gateOp[p] != OP_INPUT) {
+                    continue;
+                }
+                value[p] = v;
+                if (gateOp[p] != OP_INPUT) {
+                    orderedGates[p].setOutput(v);
+                }
+                if (outputSlot[p] >= 0) {
+                    setBit(actualBits, outputSlot[p], v);
+                }
+                for (int k = fanOutStart[p]; k < fanOutStart[p + 1]; k++) {
+                    fanOutWire[k].updateState();
+                    schedule(fanOutTarget[k]);
+                }
+            }
+            pending.clear();
+        }
+        if (fullEvaluation) {
+            updateWireStates();
+        }
+
+        lastPropagationTouched = touched;
+        totalTouched += touched;
+        propagationCount++;
+    }
+
+    // Nivel que nao estabilizou: tira da fila as portas pendentes e guarda as da ultima
+    // passada pelo nivel (as que continuam mudando)
+    private void markOscillation(IntArray pending, int from, int window) {
+        oscillating = true;
+        for (int i = from; i < pending.size; i++) {
+            scheduled[pending.items[i]] = false;
+        }
+        pendingCount -= pending.size - from;
+
+        // scheduled serve de marca temporaria para nao repetir portas
+        int first = Math.max(0, from - window);
+        for (int i = first; i < pending.size; i++) {
+            int p = pending.items[i];
+            if (!scheduled[p]) {
+                scheduled[p] = true;
+                oscillatingGates.add(orderedGates[p]);
+            }
+        }
+        for (int i = first; i < pending.size; i++) {
+            scheduled[pending.items[i]] = false;
+        }
+        if (debugMode) {
+            Gdx.app.log("Circuit", "Laco oscilando no nivel " + orderedGates[pending.items[from]].getLevel()
+                + " (" + oscillatingGates.size + " porta(s) sem estabilizar)");
+        }
+    }
+
+    // Agenda a porta da posicao p para reavaliacao no seu nivel
+    private void schedule(int p) {
+        if (!scheduled[p]) {
+            scheduled[p] = true;
+            pendingByLevel[gateLevel[p]].add(p);
+            pendingCount++;
+        }
+    }
+
+    // Avaliacao original: para cada porta varre todos os fios procurando os que chegam nela
+    private void evaluateWireScan() {
         // Avalia todas as portas na ordem topologica
         for (LogicGate gate : evaluationOrder) {
             // atualiza os inputs desta porta baseado nos fios
@@ -257,36 +1008,131 @@ public class Circuit {
             gate.update();
         }
 
-        // Atualiza estado dos fios para renderizacao
-        for (Wire wire : wires) {
-            wire.updateState();
+        // os arrays de estado passam a refletir as portas
+        for (int p = 0; p < orderedGates.length; p++) {
+            value[p] = orderedGates[p].getOutput();
+        }
+        for (int o = 0; o < outputPosition.length; o++) {
+            setBit(actualBits, o, value[outputPosition[o]]);
         }
     }
 
+    /**
+     * A comparacao exaustiva de verifyCompiledEvaluation cabe neste circuito? Circuitos com lacos
+     * nao tem ordem topologica (as duas avaliacoes sao passadas unicas por ela) e acima de
+     * MAX_VERIFIED_INPUTS entradas as combinacoes ficam caras demais.
+     */
+    public boolean canVerifyCompiledEvaluation() {
+        return !feedback && inputs.size <= MAX_VERIFIED_INPUTS;
+    }
+
+    /**
+     * Compara a avaliacao compilada com a avaliacao por varredura de fios
+     * para todas as combinacoes de entrada. Os valores das entradas e o modo
+     * de avaliacao sao restaurados ao final. Usado pelo solveLevels (-PverifyCompiled).
+     *
+     * @return true se as saidas de todas as portas coincidem nos dois modos
+     * @throws IllegalStateException se canVerifyCompiledEvaluation() for false
+     */
+    public boolean verifyCompiledEvaluation() {
+        if (!canVerifyCompiledEvaluation()) {
+            throw new IllegalStateException("Circuito " + (feedback ? "com lacos" : "com " + inputs.size + " entradas")
+                + " nao pode ser verificado exaustivamente");
+        }
+        boolean previousMode = compiledEvaluation;
+        boolean[] previousInputs = new boolean[inputs.size];
+        for (int i = 0; i < inputs.size; i++) {
+            previousInputs[i] = inputs.get(i).getValue();
+        }
 
-    // verifica se o circuito esta correto (outputs == expectedOutputs)
+        boolean[] values = new boolean[inputs.size];
+        boolean[] expected = new boolean[orderedGates.length];
+        boolean matches = true;
+        int combinations = 1 << inputs.size;
+        for (int mask = 0; mask < combinations && matches; mask++) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (mask & (1 << i)) != 0;
+            }
+            setInputValues(values);
+            evaluateWireScan();
+            for (int p = 0; p < orderedGates.length; p++) {
+                expected[p] = orderedGates[p].getOutput();
+            }
 
-    public boolean isCorrect() {
-        if (outputs.size != expectedOutput.size) {
-            return false;
+            setInputValues(values);
+            evaluateCompiled();
+            for (int p = 0; p < orderedGates.length; p++) {
+                if (orderedGates[p].getOutput() != expected[p]) {
+                    if (debugMode) {
+                        Gdx.app.log("Circuit.verifyCompiledEvaluation", "Divergencia na porta " + orderedGates[p].getLabel()
+                            + " (" + orderedGates[p].getGateType() + ") para entradas " + mask);
+                    }
+                    matches = false;
+                    break;
+                }
+            }
         }
 
-        for (int i = 0; i < outputs.size; i++) {
-            if (outputs.get(i).getValue() != expectedOutput.get(i)) {
+        compiledEvaluation = previousMode;
+        setInputValues(previousInputs);
+        fullEvaluationPending = true;
+        evaluate();
+        return matches;
+    }
+
+    // Alterna entre a avaliacao compilada (padrao) e a varredura de fios original
+    public void setCompiledEvaluation(boolean compiledEvaluation) {
+        this.compiledEvaluation = compiledEvaluation;
+    }
+
+    public boolean isCompiledEvaluation() {
+        return compiledEvaluation;
+    }
+
+    // Liga/desliga a avaliacao incremental (padrao). Ao religar, a proxima avaliacao e completa
+    public void setIncrementalEvaluation(boolean incrementalEvaluation) {
+        this.incrementalEvaluation = incrementalEvaluation;
+        this.fullEvaluationPending = true;
+    }
+
+    public boolean isIncrementalEvaluation() {
+        return incrementalEvaluation;
+    }
+
+    // Numero de portas reavaliadas na ultima propagacao (ex.: ultimo toggle de um input)
+    public int getLastPropagationTouched() {
+        return lastPropagationTouched;
+    }
+
+    // Numero de propagacoes realizadas (avaliacoes sem entradas alteradas nao contam)
+    public int getPropagationCount() {
+        return propagationCount;
+    }
+
+    // Total de portas reavaliadas por todas as propagacoes
+    public long getTotalTouched() {
+        return totalTouched;
+    }
+
+
+    // verifica se o circuito esta correto (outputs == expectedOutputs): uma comparacao por 64 saidas
+    public boolean isCorrect() {
+        for (int w = 0; w < expectedBits.length; w++) {
+            if (actualBits[w] != expectedBits[w]) {
                 return false;
             }
         }
         return true;
     }
 
+    // valor atual da saida informada (ultima avaliacao)
+    public boolean getActualOutput(int output) {
+        return (actualBits[output >>> 6] & (1L << (output & 63))) != 0;
+    }
 
-    // obtem os valores atuais das saidas
-    public Array<Boolean> getActualOutputs() {
-        Array<Boolean> result = new Array<>(outputs.size);
-        for (int i = 0; i < outputs.size; i++) {
-            result.add(outputs.get(i).getValue());
-        }
-        return result;
+    // valores atuais das saidas: bit o = saida o (array interno, nao modificar)
+    public long[] getActualOutputBits() {
+        return actualBits;
     }
 
     // Getters
@@ -294,6 +1140,22 @@ public class Circuit {
         return inputs;
     }
 
+    /**
+     * Indice espacial das portas na posicao atual (indices em getAllGates)
+     */
+    public GateGrid getGateGrid() {
+        return gateGrid;
+    }
+
+    /**
+     * Porta na posicao (coordenadas do mundo), ou null. Com portas sobrepostas
+     * retorna a de menor indice em getAllGates.
+     */
+    public LogicGate gateAt(float x, float y) {
+        int index = gateGrid.gateAt(x, y);
+        return index < 0 ? null : allGates.get(index);
+    }
+
     public Array<LogicGate> getAllGates() {
         return allGates;
     }
@@ -306,19 +1168,27 @@ public class Circuit {
         return outputs;
     }
 
-    public Array<Boolean> getExpectedOutput() {
-        return expectedOutput;
+    public int getOutputCount() {
+        return outputs.size;
+    }
+
+    public boolean getExpectedOutput(int output) {
+        return (expectedBits[output >>> 6] & (1L << (output & 63))) != 0;
+    }
+
+    // valores esperados das saidas: bit o = saida o (array interno, nao modificar)
+    public long[] getExpectedOutputBits() {
+        return expectedBits;
     }
 
     public void setExpectedOutput(String outputLabel, boolean value) {
-        for(OutputBits output : outputs) {
-            if (output.getLabel().equals(outputLabel)) {
+        for (int o = 0; o < outputs.size; o++) {
+            if (outputs.get(o).getLabel().equals(outputLabel)) {
                 if(debugMode){
                     Gdx.app.log("Circuit.setExpectedOutput", "Definindo saida esperada " + outputLabel + " para " + value);
-                    Gdx.app.log("Circuit.setExpectedOutput", "Indice da saida: " + outputs.indexOf(output, true));
-                    Gdx.app.log("Circuit.setExpectedOutput", "Tamanho de expectedOutput: " + expectedOutput.size);
+                    Gdx.app.log("Circuit.setExpectedOutput", "Indice da saida: " + o);
                 }
-                expectedOutput.set(outputs.indexOf(output, true), value);
+                setBit(expectedBits, o, value);
                 return;
             }
         }
@@ -328,6 +1198,31 @@ public class Circuit {
         return evaluationOrder;
     }
 
+    // Acesso a netlist compilada (usado pelos avaliadores do pacote)
+    LogicGate[] getOrderedGates() {
+        return orderedGates;
+    }
+
+    int[] getGateOps() {
+        return gateOp;
+    }
+
+    int[] getPortStart() {
+        return portStart;
+    }
+
+    int[] getPortSource() {
+        return portSource;
+    }
+
+    int[] getInputPositions() {
+        return inputPosition;
+    }
+
+    int[] getOutputPositions() {
+        return outputPosition;
+    }
+
     // Imprime a ordem de avaliacao
     public void printEvaluationOrder() {
         System.out.println("Ordem de avaliacao do circuito:");
@@ -338,6 +1233,83 @@ public class Circuit {
     }
 
 
+    /**
+     * Define o input que funciona como clock (muda sozinho a cada {@link #tick()}).
+     * Usado por circuitos sequenciais.
+     */
+    public void setClock(String inputLabel) {
+        for (InputBits input : inputs) {
+            if (input.getLabel().equals(inputLabel)) {
+                clock = input;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Clock nao encontrado entre os inputs: " + inputLabel);
+    }
+
+    public InputBits getClock() {
+        return clock;
+    }
+
+    public boolean hasClock() {
+        return clock != null;
+    }
+
+    /**
+     * Um ciclo do clock: sobe, estabiliza, desce e estabiliza de novo.
+     * Cada borda reavalia apenas o que mudou, entao milhares de ticks cabem em um frame.
+     *
+     * @return false se o circuito oscilou em alguma das bordas
+     */
+    public boolean tick() {
+        if (clock == null) {
+            throw new IllegalStateException("Circuito sem clock.");
+        }
+        clock.setValue(true);
+        evaluate();
+        boolean stable = !oscillating;
+        clock.setValue(false);
+        evaluate();
+        tickCount++;
+        return stable && !oscillating;
+    }
+
+    /**
+     * Executa varios ticks seguidos
+     *
+     * @return false se o circuito oscilou em algum deles
+     */
+    public boolean tick(int count) {
+        boolean stable = true;
+        for (int i = 0; i < count; i++) {
+            stable &= tick();
+        }
+        return stable;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public boolean isSequential() {
+        return sequential;
+    }
+
+    // true quando o circuito tem lacos (so e possivel no modo sequencial)
+    public boolean hasFeedback() {
+        return feedback;
+    }
+
+    // A ultima propagacao parou por limite de iteracoes (ex.: anel de NOTs)
+    public boolean isOscillating() {
+        return oscillating;
+    }
+
+    // Portas que nao estabilizaram na ultima propagacao
+    public Array<LogicGate> getOscillatingGates() {
+        return oscillatingGates;
+    }
+
     // Reseta os inputs para false
     public void resetInputs() {
         for (InputBits input : inputs) {
@@ -25,6 +25,8 @@ public class CircuitBuilder {
     private final Array<OutputBits> outputs;
     private Array<Boolean> expectedOutput;
     private final float scale = 0.6f;
+    private boolean sequential = false; // permite lacos (latches, flip-flops)
+    private String clockLabel;
     // construtor default
     public CircuitBuilder() {
         this.inputs = new Array<>();
@@ -276,11 +278,34 @@ public class CircuitBuilder {
             if (debug) Gdx.app.log("CircuitBuilder.build", "Criando array de resultados com tamanho " + outputs.size);
         }
 
-        Circuit circuit = new Circuit(inputs, gates, wires, outputs, expectedOutput, debug);
+        Circuit circuit = new Circuit(inputs, gates, wires, outputs, expectedOutput, debug, sequential);
+        if (clockLabel != null) {
+            circuit.setClock(clockLabel);
+        }
 
         return circuit;
     }
 
+    /**
+     * Permite lacos entre as portas (circuito sequencial). Sem isso build() falha em lacos.
+     */
+    public CircuitBuilder setSequential(boolean sequential) {
+        this.sequential = sequential;
+        return this;
+    }
+
+    /**
+     * Marca um input (criado se ainda nao existir) como clock do circuito; implica modo sequencial
+     */
+    public CircuitBuilder setClock(String inputLabel) {
+        if (getInput(inputLabel) == null) {
+            addInput(inputLabel, false);
+        }
+        this.clockLabel = inputLabel;
+        this.sequential = true;
+        return this;
+    }
+
     /**
      * Obtém a última porta adicionada (útil para encadear conexões)
      */
@@ -0,0 +1,760 @@
+package com.badlogic.drop.entities;
+
+import com.badlogic.drop.entities.gates.ANDGate;
+import com.badlogic.drop.entities.gates.InputBits;
+import com.badlogic.drop.entities.gates.LogicGate;
+import com.badlogic.drop.entities.gates.NANDGate;
+import com.badlogic.drop.entities.gates.NORGate;
+import com.badlogic.drop.entities.gates.NOTGate;
+import com.badlogic.drop.entities.gates.ORGate;
+import com.badlogic.drop.entities.gates.OutputBits;
+import com.badlogic.drop.entities.gates.XNORGate;
+import com.badlogic.drop.entities.gates.XORGate;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Circuito editavel do modo sandbox: portas e fios podem ser adicionados e removidos a
+ * qualquer momento. O Circuit continua imutavel (ordem, niveis e netlist calculados no
+ * construtor); aqui cada edicao atualiza so a regiao afetada:
+ *
+ * - ordem topologica mantida pelo algoritmo de Pearce-Kelly: um fio from -> to que
+ *   respeita a ordem nao custa nada; senao a busca fica entre as posicoes de to e from,
+ *   reordena so as portas visitadas e detecta o laco quando chega em from;
+ * - niveis e saidas recalculados a partir das portas editadas, na ordem topologica,
+ *   parando nas portas que nao mudam;
+ * - so os fios ligados a porta editada (ou a portas que mudaram de nivel) sao roteados,
+ *   consultando o mesmo GateGrid usado no hit-test.
+ *
+ * Lacos nao sao permitidos: connect devolve null e getLastError descreve o laco.
+ * As portas sao identificadas por um id interno (slot), reaproveitado depois de removeGate.
+ */
+public class CircuitEditor {
+    private static final float SCALE = 0.6f; // mesma escala do CircuitBuilder
+
+    private boolean debugMode;
+
+    // portas: node[id] (null = slot livre), fios que saem/chegam em cada porta
+    private LogicGate[] node = new LogicGate[16];
+    private IntArray[] succ = new IntArray[16];
+    private IntArray[] pred = new IntArray[16];
+    private int nodeSlots;
+    private final IntArray freeNodes = new IntArray();
+    private final ObjectIntMap<LogicGate> nodeId = new ObjectIntMap<>();
+
+    // fios: wire[w] (null = slot livre) e as portas de cada ponta (ids)
+    private Wire[] wire = new Wire[16];
+    private int[] wireFrom = new int[16];
+    private int[] wireTo = new int[16];
+    private int wireSlots;
+    private final IntArray freeWires = new IntArray();
+
+    // ordem topologica: ord[id] = posicao, nodeAt[posicao] = id (-1 = buraco deixado por removeGate)
+    private int[] ord = new int[16];
+    private int[] nodeAt = new int[16];
+    private int orderSize;
+    private int holes;
+
+    // nivel de cada porta (0 = sem fios de entrada, senao 1 + maior nivel dos predecessores)
+    private int[] level = new int[16];
+    // portas de cada nivel: a posicao na lista e o indice horizontal (levelIdx, so visual), sempre denso
+    private IntArray[] levelMembers = new IntArray[8];
+
+    // buscas do Pearce-Kelly (marcas por carimbo, pilha e caminho para descrever lacos)
+    private int[] mark = new int[16];
+    private int markStamp;
+    private int[] parent = new int[16];
+    private final IntArray stack = new IntArray();
+    private final IntArray forward = new IntArray();  // posicoes visitadas a partir de to
+    private final IntArray backward = new IntArray(); // posicoes visitadas a partir de from
+    private final IntArray merged = new IntArray();
+
+    // propagacao de niveis e saidas em ordem topologica (heap de ids pela posicao)
+    private final OrderQueue levelQueue = new OrderQueue();
+    private final OrderQueue valueQueue = new OrderQueue();
+    private final IntArray reroute = new IntArray();  // fios a rotear no fim da edicao
+    private boolean[] rerouteMark = new boolean[16];
+
+    // views para a tela (render, hit-test e roteamento dos fios)
+    private final Array<LogicGate> gates = new Array<>();
+    private final Array<Wire> wires = new Array<>();
+    private final GateGrid grid = new GateGrid();
+    private boolean gridDirty;
+    private int labelCounter;
+
+    // estatisticas da ultima edicao
+    private int lastVisited;   // portas visitadas pela busca do Pearce-Kelly
+    private int lastReordered; // portas que mudaram de posicao na ordem
+    private int lastTouched;   // portas com nivel ou saida recalculados
+    private String lastError;
+
+    public CircuitEditor() {
+        this(false);
+    }
+
+    public CircuitEditor(boolean debugMode) {
+        this.debugMode = debugMode;
+    }
+
+    // ---------------------------------------------------------------- portas
+
+    /**
+     * Cria e adiciona uma porta pelo tipo ("INPUT", "OUTPUT", "AND", "OR", "NOT", "XOR", "NAND", "NOR", "XNOR")
+     *
+     * @return a porta criada, posicionada em (x, y)
+     */
+    public LogicGate addGate(String type, float x, float y) {
+        LogicGate gate = createGate(type, type.charAt(0) + String.valueOf(++labelCounter));
+        gate.setPosition(x, y);
+        addGate(gate);
+        return gate;
+    }
+
+    private static LogicGate createGate(String type, String label) {
+        switch (type) {
+            case "INPUT":
+                return new InputBits(label, SCALE);
+            case "OUTPUT":
+                return new OutputBits(label, SCALE);
+            case "AND":
+                return new ANDGate(label, SCALE);
+            case "OR":
+                return new ORGate(label, SCALE);
+            case "NOT":
+                return new NOTGate(label, SCALE);
+            case "XOR":
+                return new XORGate(label, SCALE);
+            case "NAND":
+                return new NANDGate(label, SCALE);
+            case "NOR":
+                return new NORGate(label, SCALE);
+            case "XNOR":
+                return new XNORGate(label, SCALE);
+            default:
+                throw new IllegalArgumentException("Tipo de porta desconhecido: " + type);
+        }
+    }
+
+    /**
+     * Adiciona uma porta sem fios: entra no fim da ordem topologica, no nivel 0
+     */
+    public void addGate(LogicGate gate) {
+        if (nodeId.containsKey(gate)) {
+            throw new IllegalArgumentException("Porta " + describe(gate) + " ja esta no circuito.");
+        }
+        int id = freeNodes.size > 0 ? freeNodes.pop() : nodeSlots++;
+        ensureNodeCapacity(nodeSlots);
+        if (orderSize == nodeAt.length) {
+            compactOrder(); // sem buracos suficientes: compacta ou cresce
+        }
+        node[id] = gate;
+        if (succ[id] == null) {
+            succ[id] = new IntArray(4);
+            pred[id] = new IntArray(4);
+        }
+        nodeId.put(gate, id);
+        ord[id] = orderSize;
+        nodeAt[orderSize++] = id;
+        level[id] = -1;
+        setLevel(id, 0);
+        gates.add(gate);
+        gridDirty = true;
+
+        lastVisited = lastReordered = 0;
+        lastError = null;
+        valueQueue.push(id);
+        lastTouched = propagateValues();
+        if (debugMode) Gdx.app.log("CircuitEditor", "Porta " + describe(gate) + " adicionada (id " + id + ")");
+    }
+
+    /**
+     * Remove a porta e os fios ligados a ela. A ordem das demais portas continua valida;
+     * niveis e saidas sao recalculados so a partir das portas que a porta alimentava.
+     */
+    public boolean removeGate(LogicGate gate) {
+        int id = nodeId.get(gate, -1);
+        if (id < 0) return false;
+
+        lastVisited = lastReordered = 0;
+        lastError = null;
+        while (pred[id].size > 0) {
+            detach(pred[id].peek());
+        }
+        while (succ[id].size > 0) {
+            int w = succ[id].peek();
+            int to = wireTo[w];
+            detach(w);
+            levelQueue.push(to);
+            valueQueue.push(to);
+        }
+
+        leaveLevel(id);
+        nodeAt[ord[id]] = -1;
+        holes++;
+        node[id] = null;
+        nodeId.remove(gate, -1);
+        freeNodes.add(id);
+        gates.removeValue(gate, true);
+        gridDirty = true;
+
+        lastTouched = propagateLevels() + propagateValues();
+        routePending();
+        if (holes > 32 && holes * 2 > orderSize) {
+            compactOrder();
+        }
+        if (debugMode) Gdx.app.log("CircuitEditor", "Porta " + describe(gate) + " removida");
+        return true;
+    }
+
+    /**
+     * Move a porta e roteia de novo apenas os fios ligados a ela
+     */
+    public void moveGate(LogicGate gate, float x, float y) {
+        int id = nodeId.get(gate, -1);
+        if (id < 0) return;
+        gate.setPosition(x, y);
+        gridDirty = true; // antes de rotear: os fios precisam ver a porta na posicao nova
+        queueIncidentWires(id);
+        routePending();
+    }
+
+    /**
+     * Inverte um input e propaga a mudanca apenas pelo cone de fan-out
+     */
+    public void toggleInput(InputBits input) {
+        int id = nodeId.get(input, -1);
+        if (id < 0) return;
+        input.toggle(); // o input ja tem a saida nova: propaga direto para quem ele alimenta
+        IntArray out = succ[id];
+        for (int k = 0; k < out.size; k++) {
+            wire[out.get(k)].updateState();
+            valueQueue.push(wireTo[out.get(k)]);
+        }
+        lastTouched = 1 + propagateValues();
+    }
+
+    // ---------------------------------------------------------------- fios
+
+    /**
+     * Liga a saida de from na entrada toInputIndex de to. Um fio que ja chegava nessa
+     * entrada e substituido.
+     *
+     * @return o fio criado, ou null se a ligacao e invalida ou fecharia um laco (ver getLastError)
+     */
+    public Wire connect(LogicGate from, LogicGate to, int toInputIndex) {
+        lastVisited = lastReordered = lastTouched = 0;
+        lastError = null;
+        int x = nodeId.get(from, -1);
+        int y = nodeId.get(to, -1);
+        if (x < 0 || y < 0) {
+            lastError = "Porta fora do circuito";
+            return null;
+        }
+        if (from instanceof OutputBits) {
+            lastError = "Output " + from.getLabel() + " nao alimenta outras portas";
+            return null;
+        }
+        if (toInputIndex < 0 || toInputIndex >= to.getNumInputs()) {
+            lastError = describe(to) + " nao tem a entrada " + toInputIndex;
+            return null;
+        }
+        if (x == y || !reorderForEdge(x, y)) {
+            if (lastError == null) lastError = "Laco: " + describe(from) + " -> " + describe(from);
+            if (debugMode) Gdx.app.log("CircuitEditor", lastError);
+            return null;
+        }
+
+        // a entrada recebe um unico fio
+        IntArray in = pred[y];
+        for (int k = 0; k < in.size; k++) {
+            if (wire[in.get(k)].getToInputIndex() == toInputIndex) {
+                detach(in.get(k));
+                break;
+            }
+        }
+
+        Wire created = new Wire(from, 0, to, toInputIndex, gates);
+        created.setGateGrid(grid, gates, 0, Integer.MAX_VALUE); // o caminho consulta o indice (todas as portas contam)
+        int w = freeWires.size > 0 ? freeWires.pop() : wireSlots++;
+        ensureWireCapacity(wireSlots);
+        wire[w] = created;
+        wireFrom[w] = x;
+        wireTo[w] = y;
+        succ[x].add(w);
+        pred[y].add(w);
+        wires.add(created);
+        created.updateState();
+        queueRoute(w);
+
+        levelQueue.push(y);
+        valueQueue.push(y);
+        lastTouched = propagateLevels() + propagateValues();
+        routePending();
+        if (debugMode) {
+            Gdx.app.log("CircuitEditor", "Fio " + describe(from) + " -> " + describe(to) + "[" + toInputIndex + "]: "
+                + lastVisited + " visitada(s), " + lastReordered + " reordenada(s), " + lastTouched + " recalculada(s)");
+        }
+        return created;
+    }
+
+    /**
+     * Remove o fio. A ordem continua valida; niveis e saidas sao recalculados a partir do destino.
+     */
+    public boolean disconnect(Wire removed) {
+        int w = wireIndex(removed);
+        if (w < 0) return false;
+        lastVisited = lastReordered = 0;
+        lastError = null;
+        int to = wireTo[w];
+        detach(w);
+        levelQueue.push(to);
+        valueQueue.push(to);
+        lastTouched = propagateLevels() + propagateValues();
+        routePending();
+        return true;
+    }
+
+    /**
+     * Remove todos os fios que chegam na porta
+     */
+    public void disconnectInputs(LogicGate gate) {
+        int id = nodeId.get(gate, -1);
+        if (id < 0) return;
+        lastVisited = lastReordered = 0;
+        lastError = null;
+        while (pred[id].size > 0) {
+            detach(pred[id].peek());
+        }
+        levelQueue.push(id);
+        valueQueue.push(id);
+        lastTouched = propagateLevels() + propagateValues();
+        routePending();
+    }
+
+    private int wireIndex(Wire target) {
+        if (target == null) return -1;
+        int to = nodeId.get(target.getToGate(), -1);
+        if (to < 0) return -1;
+        IntArray in = pred[to];
+        for (int k = 0; k < in.size; k++) {
+            if (wire[in.get(k)] == target) return in.get(k);
+        }
+        return -1;
+    }
+
+    // tira o fio das listas (sem propagar); a porta de destino perde o valor daquela entrada
+    private void detach(int w) {
+        succ[wireFrom[w]].removeValue(w);
+        pred[wireTo[w]].removeValue(w);
+        wires.removeValue(wire[w], true);
+        node[wireTo[w]].setInput(wire[w].getToInputIndex(), false);
+        wire[w] = null;
+        freeWires.add(w);
+    }
+
+    // ---------------------------------------------------------------- Pearce-Kelly
+
+    /**
+     * Ajusta a ordem para o fio x -> y. Se x ja vem antes de y nada muda. Senao busca a
+     * partir de y (para frente, so posicoes ate a de x) e a partir de x (para tras, so
+     * posicoes depois da de y); chegar em x na primeira busca e um laco. As portas
+     * visitadas trocam de posicao entre si: as que chegam em x primeiro, depois as que
+     * saem de y, cada grupo na ordem relativa que ja tinha.
+     *
+     * @return false se o fio fecharia um laco (ordem intacta)
+     */
+    private boolean reorderForEdge(int x, int y) {
+        int lower = ord[y];
+        int upper = ord[x];
+        if (lower > upper) {
+            return true;
+        }
+
+        // para frente a partir de y: portas com posicao < upper (posicao == upper e o proprio x)
+        nextStamp();
+        forward.clear();
+        stack.clear();
+        stack.add(y);
+        mark[y] = markStamp;
+        parent[y] = -1;
+        while (stack.size > 0) {
+            int v = stack.pop();
+            forward.add(ord[v]);
+            IntArray out = succ[v];
+            for (int k = 0; k < out.size; k++) {
+                int t = wireTo[out.get(k)];
+                if (t == x) {
+                    lastVisited = forward.size;
+                    lastError = "Laco: " + describeCycle(x, v);
+                    return false;
+                }
+                if (mark[t] != markStamp && ord[t] < upper) {
+                    mark[t] = markStamp;
+                    parent[t] = v;
+                    stack.add(t);
+                }
+            }
+        }
+
+        // para tras a partir de x: portas com posicao > lower
+        backward.clear();
+        stack.add(x);
+        mark[x] = markStamp;
+        while (stack.size > 0) {
+            int v = stack.pop();
+            backward.add(ord[v]);
+            IntArray in = pred[v];
+            for (int k = 0; k < in.size; k++) {
+                int f = wireFrom[in.get(k)];
+                if (mark[f] != markStamp && ord[f] > lower) {
+                    mark[f] = markStamp;
+                    stack.add(f);
+                }
+            }
+        }
+
+        // as posicoes ocupadas pelos dois grupos, ordenadas, recebem backward e depois forward
+        forward.sort();
+        backward.sort();
+        merged.clear();
+        mergeSorted(backward, forward, merged);
+        for (int i = 0; i < backward.size; i++) backward.items[i] = nodeAt[backward.items[i]];
+        for (int i = 0; i < forward.size; i++) forward.items[i] = nodeAt[forward.items[i]];
+        int slot = 0;
+        for (int i = 0; i < backward.size; i++) place(backward.items[i], merged.items[slot++]);
+        for (int i = 0; i < forward.size; i++) place(forward.items[i], merged.items[slot++]);
+
+        lastVisited = forward.size + backward.size;
+        lastReordered = lastVisited;
+        return true;
+    }
+
+    private void place(int id, int position) {
+        ord[id] = position;
+        nodeAt[position] = id;
+    }
+
+    private static void mergeSorted(IntArray a, IntArray b, IntArray out) {
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.items[i] < b.items[j])) {
+                out.add(a.items[i++]);
+            } else {
+                out.add(b.items[j++]);
+            }
+        }
+    }
+
+    // laco x -> y -> ... -> v -> x, com o caminho y .. v guardado em parent
+    private String describeCycle(int x, int v) {
+        IntArray path = new IntArray();
+        for (int c = v; c >= 0; c = parent[c]) {
+            path.add(c);
+        }
+        StringBuilder cycle = new StringBuilder(describe(node[x]));
+        for (int i = path.size - 1; i >= 0; i--) {
+            cycle.append(" -> ").append(describe(node[path.get(i)]));
+        }
+        return cycle.append(" -> ").append(describe(node[x])).toString();
+    }
+
+    // remove os buracos da ordem (mantendo a ordem relativa) e cresce os arrays se preciso
+    private void compactOrder() {
+        int size = 0;
+        for (int p = 0; p < orderSize; p++) {
+            int id = nodeAt[p];
+            if (id >= 0) {
+                ord[id] = size;
+                nodeAt[size++] = id;
+            }
+        }
+        orderSize = size;
+        holes = 0;
+        if (orderSize == nodeAt.length) {
+            nodeAt = Arrays.copyOf(nodeAt, nodeAt.length * 2);
+        }
+    }
+
+    private void nextStamp() {
+        if (++markStamp == 0) {
+            Arrays.fill(mark, 0);
+            markStamp = 1;
+        }
+    }
+
+    // ---------------------------------------------------------------- propagacao
+
+    // Recalcula niveis a partir das portas agendadas, na ordem topologica; so continua pelas que mudaram
+    private int propagateLevels() {
+        int touched = 0;
+        while (levelQueue.size() > 0) {
+            int v = levelQueue.pop();
+            touched++;
+            int newLevel = 0;
+            IntArray in = pred[v];
+            for (int k = 0; k < in.size; k++) {
+                newLevel = Math.max(newLevel, level[wireFrom[in.get(k)]] + 1);
+            }
+            if (newLevel == level[v]) continue;
+            setLevel(v, newLevel);
+            queueIncidentWires(v); // o caminho dos fios depende do nivel das pontas
+            IntArray out = succ[v];
+            for (int k = 0; k < out.size; k++) {
+                levelQueue.push(wireTo[out.get(k)]);
+            }
+        }
+        return touched;
+    }
+
+    // Recalcula saidas a partir das portas agendadas, na ordem topologica; so continua pelas que mudaram
+    private int propagateValues() {
+        int touched = 0;
+        while (valueQueue.size() > 0) {
+            int v = valueQueue.pop();
+            touched++;
+            LogicGate gate = node[v];
+            boolean previous = gate.getOutput();
+            IntArray in = pred[v];
+            for (int k = 0; k < in.size; k++) {
+                Wire w = wire[in.get(k)];
+                gate.setInput(w.getToInputIndex(), node[wireFrom[in.get(k)]].getOutput());
+            }
+            gate.update();
+            IntArray out = succ[v];
+            for (int k = 0; k < out.size; k++) {
+                wire[out.get(k)].updateState();
+            }
+            if (gate.getOutput() == previous) continue;
+            for (int k = 0; k < out.size; k++) {
+                valueQueue.push(wireTo[out.get(k)]);
+            }
+        }
+        return touched;
+    }
+
+    // muda a porta de nivel; ela entra no fim do nivel novo (indice horizontal = tamanho do nivel)
+    private void setLevel(int id, int newLevel) {
+        if (level[id] >= 0) {
+            leaveLevel(id);
+        }
+        if (levelMembers.length <= newLevel) {
+            levelMembers = Arrays.copyOf(levelMembers, Math.max(newLevel + 1, levelMembers.length * 2));
+        }
+        if (levelMembers[newLevel] == null) {
+            levelMembers[newLevel] = new IntArray(8);
+        }
+        level[id] = newLevel;
+        gridDirty = true; // o indice tambem agrupa as portas por nivel
+        node[id].setLevel(newLevel);
+        node[id].setLevelIdx(levelMembers[newLevel].size);
+        levelMembers[newLevel].add(id);
+    }
+
+    // tira a porta do nivel atual: a ultima porta do nivel ocupa o indice liberado, entao dois
+    // fios nunca usam o mesmo canal (Wire.calculatePath espaca os canais pelo levelIdx)
+    private void leaveLevel(int id) {
+        IntArray members = levelMembers[level[id]];
+        int slot = node[id].getLevelIdx();
+        int last = members.pop();
+        if (last != id) {
+            members.set(slot, last);
+            node[last].setLevelIdx(slot);
+            queueIncidentWires(last);
+        }
+    }
+
+    // ---------------------------------------------------------------- roteamento
+
+    private void queueIncidentWires(int id) {
+        for (int k = 0; k < succ[id].size; k++) queueRoute(succ[id].get(k));
+        for (int k = 0; k < pred[id].size; k++) queueRoute(pred[id].get(k));
+    }
+
+    private void queueRoute(int w) {
+        if (!rerouteMark[w]) {
+            rerouteMark[w] = true;
+            reroute.add(w);
+        }
+    }
+
+    // roteia so os fios agendados (ligados a portas editadas, movidas ou que mudaram de nivel)
+    private void routePending() {
+        if (reroute.size > 0) {
+            updateGrid();
+        }
+        for (int i = 0; i < reroute.size; i++) {
+            int w = reroute.get(i);
+            rerouteMark[w] = false;
+            if (wire[w] != null) {
+                wire[w].updateConnectionPoints();
+            }
+        }
+        reroute.clear();
+    }
+
+    // ---------------------------------------------------------------- capacidade
+
+    private void ensureNodeCapacity(int slots) {
+        if (slots <= node.length) return;
+        int capacity = Math.max(slots, node.length * 2);
+        node = Arrays.copyOf(node, capacity);
+        succ = Arrays.copyOf(succ, capacity);
+        pred = Arrays.copyOf(pred, capacity);
+        ord = Arrays.copyOf(ord, capacity);
+        level = Arrays.copyOf(level, capacity);
+        mark = Arrays.copyOf(mark, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        levelQueue.ensureCapacity(capacity);
+        valueQueue.ensureCapacity(capacity);
+    }
+
+    private void ensureWireCapacity(int slots) {
+        if (slots <= wire.length) return;
+        int capacity = Math.max(slots, wire.length * 2);
+        wire = Arrays.copyOf(wire, capacity);
+        wireFrom = Arrays.copyOf(wireFrom, capacity);
+        wireTo = Arrays.copyOf(wireTo, capacity);
+        rerouteMark = Arrays.copyOf(rerouteMark, capacity);
+    }
+
+    // ---------------------------------------------------------------- consultas
+
+    /**
+     * Porta na posicao (coordenadas do mundo), ou null. O indice espacial e refeito
+     * so quando alguma porta foi adicionada, removida ou movida desde a ultima consulta.
+     */
+    public LogicGate gateAt(float x, float y) {
+        updateGrid();
+        int index = grid.gateAt(x, y);
+        return index < 0 ? null : gates.get(index);
+    }
+
+    private void updateGrid() {
+        if (gridDirty) {
+            grid.rebuild(gates);
+            gridDirty = false;
+        }
+    }
+
+    /**
+     * Portas na ordem topologica atual (todo fio vai de uma porta anterior para uma posterior)
+     */
+    public Array<LogicGate> getTopologicalOrder(Array<LogicGate> out) {
+        out.clear();
+        for (int p = 0; p < orderSize; p++) {
+            if (nodeAt[p] >= 0) out.add(node[nodeAt[p]]);
+        }
+        return out;
+    }
+
+    /**
+     * Confere a ordem (todo fio respeita a ordem), os niveis contra um recalculo completo
+     * e se os indices horizontais de cada nivel sao distintos e sem buracos. Usado pelo tools.EditorChecker.
+     */
+    public boolean verify() {
+        for (int w = 0; w < wireSlots; w++) {
+            if (wire[w] != null && ord[wireFrom[w]] >= ord[wireTo[w]]) return false;
+        }
+        for (int p = 0; p < orderSize; p++) {
+            int v = nodeAt[p];
+            if (v < 0) continue;
+            int expected = 0;
+            for (int k = 0; k < pred[v].size; k++) {
+                expected = Math.max(expected, level[wireFrom[pred[v].get(k)]] + 1);
+            }
+            if (expected != level[v]) return false;
+            IntArray members = levelMembers[level[v]];
+            int slot = node[v].getLevelIdx();
+            if (slot < 0 || slot >= members.size || members.get(slot) != v) return false;
+        }
+        return true;
+    }
+
+    private static String describe(LogicGate gate) {
+        return gate == null ? "null" : gate.getLabel() + " (" + gate.getGateType() + ")";
+    }
+
+    public Array<LogicGate> getGates() {
+        return gates;
+    }
+
+    public Array<Wire> getWires() {
+        return wires;
+    }
+
+    public int getLastVisited() {
+        return lastVisited;
+    }
+
+    public int getLastReordered() {
+        return lastReordered;
+    }
+
+    public int getLastTouched() {
+        return lastTouched;
+    }
+
+    // mensagem da ultima edicao rejeitada (ex.: o laco que o fio fecharia), ou null
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setDebugMode(boolean debugMode) {
+        this.debugMode = debugMode;
+    }
+
+    /**
+     * Fila de prioridade de ids pela posicao na ordem topologica (heap binario sobre int[]);
+     * um id agendado duas vezes entra uma vez so
+     */
+    private final class OrderQueue {
+        private int[] heap = new int[16];
+        private boolean[] queued = new boolean[16];
+        private int size;
+
+        void ensureCapacity(int capacity) {
+            if (queued.length < capacity) {
+                queued = Arrays.copyOf(queued, capacity);
+                heap = Arrays.copyOf(heap, capacity);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void push(int id) {
+            if (queued[id]) return;
+            queued[id] = true;
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (ord[heap[up]] <= ord[id]) break;
+                heap[i] = heap[up];
+                i = up;
+            }
+            heap[i] = id;
+        }
+
+        int pop() {
+            int top = heap[0];
+            queued[top] = false;
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = i * 2 + 1;
+                if (child >= size) break;
+                if (child + 1 < size && ord[heap[child + 1]] < ord[heap[child]]) child++;
+                if (ord[heap[child]] >= ord[last]) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.badlogic.drop.entities;
+
+import com.badlogic.drop.entities.gates.LogicGate;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Indice espacial das portas do circuito (grade uniforme sobre os retangulos das portas).
+ * Reconstruido pelo Circuit.updateAllPos sempre que as posicoes mudam; consultas de toque,
+ * hover e arraste olham so as celulas do ponto/retangulo, sem percorrer todas as portas.
+ *
+ * Tambem agrupa as portas por nivel (com a faixa Y ocupada por cada nivel), usado pelo
+ * Wire.calculatePath para achar portas no caminho do fio.
+ *
+ * Os resultados sao indices em allGates, sempre em ordem crescente e sem repeticao.
+ */
+public final class GateGrid {
+    // no maximo CELLS_PER_GATE celulas por porta: portas muito espalhadas aumentam a celula
+    private static final int CELLS_PER_GATE = 4;
+
+    private Array<LogicGate> gates;
+
+    // grade: cellItems[cellStart[c]] .. cellItems[cellStart[c + 1] - 1] = portas que tocam a celula c
+    private float originX, originY;
+    private float cellSize = 1f;
+    private int cols, rows;
+    private int[] cellStart = new int[1];
+    private int[] cellItems = new int[0];
+    private int[] cellFill = new int[0]; // cursor de preenchimento de cada celula
+
+    // niveis: levelItems[levelStart[l]] .. levelItems[levelStart[l + 1] - 1] = portas do nivel l
+    private int levelCount;
+    private int[] levelStart = new int[1];
+    private int[] levelItems = new int[0];
+    private float[] levelMinY = new float[0];
+    private float[] levelMaxY = new float[0];
+
+    // marca de visita para nao repetir portas que ocupam mais de uma celula
+    private int[] visited = new int[0];
+    private int stamp;
+
+    /**
+     * Reindexa as portas com as posicoes atuais
+     */
+    public void rebuild(Array<LogicGate> gates) {
+        this.gates = gates;
+        int n = gates.size;
+        if (visited.length < n) {
+            visited = new int[n];
+            stamp = 0;
+        }
+        rebuildLevels(n);
+        if (n == 0) {
+            cols = rows = 0;
+            return;
+        }
+
+        // limites e tamanho da celula (a maior dimensao de porta: cada porta toca ate 4 celulas)
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        float size = 1f;
+        for (int i = 0; i < n; i++) {
+            LogicGate gate = gates.get(i);
+            minX = Math.min(minX, gate.getX());
+            minY = Math.min(minY, gate.getY());
+            maxX = Math.max(maxX, gate.getX() + gate.getWidth());
+            maxY = Math.max(maxY, gate.getY() + gate.getHeight());
+            size = Math.max(size, Math.max(gate.getWidth(), gate.getHeight()));
+        }
+        while ((long) ((maxX - minX) / size + 1) * (long) ((maxY - minY) / size + 1) > (long) n * CELLS_PER_GATE + 16) {
+            size *= 2;
+        }
+        originX = minX;
+        originY = minY;
+        cellSize = size;
+        cols = (int) ((maxX - minX) / size) + 1;
+        rows = (int) ((maxY - minY) / size) + 1;
+
+        // contagem por celula, prefixo e preenchimento (portas em ordem crescente em cada celula)
+        int cellCount = cols * rows;
+        if (cellStart.length < cellCount + 1) cellStart = new int[cellCount + 1];
+        Arrays.fill(cellStart, 0, cellCount + 1, 0);
+        for (int i = 0; i < n; i++) {
+            LogicGate gate = gates.get(i);
+            int c0 = col(gate.getX()), c1 = col(gate.getX() + gate.getWidth());
+            int r0 = row(gate.getY()), r1 = row(gate.getY() + gate.getHeight());
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) cellStart[r * cols + c + 1]++;
+            }
+        }
+        for (int c = 0; c < cellCount; c++) cellStart[c + 1] += cellStart[c];
+        if (cellItems.length < cellStart[cellCount]) cellItems = new int[cellStart[cellCount]];
+        if (cellFill.length < cellCount) cellFill = new int[cellCount];
+        Arrays.fill(cellFill, 0, cellCount, 0);
+        for (int i = 0; i < n; i++) {
+            LogicGate gate = gates.get(i);
+            int c0 = col(gate.getX()), c1 = col(gate.getX() + gate.getWidth());
+            int r0 = row(gate.getY()), r1 = row(gate.getY() + gate.getHeight());
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int cell = r * cols + c;
+                    cellItems[cellStart[cell] + cellFill[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    // agrupa as portas por nivel e guarda a faixa Y de cada nivel
+    private void rebuildLevels(int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) count = Math.max(count, gates.get(i).getLevel() + 1);
+        levelCount = count;
+        if (levelStart.length < count + 1) {
+            levelStart = new int[count + 1];
+            levelMinY = new float[count];
+            levelMaxY = new float[count];
+        }
+        if (levelItems.length < n) levelItems = new int[n];
+        Arrays.fill(levelStart, 0, count + 1, 0);
+        Arrays.fill(levelMinY, 0, count, Float.MAX_VALUE);
+        Arrays.fill(levelMaxY, 0, count, -Float.MAX_VALUE);
+        for (int i = 0; i < n; i++) {
+            LogicGate gate = gates.get(i);
+            int level = Math.max(gate.getLevel(), 0);
+            levelStart[level + 1]++;
+            levelMinY[level] = Math.min(levelMinY[level], gate.getY());
+            levelMaxY[level] = Math.max(levelMaxY[level], gate.getY() + gate.getHeight());
+        }
+        for (int l = 0; l < count; l++) levelStart[l + 1] += levelStart[l];
+        // levelStart[l] vira cursor e depois volta ao inicio do nivel
+        for (int i = 0; i < n; i++) {
+            int level = Math.max(gates.get(i).getLevel(), 0);
+            levelItems[levelStart[level]++] = i;
+        }
+        for (int l = count; l > 0; l--) levelStart[l] = levelStart[l - 1];
+        levelStart[0] = 0;
+    }
+
+    // acesso direto as celulas (mesmo pacote): o Wire percorre as celulas e para no primeiro acerto.
+    // Uma porta pode aparecer em mais de uma celula
+    int col(float x) {
+        return Math.max(0, Math.min(cols - 1, (int) ((x - originX) / cellSize)));
+    }
+
+    int row(float y) {
+        return Math.max(0, Math.min(rows - 1, (int) ((y - originY) / cellSize)));
+    }
+
+    boolean isEmpty() {
+        return cols == 0;
+    }
+
+    int cellStart(int col, int row) {
+        return cellStart[row * cols + col];
+    }
+
+    int cellEnd(int col, int row) {
+        return cellStart[row * cols + col + 1];
+    }
+
+    int cellItem(int k) {
+        return cellItems[k];
+    }
+
+    /**
+     * Primeira porta (menor indice em allGates) cujo retangulo contem o ponto
+     *
+     * @return -1 se nenhuma porta contem o ponto
+     */
+    public int gateAt(float x, float y) {
+        if (cols == 0 || x < originX || y < originY) return -1;
+        int c = (int) ((x - originX) / cellSize), r = (int) ((y - originY) / cellSize);
+        if (c >= cols || r >= rows) return -1;
+        int cell = r * cols + c;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            int i = cellItems[k];
+            if (contains(gates.get(i), x, y)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Portas cujo retangulo contem o ponto (mesmo teste de Rectangle.contains)
+     *
+     * @param out recebe os indices em allGates (limpo antes)
+     * @return quantidade de portas encontradas
+     */
+    public int gatesAt(float x, float y, IntArray out) {
+        out.clear();
+        if (cols == 0 || x < originX || y < originY) return 0;
+        int c = (int) ((x - originX) / cellSize), r = (int) ((y - originY) / cellSize);
+        if (c >= cols || r >= rows) return 0;
+        int cell = r * cols + c;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            int i = cellItems[k];
+            if (contains(gates.get(i), x, y)) out.add(i);
+        }
+        return out.size;
+    }
+
+    /**
+     * Candidatas de um retangulo: portas que tocam as celulas de [x0, x1] x [y0, y1].
+     * O teste exato de interseccao fica com quem chama.
+     *
+     * @param out recebe os indices em allGates (limpo antes), em ordem crescente
+     * @return quantidade de portas encontradas
+     */
+    public int query(float x0, float y0, float x1, float y1, IntArray out) {
+        out.clear();
+        if (cols == 0 || x1 < x0 || y1 < y0) return 0;
+        int c0 = col(x0), c1 = col(x1), r0 = row(y0), r1 = row(y1);
+        if (++stamp == 0) { // estouro: zera as marcas
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellItems[k];
+                    if (visited[i] != stamp) {
+                        visited[i] = stamp;
+                        out.add(i);
+                    }
+                }
+            }
+        }
+        if (r1 > r0 || c1 > c0) out.sort(); // celulas diferentes podem intercalar indices
+        return out.size;
+    }
+
+    private static boolean contains(LogicGate gate, float x, float y) {
+        return gate.getX() <= x && gate.getX() + gate.getWidth() >= x
+            && gate.getY() <= y && gate.getY() + gate.getHeight() >= y;
+    }
+
+    /**
+     * Primeira porta (menor indice) do nivel dentro do intervalo de indices [from, to)
+     *
+     * @return -1 se o nivel nao tem porta no intervalo
+     */
+    public int firstAtLevel(int level, int from, int to) {
+        if (level < 0 || level >= levelCount) return -1;
+        for (int k = levelStart[level]; k < levelStart[level + 1]; k++) {
+            int i = levelItems[k];
+            if (i >= to) return -1;
+            if (i >= from) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Menor Y das portas com nivel em [fromLevel, toLevel] (Float.MAX_VALUE se nao houver)
+     */
+    public float levelsMinY(int fromLevel, int toLevel) {
+        float min = Float.MAX_VALUE;
+        for (int l = Math.max(fromLevel, 0); l <= toLevel && l < levelCount; l++) min = Math.min(min, levelMinY[l]);
+        return min;
+    }
+
+    /**
+     * Maior Y + altura das portas com nivel em [fromLevel, toLevel] (-Float.MAX_VALUE se nao houver)
+     */
+    public float levelsMaxY(int fromLevel, int toLevel) {
+        float max = -Float.MAX_VALUE;
+        for (int l = Math.max(fromLevel, 0); l <= toLevel && l < levelCount; l++) max = Math.max(max, levelMaxY[l]);
+        return max;
+    }
+
+    public LogicGate getGate(int index) {
+        return gates.get(index);
+    }
+}
@@ -0,0 +1,197 @@
+package com.badlogic.drop.entities;
+
+import java.util.Arrays;
+
+/**
+ * Avaliador bit-paralelo da tabela verdade de um circuito.
+ * Cada long guarda 64 combinacoes de entrada: o bit m do bloco b corresponde a combinacao
+ * b * 64 + m, e o bit i do indice da combinacao e o valor de circuit.getInputs().get(i).
+ * Todas as portas sao avaliadas com operacoes bit a bit sobre um workspace de long[]
+ * alocado uma unica vez, entao avaliar um bloco nao aloca memoria.
+ */
+public class TruthTableEvaluator {
+
+    // limite pratico: 2^30 combinacoes = 2^24 longs por saida
+    public static final int MAX_INPUTS = 30;
+
+    // codigos das operacoes: os mesmos da netlist do Circuit
+    private static final int OP_INPUT = Circuit.OP_INPUT;
+    private static final int OP_OUTPUT = Circuit.OP_OUTPUT;
+    private static final int OP_AND = Circuit.OP_AND;
+    private static final int OP_OR = Circuit.OP_OR;
+    private static final int OP_NOT = Circuit.OP_NOT;
+    private static final int OP_NAND = Circuit.OP_NAND;
+    private static final int OP_NOR = Circuit.OP_NOR;
+    private static final int OP_XNOR = Circuit.OP_XNOR;
+
+    // padroes das 6 primeiras entradas dentro de um bloco de 64 combinacoes
+    private static final long[] INPUT_PATTERNS = {
+        0xAAAAAAAAAAAAAAAAL,
+        0xCCCCCCCCCCCCCCCCL,
+        0xF0F0F0F0F0F0F0F0L,
+        0xFF00FF00FF00FF00L,
+        0xFFFF0000FFFF0000L,
+        0xFFFFFFFF00000000L
+    };
+
+    private final int numInputs;
+    private final int blockCount;
+    private final long validMask; // bits validos de cada bloco (menos de 64 se houver menos de 6 entradas)
+
+    // netlist em ordem topologica
+    private final int[] op;         // operacao de cada posicao (Circuit.OP_*)
+    private final int[] portStart;  // portStart[p] .. portStart[p + 1] - 1 = entradas da porta p
+    private final int[] portSource; // posicao que alimenta cada entrada (-1 = sem fio, sempre false)
+    private final int[] inputIndex; // indice da entrada do circuito para OP_INPUT
+    private final int[] outputPosition;
+
+    // valor de cada posicao para o bloco atual
+    private final long[] workspace;
+
+    public TruthTableEvaluator(Circuit circuit) {
+        if (circuit.hasFeedback()) {
+            throw new IllegalArgumentException("Circuito com lacos nao tem tabela verdade combinacional.");
+        }
+        int[] inputPositions = circuit.getInputPositions();
+        this.numInputs = inputPositions.length;
+        if (numInputs > MAX_INPUTS) {
+            throw new IllegalArgumentException("Circuito com entradas demais para a tabela verdade: " + numInputs);
+        }
+        int combinations = 1 << numInputs;
+        this.blockCount = Math.max(1, combinations >>> 6);
+        this.validMask = combinations >= 64 ? -1L : (1L << combinations) - 1;
+
+        // netlist ja compilada pelo Circuit (entradas de cada porta resolvidas para a posicao de origem)
+        this.op = circuit.getGateOps();
+        this.portStart = circuit.getPortStart();
+        this.portSource = circuit.getPortSource();
+        int gateCount = op.length;
+        for (int p = 0; p < gateCount; p++) {
+            if (op[p] == Circuit.OP_OTHER) {
+                throw new IllegalArgumentException("Tipo de porta desconhecido: " + circuit.getOrderedGates()[p].getGateType());
+            }
+        }
+        this.inputIndex = new int[gateCount];
+        Arrays.fill(inputIndex, -1);
+        for (int i = 0; i < numInputs; i++) {
+            inputIndex[inputPositions[i]] = i;
+        }
+
+        this.outputPosition = circuit.getOutputPositions().clone();
+        this.workspace = new long[gateCount];
+    }
+
+    /**
+     * Avalia as 64 combinacoes do bloco informado, preenchendo o workspace
+     */
+    public void evaluateBlock(int block) {
+        for (int p = 0; p < op.length; p++) {
+            int start = portStart[p];
+            int end = portStart[p + 1];
+            long value;
+            switch (op[p]) {
+                case OP_INPUT:
+                    value = inputBlock(inputIndex[p], block);
+                    break;
+                case OP_OUTPUT:
+                case OP_NOT: {
+                    long in = start < end ? port(start) : 0L;
+                    value = op[p] == OP_NOT ? ~in : in;
+                    break;
+                }
+                case OP_AND:
+                case OP_NAND: {
+                    long acc = -1L;
+                    for (int k = start; k < end; k++) {
+                        acc &= port(k);
+                    }
+                    value = op[p] == OP_NAND ? ~acc : acc;
+                    break;
+                }
+                case OP_OR:
+                case OP_NOR: {
+                    long acc = 0L;
+                    for (int k = start; k < end; k++) {
+                        acc |= port(k);
+                    }
+                    value = op[p] == OP_NOR ? ~acc : acc;
+                    break;
+                }
+                default: { // XOR / XNOR: paridade das entradas
+                    long acc = 0L;
+                    for (int k = start; k < end; k++) {
+                        acc ^= port(k);
+                    }
+                    value = op[p] == OP_XNOR ? ~acc : acc;
+                    break;
+                }
+            }
+            workspace[p] = value;
+        }
+    }
+
+    private long port(int k) {
+        int source = portSource[k];
+        return source < 0 ? 0L : workspace[source];
+    }
+
+    private long inputBlock(int input, int block) {
+        if (input < 6) {
+            return INPUT_PATTERNS[input];
+        }
+        return ((block >>> (input - 6)) & 1) != 0 ? -1L : 0L;
+    }
+
+    /**
+     * Valor da saida informada no ultimo bloco avaliado
+     */
+    public long getOutputBlock(int output) {
+        return workspace[outputPosition[output]] & validMask;
+    }
+
+    /**
+     * Calcula a tabela verdade de todas as saidas em arrays ja alocados
+     * (tables[saida] com getBlockCount() longs cada)
+     */
+    public void computeOutputTables(long[][] tables) {
+        for (int block = 0; block < blockCount; block++) {
+            evaluateBlock(block);
+            for (int o = 0; o < outputPosition.length; o++) {
+                tables[o][block] = getOutputBlock(o);
+            }
+        }
+    }
+
+    /**
+     * Calcula a tabela verdade de todas as saidas
+     * @return tables[saida][bloco], use getBit() para ler uma combinacao
+     */
+    public long[][] computeOutputTables() {
+        long[][] tables = new long[outputPosition.length][blockCount];
+        computeOutputTables(tables);
+        return tables;
+    }
+
+    /**
+     * Le o valor de uma combinacao de entradas em uma tabela verdade
+     */
+    public static boolean getBit(long[] table, int combination) {
+        return (table[combination >>> 6] & (1L << (combination & 63))) != 0;
+    }
+
+    public int getNumInputs() {
+        return numInputs;
+    }
+
+    public int getNumOutputs() {
+        return outputPosition.length;
+    }
+
+    public int getCombinationCount() {
+        return 1 << numInputs;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+}
@@ -3,7 +3,6 @@ package com.badlogic.drop.entities;
 import com.badlogic.drop.entities.gates.LogicGate;
 import com.badlogic.drop.entities.gates.ORGate;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 
@@ -21,7 +20,14 @@ public final class Wire {
     protected float toX, toY;       // coordenadas de destino
 
     // Pontos de controle para renderizar (para criar o caminho do fio)
+    // pathPoints.get(i) e sempre pointStorage[i]: os Vector2 sao reaproveitados a cada recalculo
     protected Array<Vector2> pathPoints;
+    private final Vector2[] pointStorage;
+
+    // maximo de pontos de um caminho (saida, 4 pontos de desvio, entrada, chegada)
+    public static final int MAX_PATH_POINTS = 7;
+    // floats por fio no cache de rotas do circuito: fromX, fromY, toX, toY, numero de pontos, pontos (x, y)
+    public static final int ROUTE_STRIDE = 5 + MAX_PATH_POINTS * 2;
 
     // Comprimento do segmento reto ao sair/entrar nas portas
     // 30 pixels serao usados para ficar "dentro" das portas
@@ -30,12 +36,12 @@ public final class Wire {
     // Espessura da linha do fio
     protected float lineWidth = 5f;
 
-    // Cores para diferentes estados
-    protected Color activeColor;    // cor quando true
-    protected Color inactiveColor;  // cor quando false
-
     protected Array<LogicGate> gates; // referencia para todas as portas do circuito (usado para calcular o caminho)
 
+    // indice espacial do circuito (null fora de um Circuit: o caminho percorre gates)
+    private GateGrid grid;
+    private int gridGatesStart, gridGatesEnd;
+
     /**
      * Construtor de Wire padrao conectando a saída 0 de uma porta à entrada 0 de outra porta
      */
@@ -59,15 +65,15 @@ public final class Wire {
         this.toInputIndex = toInputIndex;
         this.gates = gates;
 
-        // Cores padrão
-        this.inactiveColor = new Color(1f, 1f, 1f, 1f);    // Branco quando inativo
-        this.activeColor = new Color(0x00d4ffff);           // #00d4ffff quando ativo
-
         // Inicializa array de pontos
-        this.pathPoints = new Array<>();
+        this.pathPoints = new Array<>(MAX_PATH_POINTS);
+        this.pointStorage = new Vector2[MAX_PATH_POINTS];
+        for (int i = 0; i < MAX_PATH_POINTS; i++) {
+            pointStorage[i] = new Vector2();
+        }
 
-        // Calcula posições de conexão
-        updateConnectionPoints();
+        // Calcula posições de conexão (o caminho e calculado no Circuit.updateAllPos, com as portas ja posicionadas)
+        computeConnectionPoints();
     }
 
     /**
@@ -75,6 +81,13 @@ public final class Wire {
      * Será chamado para a geração inicial do circuito, mas também pode ser chamado ao mover as portas.
      */
     public void updateConnectionPoints() {
+        computeConnectionPoints();
+
+        // Recalcula o caminho
+        calculatePath(false);
+    }
+
+    private void computeConnectionPoints() {
         // Por enquanto, usa o centro das portas
         // saida: coordenada X no meio da porta de origem (gate.X + width / 2)
         //        coordenada Y baseada da porta de origem - altura (gate.Y + height) - 30 para ficar "dentro"
@@ -85,9 +98,6 @@ public final class Wire {
         //          coordenada Y na base da porta de destino (gate.Y) + 30 para ficar "dentro"
         this.toX = toGate.getX() + (toGate.getWidth() / toGate.getNumInputs()) * (this.toInputIndex + 0.5f); // entrada por baixo (circuito vertical)
         this.toY = toGate.getY() + 30;
-
-        // Recalcula o caminho
-        calculatePath(false);
     }
 
     /**
@@ -131,43 +141,32 @@ public final class Wire {
         float horizontalY = UpperReferenceY - baseDistance - (fromLevelIdx * xFactor) - (levelDiff * levelDiffFactor);
 
         // Ponto inicial (saída da porta de origem)
-        pathPoints.add(new Vector2(fromX, fromY));
+        addPoint(fromX, fromY);
         //pathPoints.add(new Vector2(fromX, fromY + seglen * 0.7f));
         if(debug) Gdx.app.log("Wire.calculatePath", "ponto 1: (" + fromX + ", " + fromY + ")");
 
 
         // verifica a posicao do elemento imediato superior para caso abaixo
-        Array<LogicGate> superiorGates = new Array<>();
         LogicGate lowerGate = (toGate.getY() < fromGate.getY()) ? toGate : fromGate;        // gate inferior
         LogicGate upperGate = (toGate.getY() < fromGate.getY()) ? fromGate : toGate;        // gate superior
         float lowerX = lowerGate.getX() + lowerGate.getWidth() / 2;
-        Gdx.app.log("Wire.calculatePath", "Analisando gates superiores entre " + lowerGate.getLabel() + " e " + upperGate.getLabel());
-        for (LogicGate gate : gates) {
-
-            // analisa apenas gates entre os dois
-            if (gate.getLevel() > ((fromLevel < toLevel) ? fromLevel : toLevel) && gate.getLevel() < ((fromLevel > toLevel) ? fromLevel : toLevel)) {
-                float Xposgate = gate.getX() + gate.getWidth() / 2;
-
-                // intervalo para evitar: [ Xposgate - gate.getWidth()/2 - 20 .......... Xposgate + gate.getWidth()/2 + 20 ] margem de 20px
-                if ((lowerX < Xposgate + gate.getWidth()/2 + 10) && (lowerX > Xposgate - gate.getWidth()/2 - 10)) {
-                    // gate esta no caminho
-                    Gdx.app.log("Wire.calculatePath", " - gate superior no caminho: " + gate.getLabel());
-                    superiorGates.add(gate);
-                    continue;
-                }
-            } else continue;
-        }
+        if(debug) Gdx.app.log("Wire.calculatePath", "Analisando gates superiores entre " + lowerGate.getLabel() + " e " + upperGate.getLabel());
+        int minLevel = (fromLevel < toLevel) ? fromLevel : toLevel;
+        int maxLevel = (fromLevel > toLevel) ? fromLevel : toLevel;
+        boolean superiorGateInPath = (grid != null)
+            ? superiorGateInPath(lowerX, minLevel, maxLevel, debug)
+            : superiorGateInPathScan(lowerX, minLevel, maxLevel, debug);
 
 
 
         // caso haja gates imediatamente superiores no caminho, calcula desvio
-        if (levelDiff > 1 && superiorGates.size > 0) {
+        if (levelDiff > 1 && superiorGateInPath) {
 
             // calcula ponto de dobra vertical mais cedo
             float iniY = fromY + seglen * 0.7f;//S + (baseDistance * 0.5f);
 
             // adiciona ponto vertical curto
-            pathPoints.add(new Vector2(fromX, iniY));
+            addPoint(fromX, iniY);
             if(debug) Gdx.app.log("Wire.calculatePath", "ponto 2 (dobra cedo): (" + fromX + ", " + iniY + ")");
 
             // analisa as gates superiores no caminho para definir o segmento horizontal
@@ -192,17 +191,22 @@ public final class Wire {
             // fingir que estaria ligando em uma porta diretamente acima (para imitar altura de quebra)
             // altura sera definida na gambiarra ja que nao temos acesso ao circuito como um todo
             LogicGate fakeUpperGate = null;
-            for (LogicGate gate : gates){
-                if (gate.getLevel() == fromGate.getLevel() + 1){
-                    fakeUpperGate = gate;
-                    Gdx.app.log("Wire.calculatePath", " gate achado para usar altura: " + gate.getLabel());
-                    break;
+            if (grid != null) {
+                int first = grid.firstAtLevel(fromGate.getLevel() + 1, gridGatesStart, gridGatesEnd);
+                if (first >= 0) fakeUpperGate = grid.getGate(first);
+            } else {
+                for (LogicGate gate : gates){
+                    if (gate.getLevel() == fromGate.getLevel() + 1){
+                        fakeUpperGate = gate;
+                        break;
+                    }
                 }
             }
+            if(debug && fakeUpperGate != null) Gdx.app.log("Wire.calculatePath", " gate achado para usar altura: " + fakeUpperGate.getLabel());
             if (fakeUpperGate == null){
                 // se nao achar, usar a porta superior direta
                 fakeUpperGate = upperGate;
-                Gdx.app.log("Wire.calculatePath", " nenhum gate de nivel 0 achado, usando o superior direto: " + fakeUpperGate.getLabel());
+                if(debug) Gdx.app.log("Wire.calculatePath", " nenhum gate de nivel 0 achado, usando o superior direto: " + fakeUpperGate.getLabel());
             }
             UpperReferenceY = fakeUpperGate.getY();
             horizontalY = UpperReferenceY - baseDistance - (fromLevelIdx * xFactor) - (1 * levelDiffFactor);
@@ -215,52 +219,149 @@ public final class Wire {
 
 
             //float iniX = toX;
-            pathPoints.add(new Vector2(iniX, iniY));
+            addPoint(iniX, iniY);
             if(debug) Gdx.app.log("Wire.calculatePath", "ponto 3 (horizontal intermed): (" + iniX + ", " + iniY + ")");
 
             // desce até a altura do fio horizontal principal
-            pathPoints.add(new Vector2(iniX, horizontalY));
+            addPoint(iniX, horizontalY);
             if(debug) Gdx.app.log("Wire.calculatePath", "ponto 4 (desce): (" + iniX + ", " + horizontalY + ")");
 
             // segue horizontalmente até o X de destino
-            pathPoints.add(new Vector2(toX, horizontalY));
+            addPoint(toX, horizontalY);
             if(debug) Gdx.app.log("Wire.calculatePath", "ponto 5 (horizontal final): (" + toX + ", " + horizontalY + ")");
         }
         // padrao
         else {
 
-            pathPoints.add(new Vector2(fromX, horizontalY));
+            addPoint(fromX, horizontalY);
             if(debug) Gdx.app.log("Wire.calculatePath", "ponto 2: (" + fromX + ", " + horizontalY + ")");
 
-            pathPoints.add(new Vector2(toX, horizontalY));
+            addPoint(toX, horizontalY);
             if(debug) Gdx.app.log("Wire.calculatePath", "ponto 3: (" + toX + ", " + horizontalY + ")");
         }
 
         float entryY = /*(horizontalY < toY) ?*/ Math.max(horizontalY, toY - seglen); // : Math.min(horizontalY, toY + seglen);
-        pathPoints.add(new Vector2(toX, entryY));
+        addPoint(toX, entryY);
         if(debug) Gdx.app.log("Wire.calculatePath", "ponto N-1 (entrada): (" + toX + ", " + entryY + ")");
 
 
         // ponto final (entrada da porta de destino)
-        pathPoints.add(new Vector2(toX, toY));
+        addPoint(toX, toY);
         // workaround para evitar pequenos segmentos que bugam o render
         // segmentos com comprimento muito pequeno serao apagados
-        for (int i = 0; i < pathPoints.size - 1; ) {
-            Vector2 p1 = pathPoints.get(i);
-            Vector2 p2 = pathPoints.get(i + 1);
-            float dx = p2.x - p1.x;
-            float dy = p2.y - p1.y;
+        // (compacta no lugar para manter pathPoints.get(i) == pointStorage[i])
+        int kept = 1;
+        for (int i = 1; i < pathPoints.size; i++) {
+            Vector2 last = pathPoints.get(kept - 1);
+            Vector2 next = pathPoints.get(i);
+            float dx = next.x - last.x;
+            float dy = next.y - last.y;
             float length = (float) Math.sqrt(dx * dx + dy * dy);
-            if (length < lineWidth) {
-                pathPoints.removeIndex(i + 1); // remove o ponto seguinte
-            } else {
-                i++; // tamanho razoavel
+            if (length >= lineWidth) {
+                pathPoints.get(kept).set(next); // tamanho razoavel
+                kept++;
             }
         }
+        pathPoints.truncate(kept);
         if(debug) Gdx.app.log("Wire.calculatePath", "ponto final: (" + toX + ", " + toY + ")");
         if(debug) Gdx.app.log("Wire.calculatePath", "==============================");
     }
 
+    // gate entre os niveis dos dois extremos cujo intervalo X (com margem de 10px) contem lowerX
+    private static boolean inPath(LogicGate gate, float lowerX, int minLevel, int maxLevel) {
+        if (gate.getLevel() <= minLevel || gate.getLevel() >= maxLevel) return false;
+        float Xposgate = gate.getX() + gate.getWidth() / 2;
+        // intervalo para evitar: [ Xposgate - gate.getWidth()/2 - 10 .......... Xposgate + gate.getWidth()/2 + 10 ]
+        return (lowerX < Xposgate + gate.getWidth()/2 + 10) && (lowerX > Xposgate - gate.getWidth()/2 - 10);
+    }
+
+    // consulta no indice espacial: so as celulas da faixa X de lowerX nas alturas dos niveis intermediarios
+    private boolean superiorGateInPath(float lowerX, int minLevel, int maxLevel, boolean debug) {
+        if (maxLevel - minLevel < 2 || grid.isEmpty()) return false; // nenhum nivel entre os dois
+        float minY = grid.levelsMinY(minLevel + 1, maxLevel - 1);
+        float maxY = grid.levelsMaxY(minLevel + 1, maxLevel - 1);
+        if (maxY < minY) return false;
+        // margem de 11px (1px alem do teste exato, para nao perder portas por arredondamento)
+        int c0 = grid.col(lowerX - 11), c1 = grid.col(lowerX + 11);
+        int r0 = grid.row(minY), r1 = grid.row(maxY);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int k = grid.cellStart(c, r), end = grid.cellEnd(c, r); k < end; k++) {
+                    int index = grid.cellItem(k);
+                    if (index < gridGatesStart || index >= gridGatesEnd) continue; // inputs e outputs nao contam
+                    LogicGate gate = grid.getGate(index);
+                    if (inPath(gate, lowerX, minLevel, maxLevel)) {
+                        if(debug) Gdx.app.log("Wire.calculatePath", " - gate superior no caminho: " + gate.getLabel());
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // sem indice (fio fora de um Circuit): percorre todas as portas
+    private boolean superiorGateInPathScan(float lowerX, int minLevel, int maxLevel, boolean debug) {
+        for (LogicGate gate : gates) {
+            if (inPath(gate, lowerX, minLevel, maxLevel)) {
+                if(debug) Gdx.app.log("Wire.calculatePath", " - gate superior no caminho: " + gate.getLabel());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Liga o fio ao indice espacial do circuito. As portas informadas (que passam a ser
+     * this.gates) ficam em [gatesStart, gatesEnd) nos indices do indice (allGates).
+     */
+    void setGateGrid(GateGrid grid, Array<LogicGate> gates, int gatesStart, int gatesEnd) {
+        this.grid = grid;
+        this.gates = gates;
+        this.gridGatesStart = gatesStart;
+        this.gridGatesEnd = gatesEnd;
+    }
+
+    // adiciona um ponto ao caminho reaproveitando o Vector2 da posicao
+    private void addPoint(float x, float y) {
+        pathPoints.add(pointStorage[pathPoints.size].set(x, y));
+    }
+
+    /**
+     * Copia os pontos de conexao e o caminho atual para o cache de rotas
+     * (ROUTE_STRIDE floats a partir de offset)
+     */
+    void writeRoute(float[] routes, int offset) {
+        routes[offset] = fromX;
+        routes[offset + 1] = fromY;
+        routes[offset + 2] = toX;
+        routes[offset + 3] = toY;
+        routes[offset + 4] = pathPoints.size;
+        int p = offset + 5;
+        for (int i = 0; i < pathPoints.size; i++) {
+            Vector2 point = pathPoints.get(i);
+            routes[p++] = point.x;
+            routes[p++] = point.y;
+        }
+    }
+
+    /**
+     * Restaura os pontos de conexao e o caminho a partir do cache de rotas, sem recalcular
+     */
+    void readRoute(float[] routes, int offset) {
+        fromX = routes[offset];
+        fromY = routes[offset + 1];
+        toX = routes[offset + 2];
+        toY = routes[offset + 3];
+        int count = (int) routes[offset + 4];
+        pathPoints.clear();
+        int p = offset + 5;
+        for (int i = 0; i < count; i++) {
+            addPoint(routes[p], routes[p + 1]);
+            p += 2;
+        }
+    }
+
     /**
      * Atualiza o estado do fio baseado na saída da porta de origem
      */
@@ -312,33 +413,12 @@ public final class Wire {
         return seglen;
     }
 
-    public void setSeglen(float length) {
+    // muda a rota sem passar pelo Circuit: o layout em cache (e o layoutVersion lido pelo
+    // WireRenderer) so fica certo se quem chamar usar Circuit.invalidateLayout() em seguida
+    void setSeglen(float length) {
         this.seglen = length;
         calculatePath(false); // Recalcula quando muda
     }
-
-    /**
-     * Retorna a cor atual baseada no estado do fio
-     */
-    public Color getCurrentColor() {
-        return state ? activeColor : inactiveColor;
-    }
-
-    public Color getActiveColor() {
-        return activeColor;
-    }
-
-    public void setActiveColor(Color color) {
-        this.activeColor = color;
-    }
-
-    public Color getInactiveColor() {
-        return inactiveColor;
-    }
-
-    public void setInactiveColor(Color color) {
-        this.inactiveColor = color;
-    }
 }
 
 
@@ -1,5 +1,4 @@
 package com.badlogic.drop.entities.gates;
-import com.badlogic.gdx.graphics.Texture;
 
 // porta lógica AND  - A saída é verdadeira somente se todas as entradas forem verdadeiras
 // suporta mais do que duas entradas
@@ -10,12 +9,9 @@ public class ANDGate extends LogicGate {
     public ANDGate(String label, float scale) {
         super(label, 2, scale); // default 2
         this.gateType = "AND";
-        this.setTextureOff(new Texture("gates/AND_off.png"));
-        this.setTextureOn(new Texture("gates/AND_on.png"));
         // Tamanho do icone PNG
         this.width = 131f;
         this.height = 154f;
-        this.setTexture(this.textureOff);
     }
 
     // constroi a porta com número customizado de entradas
@@ -25,22 +21,17 @@ public class ANDGate extends LogicGate {
 
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/AND_off.png"));
-        this.setTextureOn(new Texture("gates/AND_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     @Override
     public void compute() {
-        // retorna verdadeiro se nenhuma entrada for falsa e atualiza textura
+        // retorna verdadeiro se nenhuma entrada for falsa
         for (boolean input : inputs) {
             if (!input) {
                 this.output = false;
-                this.setTexture(this.textureOff);
                 return;
             }
         }
-        this.setTexture(this.textureOn);
         this.output = true;
     }
 }
@@ -1,7 +1,5 @@
 package com.badlogic.drop.entities.gates;
 
-import com.badlogic.gdx.graphics.Texture;
-
 /**
  * Representa um nó de entrada do circuito (fonte de sinal).
  * Herda de LogicGate para facilitar o gerenciamento de conexões.
@@ -23,9 +21,6 @@ public class InputBits extends LogicGate {
         // Tamanho do icone PNG
         this.width = 108f;
         this.height = 108f;
-        this.setTextureOff(new Texture("textures/bits/in_off.png"));
-        this.setTextureOn(new Texture("textures/bits/in_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     /**
@@ -37,13 +32,6 @@ public class InputBits extends LogicGate {
         this.gateType = "INPUT";
         this.width = 108f;
         this.height = 108f;
-        this.setTextureOff(new Texture("textures/bits/in_off.png"));
-        this.setTextureOn(new Texture("textures/bits/in_on.png"));
-        if (initialValue) {
-            this.setTexture(this.textureOn);
-        } else {
-            this.setTexture(this.textureOff);
-        }
     }
 
     /**
@@ -52,11 +40,6 @@ public class InputBits extends LogicGate {
     @Override
     public void compute() {
         this.output = value;
-        if (value) {
-            this.setTexture(this.textureOn);
-        } else {
-            this.setTexture(this.textureOff);
-        }
     }
 
     /**
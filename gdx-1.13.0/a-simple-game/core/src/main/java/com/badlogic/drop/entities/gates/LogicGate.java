@@ -1,16 +1,13 @@
 package com.badlogic.drop.entities.gates;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 
 // superclasse abstrata para todas as portas logicas
+// Apenas logica e layout: nao depende de contexto grafico. Os sprites ficam na view
+// (ui.GateRenderer), que escolhe o sprite pelo tipo e pela saida da porta.
 public abstract class LogicGate {
 
-    // Display
-    protected Texture textureOn;
-    protected Texture textureOff;
-    protected Texture texture;
+    // Layout (posicao e tamanho do icone na tela, usados pelo roteamento dos fios e pela view)
     protected Vector2 position;
     protected float width;
     protected float height;
@@ -122,26 +119,6 @@ public abstract class LogicGate {
     }
 
     // Getters e Setters
-    public Texture getTextureOn() {
-        return textureOn;
-    }
-
-    public Texture getTextureOff() {
-        return textureOff;
-    }
-
-    public void setTextureOn(Texture texture) {
-        this.textureOn = texture;
-    }
-
-    public void setTextureOff(Texture texture) {
-        this.textureOff = texture;
-    }
-
-    public void setTexture(Texture texture) {
-        this.texture = texture;
-    }
-
     public Vector2 getPosition() {
         return position;
     }
@@ -200,6 +177,12 @@ public abstract class LogicGate {
         return output;
     }
 
+    // Saida calculada pelo Circuit, que avalia as portas sobre arrays primitivos
+    // e repassa o resultado para os fios e para a view
+    public void setOutput(boolean output) {
+        this.output = output;
+    }
+
     public int getNumInputs() {
         return numInputs;
     }
@@ -227,25 +210,4 @@ public abstract class LogicGate {
     public String getLabel() {
         return label;
     }
-
-
-    // Renderiza a porta logica na tela baseado no valor
-    // - batch: SpriteBatch usado para desenhar a textura
-    public void render(SpriteBatch batch) {
-        if (texture != null) {
-            batch.draw(texture, position.x, position.y, this.getWidth(), this.getHeight());
-        }
-    }
-
-    public void dispose() {
-        if (textureOn != null) {
-            textureOn.dispose();
-        }
-        if (textureOff != null) {
-            textureOff.dispose();
-        }
-        if (texture != null) {
-            texture.dispose();
-        }
-    }
 }
@@ -1,5 +1,4 @@
 package com.badlogic.drop.entities.gates;
-import com.badlogic.gdx.graphics.Texture;
 
 // porta NAND - a saida é falsa somente se todas as entradas forem verdadeiras, e verdadeiro caso contrário (NOT AND)
 // pode ser construida com mais de duas entradas
@@ -14,9 +13,6 @@ public class NANDGate extends LogicGate {
         // Tamanho do icone PNG
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/NAND_off.png"));
-        this.setTextureOn(new Texture("gates/NAND_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     // construtor para porta NAND com varias portas
@@ -25,9 +21,6 @@ public class NANDGate extends LogicGate {
         this.gateType = "NAND";
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/NAND_off.png"));
-        this.setTextureOn(new Texture("gates/NAND_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     @Override
@@ -36,11 +29,9 @@ public class NANDGate extends LogicGate {
         for (boolean input : inputs) {
             if (!input) {
                 this.output = true;
-                this.setTexture(this.textureOn);
                 return;
             }
         }
-        this.setTexture(this.textureOff);
         this.output = false;
     }
 }
@@ -1,5 +1,4 @@
 package com.badlogic.drop.entities.gates;
-import com.badlogic.gdx.graphics.Texture;
 
 // porta NOR - a saida é verdadeira somente se todas as entradas forem falsas (NOT OR)
 // pode ser construida com mais de duas entradas
@@ -14,9 +13,6 @@ public class NORGate extends LogicGate {
         // Tamanho do icone PNG
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/NOR_off.png"));
-        this.setTextureOn(new Texture("gates/NOR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     // construtor para porta NOR com varias entradas
@@ -25,9 +21,6 @@ public class NORGate extends LogicGate {
         this.gateType = "NOR";
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/NOR_off.png"));
-        this.setTextureOn(new Texture("gates/NOR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     @Override
@@ -36,11 +29,9 @@ public class NORGate extends LogicGate {
         for (boolean input : inputs) {
             if (input) {
                 this.output = false;
-                this.setTexture(this.textureOff);
                 return;
             }
         }
-        this.setTexture(this.textureOn);
         this.output = true;
     }
 }
@@ -1,5 +1,4 @@
 package com.badlogic.drop.entities.gates;
-import com.badlogic.gdx.graphics.Texture;
 
 // porta NOT - a saida é o inverso da entrada
 
@@ -12,19 +11,11 @@ public class NOTGate extends LogicGate {
         // Tamanho do icone PNG
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/NOT_off.png"));
-        this.setTextureOn(new Texture("gates/NOT_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     @Override
     public void compute() {
         // Retorna o inverso da unica entrada
         this.output = !inputs[0];
-        if (this.output) {
-            this.setTexture(this.textureOn);
-        } else {
-            this.setTexture(this.textureOff);
-        }
     }
 }
@@ -1,5 +1,4 @@
 package com.badlogic.drop.entities.gates;
-import com.badlogic.gdx.graphics.Texture;
 
 //porta OR - retorna verdadeiro quando qualquer uma das entradas for verdadeira
 // pode ser construida com mais de duas entradas
@@ -13,9 +12,6 @@ public class ORGate extends LogicGate {
         // Tamanho do icone PNG
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/OR_off.png"));
-        this.setTextureOn(new Texture("gates/OR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     // construtor para porta OR com varias entradas
@@ -24,9 +20,6 @@ public class ORGate extends LogicGate {
         this.gateType = "OR";
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/OR_off.png"));
-        this.setTextureOn(new Texture("gates/OR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     @Override
@@ -35,11 +28,9 @@ public class ORGate extends LogicGate {
         for (boolean input : inputs) {
             if (input) {
                 this.output = true;
-                this.setTexture(this.textureOn);
                 return;
             }
         }
-        this.setTexture(this.textureOff);
         this.output = false;
     }
 }
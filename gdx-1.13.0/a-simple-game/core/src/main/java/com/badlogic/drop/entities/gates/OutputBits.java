@@ -1,7 +1,5 @@
 package com.badlogic.drop.entities.gates;
 
-import com.badlogic.gdx.graphics.Texture;
-
 /**
  * Representa um nó de saída do circuito (terminal de leitura).
  * Herda de LogicGate para facilitar o gerenciamento de conexões.
@@ -18,9 +16,6 @@ public class OutputBits extends LogicGate {
         // Tamanho do icone PNG
         this.width = 83f;
         this.height = 83f;
-        this.setTextureOff(new Texture("textures/bits/out_off.png"));
-        this.setTextureOn(new Texture("textures/bits/out_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     /**
@@ -30,11 +25,6 @@ public class OutputBits extends LogicGate {
     public void compute() {
         // Propaga o primeiro (e único) input para o output
         this.output = inputs.length > 0 ? inputs[0] : false;
-        if (this.output) {
-            this.setTexture(this.textureOn);
-        } else {
-            this.setTexture(this.textureOff);
-        }
     }
 
     /**
@@ -1,5 +1,4 @@
 package com.badlogic.drop.entities.gates;
-import com.badlogic.gdx.graphics.Texture;
 
 // porta XNOR - saida verdadeira se as entradas forem iguais (2 entradas)
 // saida verdadeira se o numero de entradas verdadeiras for par (varias entradas)
@@ -13,9 +12,6 @@ public class XNORGate extends LogicGate {
         // Tamanho do icone PNG
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/XNOR_off.png"));
-        this.setTextureOn(new Texture("gates/XNOR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     // construtor para porta XNOR com varias entradas
@@ -24,9 +20,6 @@ public class XNORGate extends LogicGate {
         this.gateType = "XNOR";
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/XNOR_off.png"));
-        this.setTextureOn(new Texture("gates/XNOR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     @Override
@@ -39,10 +32,5 @@ public class XNORGate extends LogicGate {
             }
         }
         this.output = trueCount % 2 == 0;
-        if(this.output) {
-            this.setTexture(this.textureOn);
-        } else {
-            this.setTexture(this.textureOff);
-        }
     }
 }
@@ -1,5 +1,4 @@
 package com.badlogic.drop.entities.gates;
-import com.badlogic.gdx.graphics.Texture;
 
 // porta XOR - retorna verdadeiro se as entradas tiverem valores distintos (2 entradas)
 // retorna verdadeiro se o numero de entradas verdadeiras for impar (varias entradas)
@@ -13,9 +12,6 @@ public class XORGate extends LogicGate {
         // Tamanho do icone PNG
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/XOR_off.png"));
-        this.setTextureOn(new Texture("gates/XOR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     // construtor para porta XOR com varias entradas
@@ -24,9 +20,6 @@ public class XORGate extends LogicGate {
         this.gateType = "XOR";
         this.width = 131f;
         this.height = 154f;
-        this.setTextureOff(new Texture("gates/XOR_off.png"));
-        this.setTextureOn(new Texture("gates/XOR_on.png"));
-        this.setTexture(this.textureOff);
     }
 
     @Override
@@ -39,10 +32,5 @@ public class XORGate extends LogicGate {
             }
         }
         this.output = trueCount % 2 == 1;
-        if(this.output) {
-            this.setTexture(this.textureOn);
-        } else {
-            this.setTexture(this.textureOff);
-        }
     }
 }
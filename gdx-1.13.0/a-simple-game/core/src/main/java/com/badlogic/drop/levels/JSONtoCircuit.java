@@ -5,125 +5,191 @@ import com.badlogic.drop.entities.CircuitBuilder;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
 
 public class JSONtoCircuit {
     /*
-     * Retorna um Objeto Circuit a partir de um arquivo Json
+     * Retorna os niveis de um arquivo Json com os circuitos ja construidos
      */
     public Array<Level> convert(FileHandle file, boolean debug) {
         // array de niveis
         Array<Level> levelArr = new Array<>();
-        //leitura do arquivo JSON
-        //futuramente podemos fazert ele dar um fetch no repositorio online depois de upado para o itch.io
-        String jsonStr = file.readString("UTF-8");
-        JsonReader jsonReader = new JsonReader();
-        JsonValue root = jsonReader.parse(jsonStr);
-        JsonValue levels = root.get("levels");
-        Gdx.app.log("JSONtoCircuit.convert", "Niveis encontrados: " + levels.size);
-
-        for (JsonValue level : levels){
-            // novo circuito
-            CircuitBuilder cir = new CircuitBuilder();
-            int id = level.getInt("id");
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Circuito nivel: " + id);
-
-            JsonValue inputsJson = level.get("inputs");
-            for (JsonValue inputJson : inputsJson){
-                String label = inputJson.getString("label");
-                //boolean value = inputJson.getBoolean("value");
-                //Gdx.app.log("JSONtoCircuit.convert", "Adicionando input: " + label + " com valor " + false);
-                cir.addInput(label, false);
+        // um nivel por vez: a descricao de cada nivel so vive ate o circuito ser construido
+        LevelReader reader = new LevelReader(file.read());
+        try {
+            LevelDescriptor descriptor;
+            while ((descriptor = reader.next()) != null) {
+                Level newLevel = createLevel(descriptor);
+                newLevel.setCircuit(build(descriptor, debug));
+                levelArr.add(newLevel);
+                if(debug) Gdx.app.log("JSONtoCircuit.convert", "Circuito do nivel " + descriptor.getId() + " adicionado à lista.");
             }
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Inputs adicionados: " + inputsJson.size);
+        } finally {
+            reader.close();
+        }
+        return levelArr;
+    }
 
-            JsonValue outputsJson = level.get("outputs");
-            for (JsonValue outputJson : outputsJson){
-                String label = outputJson.getString("label");
-                cir.addOutput(label);
+    /*
+     * Le apenas as descricoes dos niveis (labels e conexoes), sem construir circuitos.
+     * O arquivo e lido em streaming pelo LevelReader (sem carregar o JSON inteiro na memoria)
+     */
+    public Array<LevelDescriptor> parse(FileHandle file, boolean debug) {
+        Array<LevelDescriptor> descriptors = new Array<>();
+        //futuramente podemos fazert ele dar um fetch no repositorio online depois de upado para o itch.io
+        LevelReader reader = new LevelReader(file.read());
+        try {
+            LevelDescriptor descriptor;
+            while ((descriptor = reader.next()) != null) {
+                descriptors.add(descriptor);
             }
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Outputs adicionados: " + outputsJson.size);
-
-            JsonValue gatesJson = level.get("gates");
-            for (JsonValue gateJson : gatesJson){
-                String type = gateJson.getString("type");
-                String label = gateJson.getString("label");
-                switch (type) {
-                    case "AND":
-                        cir.addAND(label);
-                        break;
-                    case "OR":
-                        cir.addOR(label);
-                        break;
-                    case "NOT":
-                        cir.addNOT(label);
-                        break;
-                    case "NAND":
-                        cir.addNAND(label);
-                        break;
-                    case "NOR":
-                        cir.addNOR(label);
-                        break;
-                    case "XOR":
-                        cir.addXOR(label);
-                        break;
-                    case "XNOR":
-                        cir.addXNOR(label);
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Tipo de porta desconhecido: " + type);
-                }
+        } finally {
+            reader.close();
+        }
+        if(debug) Gdx.app.log("JSONtoCircuit.parse", "Niveis encontrados: " + descriptors.size);
+        return descriptors;
+    }
+
+    /*
+     * Converte um nivel ja lido como JsonValue para a sua descricao
+     * (os arquivos de niveis sao lidos pelo LevelReader; mantido para quem ja tem a arvore Json)
+     */
+    public LevelDescriptor parseLevel(JsonValue level) {
+        LevelDescriptor descriptor = new LevelDescriptor(level.getInt("id"));
+
+        for (JsonValue inputJson : level.get("inputs")){
+            descriptor.getInputs().add(inputJson.getString("label"));
+        }
 
-                JsonValue inputsObj = gateJson.get("inputs");
-                if (inputsObj != null) {
-                    for (JsonValue inputEntry : inputsObj) {
-                        String indexName = inputEntry.name();
-                        int inputIndex = Integer.parseInt(indexName);
-                        String inputLabel = inputEntry.asString();
-                        cir.connect(inputLabel, label, inputIndex);
-                    }
+        for (JsonValue gateJson : level.get("gates")){
+            LevelDescriptor.GateDescriptor gate = new LevelDescriptor.GateDescriptor(
+                gateJson.getString("type"), gateJson.getString("label"));
+            JsonValue inputsObj = gateJson.get("inputs");
+            if (inputsObj != null) {
+                for (JsonValue inputEntry : inputsObj) {
+                    gate.addInput(Integer.parseInt(inputEntry.name()), inputEntry.asString());
                 }
             }
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Gates adicionadas: " + gatesJson.size);
+            descriptor.getGates().add(gate);
+        }
 
-            for (JsonValue outs : outputsJson){
-                String inputLabel = outs.getString("input");
-                String outputLabel = outs.getString("label");
-                cir.addOutput(outputLabel, inputLabel);
+        for (JsonValue outputJson : level.get("outputs")){
+            descriptor.getOutputs().add(new LevelDescriptor.OutputDescriptor(
+                outputJson.getString("label"), outputJson.getString("input")));
+        }
+
+        JsonValue solutionJson = level.get("solution");
+        if (solutionJson != null) {
+            for (JsonValue outputValue : solutionJson){
+                descriptor.getSolution().put(outputValue.name(), outputValue.asBoolean());
             }
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Outputs conectados: " + outputsJson.size);
+        }
 
-            Circuit levelCir = cir.build(debug);
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Circuito do nivel " + id + " construido.");
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Numero de outputs esperados no circuito: " + levelCir.getExpectedOutput().size);
+        descriptor.setMinMoves(level.getInt("minMoves", 1)); // Padrão 1 se não especificado
+        // niveis sequenciais (opcionais): "sequential": true e/ou "clock": "<label do input>"
+        descriptor.setSequential(level.getBoolean("sequential", false));
+        descriptor.setClock(level.getString("clock", null));
+        return descriptor;
+    }
 
-            // Carrega a solucao esperada (refatorar)
-            JsonValue solutionJson = level.get("solution");
-            for (JsonValue outputValue : solutionJson){
-                String outputLabel = outputValue.name();
-                if(debug) Gdx.app.log("JSONtoCircuit.convert", "Processando saida esperada: " + outputLabel);
-                boolean value = outputValue.asBoolean();
-                if(debug) Gdx.app.log("JSONtoCircuit.convert", "Definindo saida esperada: " + outputLabel + " = " + value);
-                levelCir.setExpectedOutput(outputLabel, value);
-                if(debug) Gdx.app.log("JSONtoCircuit.convert", "Saida esperada definida: " + outputLabel + " = " + value);
+    /*
+     * Cria o nivel (sem circuito) a partir da descricao
+     */
+    public Level createLevel(LevelDescriptor descriptor) {
+        Level newLevel = new Level(descriptor);
+        newLevel.setMinMoves(descriptor.getMinMoves());
+
+        // Inicializa todos os niveis como bloqueados (exceto o primeiro)
+        newLevel.setUnlocked(descriptor.getId() == 0); // Apenas o primeiro nível começa desbloqueado
+        newLevel.setCompleted(false);
+        newLevel.setStars(0);
+        return newLevel;
+    }
+
+    /*
+     * Constroi o circuito de um nivel (portas, texturas, fios e saidas esperadas)
+     */
+    public Circuit build(LevelDescriptor descriptor, boolean debug) {
+        // novo circuito
+        CircuitBuilder cir = new CircuitBuilder();
+        int id = descriptor.getId();
+        if(debug) Gdx.app.log("JSONtoCircuit.build", "Circuito nivel: " + id);
+
+        for (String label : descriptor.getInputs()){
+            cir.addInput(label, false);
+        }
+        if(debug) Gdx.app.log("JSONtoCircuit.build", "Inputs adicionados: " + descriptor.getInputs().size);
+
+        for (LevelDescriptor.OutputDescriptor output : descriptor.getOutputs()){
+            cir.addOutput(output.getLabel());
+        }
+        if(debug) Gdx.app.log("JSONtoCircuit.build", "Outputs adicionados: " + descriptor.getOutputs().size);
+
+        if (descriptor.getClock() != null) {
+            cir.setClock(descriptor.getClock());
+        } else if (descriptor.isSequential()) {
+            cir.setSequential(true);
+        }
+
+        for (LevelDescriptor.GateDescriptor gate : descriptor.getGates()){
+            String type = gate.getType();
+            String label = gate.getLabel();
+            switch (type) {
+                case "AND":
+                    cir.addAND(label);
+                    break;
+                case "OR":
+                    cir.addOR(label);
+                    break;
+                case "NOT":
+                    cir.addNOT(label);
+                    break;
+                case "NAND":
+                    cir.addNAND(label);
+                    break;
+                case "NOR":
+                    cir.addNOR(label);
+                    break;
+                case "XOR":
+                    cir.addXOR(label);
+                    break;
+                case "XNOR":
+                    cir.addXNOR(label);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Tipo de porta desconhecido: " + type);
+            }
+        }
+
+        // conexoes depois de todas as portas existirem (lacos referenciam portas declaradas depois)
+        for (LevelDescriptor.GateDescriptor gate : descriptor.getGates()){
+            for (int i = 0; i < gate.getInputCount(); i++) {
+                cir.connect(gate.getInputSource(i), gate.getLabel(), gate.getInputIndex(i));
             }
+        }
+        if(debug) Gdx.app.log("JSONtoCircuit.build", "Gates adicionadas: " + descriptor.getGates().size);
 
-            // Cria o nivel e define minMoves se especificado no JSON
-            Level newLevel = new Level(id, levelCir);
-            int minMoves = level.getInt("minMoves", 1); // Padrão 1 se não especificado
-            newLevel.setMinMoves(minMoves);
+        for (LevelDescriptor.OutputDescriptor output : descriptor.getOutputs()){
+            cir.addOutput(output.getLabel(), output.getInput());
+        }
+        if(debug) Gdx.app.log("JSONtoCircuit.build", "Outputs conectados: " + descriptor.getOutputs().size);
 
-            // Inicializa todos os niveis como bloqueados (exceto o primeiro)
-            newLevel.setUnlocked(id == 0); // Apenas o primeiro nível começa desbloqueado
-            newLevel.setCompleted(false);
-            newLevel.setStars(0);
+        Circuit levelCir = cir.build(debug);
+        if(debug) Gdx.app.log("JSONtoCircuit.build", "Circuito do nivel " + id + " construido.");
+        if(debug) Gdx.app.log("JSONtoCircuit.build", "Numero de outputs esperados no circuito: " + levelCir.getOutputCount());
 
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "minMoves do nivel " + id + ": " + minMoves);
+        // Carrega a solucao esperada
+        for (ObjectMap.Entry<String, Boolean> expected : descriptor.getSolution()){
+            if(debug) Gdx.app.log("JSONtoCircuit.build", "Definindo saida esperada: " + expected.key + " = " + expected.value);
+            levelCir.setExpectedOutput(expected.key, expected.value);
+        }
 
-            levelArr.add(newLevel);
-            if(debug) Gdx.app.log("JSONtoCircuit.convert", "Circuito do nivel " + id + " adicionado à lista.");
+        // layout pre-calculado no levels.bin: o updateAllPos nesse tamanho nao calcula nada
+        if (descriptor.getLayout() != null
+            && !levelCir.applyLayout(descriptor.getLayoutWidth(), descriptor.getLayoutHeight(), descriptor.getLayout())) {
+            Gdx.app.error("JSONtoCircuit.build", "Layout do nivel " + id + " nao corresponde ao circuito, ignorado");
         }
-        return levelArr;
+        return levelCir;
     }
 }
@@ -4,11 +4,12 @@ import com.badlogic.drop.entities.Circuit;
 
 /**
  * Representa um nível do jogo
- * Contém o circuito e a solução esperada
+ * Contém a descrição do nível e o circuito, construído sob demanda pelo LevelManager
  */
 public class Level {
     private final int id;
-    private final Circuit circuit;
+    private final LevelDescriptor descriptor;
+    private Circuit circuit;
     private boolean completed;
     private boolean unlocked;
     private int stars = 0;
@@ -16,17 +17,44 @@ public class Level {
    
     public Level(int id, Circuit circuit) {
         this.id = id;
+        this.descriptor = null;
         this.circuit = circuit;
     }
 
+    public Level(LevelDescriptor descriptor) {
+        this.id = descriptor.getId();
+        this.descriptor = descriptor;
+        this.circuit = null;
+    }
+
     public int getId() {
         return id;
     }
 
+    public LevelDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    // null enquanto o circuito nao foi construido (ver LevelManager.getLevel)
     public Circuit getCircuit() {
         return circuit;
     }
 
+    public void setCircuit(Circuit circuit) {
+        this.circuit = circuit;
+    }
+
+    public boolean isCircuitLoaded() {
+        return circuit != null;
+    }
+
+    /**
+     * Libera o circuito construido; pode ser reconstruido depois a partir da descricao
+     */
+    public void releaseCircuit() {
+        circuit = null;
+    }
+
     public boolean isCompleted() {
         return completed;
     }
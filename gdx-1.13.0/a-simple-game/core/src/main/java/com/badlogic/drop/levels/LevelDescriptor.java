@@ -0,0 +1,198 @@
+package com.badlogic.drop.levels;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.OrderedMap;
+
+/**
+ * Descricao leve de um nivel lida do levels.json (apenas labels e conexoes).
+ * Nao cria portas nem texturas: o Circuit e construido a partir dela sob demanda
+ * por JSONtoCircuit.build().
+ */
+public class LevelDescriptor {
+
+    /**
+     * Porta logica do nivel e as conexoes das suas entradas, na ordem do JSON
+     */
+    public static class GateDescriptor {
+        private final String type;
+        private final String label;
+        private final IntArray inputIndices = new IntArray(2);
+        private final Array<String> inputSources = new Array<>(2);
+
+        public GateDescriptor(String type, String label) {
+            this.type = type;
+            this.label = label;
+        }
+
+        public void addInput(int inputIndex, String source) {
+            inputIndices.add(inputIndex);
+            inputSources.add(source);
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public int getInputCount() {
+            return inputIndices.size;
+        }
+
+        public int getInputIndex(int i) {
+            return inputIndices.get(i);
+        }
+
+        public String getInputSource(int i) {
+            return inputSources.get(i);
+        }
+
+        boolean sameContent(GateDescriptor other) {
+            return same(type, other.type) && same(label, other.label)
+                && inputIndices.equals(other.inputIndices) && inputSources.equals(other.inputSources);
+        }
+    }
+
+    /**
+     * Saida do nivel e o label da porta que a alimenta
+     */
+    public static class OutputDescriptor {
+        private final String label;
+        private final String input;
+
+        public OutputDescriptor(String label, String input) {
+            this.label = label;
+            this.input = input;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        boolean sameContent(OutputDescriptor other) {
+            return same(label, other.label) && same(input, other.input);
+        }
+    }
+
+    private int id;
+    private int minMoves = 1;
+    private boolean sequential = false; // lacos permitidos (latches, flip-flops)
+    private String clock;               // label do input usado como clock (null = sem clock)
+    private final Array<String> inputs = new Array<>();
+    private final Array<GateDescriptor> gates = new Array<>();
+    private final Array<OutputDescriptor> outputs = new Array<>();
+    private final OrderedMap<String, Boolean> solution = new OrderedMap<>();
+    // layout pre-calculado (so no levels.bin), no formato de Circuit.getLayout
+    private float layoutWidth;
+    private float layoutHeight;
+    private float[] layout;
+
+    public LevelDescriptor(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // usado pelo LevelReader quando o "id" nao e o primeiro campo do nivel
+    void setId(int id) {
+        this.id = id;
+    }
+
+    public int getMinMoves() {
+        return minMoves;
+    }
+
+    public void setMinMoves(int minMoves) {
+        this.minMoves = minMoves;
+    }
+
+    public boolean isSequential() {
+        return sequential;
+    }
+
+    public void setSequential(boolean sequential) {
+        this.sequential = sequential;
+    }
+
+    public String getClock() {
+        return clock;
+    }
+
+    public void setClock(String clock) {
+        this.clock = clock;
+    }
+
+    public Array<String> getInputs() {
+        return inputs;
+    }
+
+    public Array<GateDescriptor> getGates() {
+        return gates;
+    }
+
+    public Array<OutputDescriptor> getOutputs() {
+        return outputs;
+    }
+
+    // label da saida -> valor esperado
+    public OrderedMap<String, Boolean> getSolution() {
+        return solution;
+    }
+
+    // null quando o nivel nao traz layout pre-calculado
+    public float[] getLayout() {
+        return layout;
+    }
+
+    public float getLayoutWidth() {
+        return layoutWidth;
+    }
+
+    public float getLayoutHeight() {
+        return layoutHeight;
+    }
+
+    public void setLayout(float width, float height, float[] layout) {
+        this.layoutWidth = width;
+        this.layoutHeight = height;
+        this.layout = layout;
+    }
+
+    /**
+     * Compara o conteudo do nivel (id, portas, conexoes, saidas, solucao e minMoves).
+     * O layout pre-calculado nao entra: e derivado do resto e so existe no levels.bin.
+     * Usado pelo hot-reload para reconstruir apenas os niveis alterados.
+     */
+    public boolean sameContent(LevelDescriptor other) {
+        if (other == null || id != other.id || minMoves != other.minMoves || sequential != other.sequential) return false;
+        if (!same(clock, other.clock)) return false;
+        if (!inputs.equals(other.inputs)) return false;
+        if (gates.size != other.gates.size || outputs.size != other.outputs.size) return false;
+        for (int i = 0; i < gates.size; i++) {
+            if (!gates.get(i).sameContent(other.gates.get(i))) return false;
+        }
+        for (int i = 0; i < outputs.size; i++) {
+            if (!outputs.get(i).sameContent(other.outputs.get(i))) return false;
+        }
+        // a ordem da solucao define a ordem dos bits esperados
+        Array<String> keys = solution.orderedKeys(), otherKeys = other.solution.orderedKeys();
+        if (!keys.equals(otherKeys)) return false;
+        for (int i = 0; i < keys.size; i++) {
+            if (!solution.get(keys.get(i)).equals(other.solution.get(keys.get(i)))) return false;
+        }
+        return true;
+    }
+
+    private static boolean same(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -1,21 +1,56 @@
 package com.badlogic.drop.levels;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Gerencia os níveis disponíveis no jogo
+ * Os níveis são lidos apenas como descrições; o circuito de cada um é construído
+ * na primeira chamada de getLevel(id) e no máximo MAX_RESIDENT_CIRCUITS ficam em memória
  */
 public class LevelManager {
+    // quantos circuitos construidos ficam residentes ao mesmo tempo
+    private static final int MAX_RESIDENT_CIRCUITS = 3;
+
     private Array<Level> levels;
     private static LevelManager instance;
     private int currLevel;
 
+    private final JSONtoCircuit converter;
+    // pacote binario (levels.bin) quando existir; os niveis sao decodificados dele ao abrir
+    private LevelPack pack;
+    private static LevelPackLoader packLoader = LevelPackLoader.READ_BYTES;
+    // hot-reload: le o levels.json mesmo com o levels.bin presente
+    private static boolean preferJson;
+    // indices dos niveis com circuito construido, do menos para o mais recente
+    private final IntArray residentLevels;
+
     private LevelManager() {
         levels = new Array<>();
+        converter = new JSONtoCircuit();
+        residentLevels = new IntArray(MAX_RESIDENT_CIRCUITS + 1);
         loadLevels();
     }
 
+    /**
+     * Define como o levels.bin e aberto (o desktop mapeia o arquivo em memoria).
+     * Deve ser chamado antes do primeiro getInstance()
+     */
+    public static void setPackLoader(LevelPackLoader loader) {
+        packLoader = loader;
+    }
+
+    /**
+     * Faz o jogo ler o levels.json em vez do levels.bin (hot-reload: as edicoes do json valem
+     * ao reiniciar). Deve ser chamado antes do primeiro getInstance()
+     */
+    public static void setPreferJson(boolean prefer) {
+        preferJson = prefer;
+    }
+
     public static LevelManager getInstance() {
         if (instance == null) {
             instance = new LevelManager();
@@ -26,13 +61,28 @@ public class LevelManager {
 
 
     /**
-     * Carrega todos os níveis do jogo
+     * Carrega as descrições de todos os níveis do jogo (sem construir os circuitos)
      */
     private void loadLevels() {
         try {
-            JSONtoCircuit converter = new JSONtoCircuit();
-            levels = converter.convert(Gdx.files.internal("levels/levels.json"), true);
-            Gdx.app.log("LevelManager", "Carregados " + levels.size + " níveis");
+            long start = TimeUtils.millis();
+            levels = new Array<>();
+            FileHandle packFile = Gdx.files.internal("levels/levels.bin");
+            FileHandle jsonFile = Gdx.files.internal("levels/levels.json");
+            LevelPack candidate = packFile.exists() && !preferJson ? new LevelPack(packLoader.load(packFile)) : null;
+            // json editado depois do ultimo packLevels: o CRC gravado no pacote nao confere
+            // (datas de arquivo nao servem, um checkout muda todas)
+            boolean packStale = candidate != null && jsonFile.exists()
+                && candidate.getSourceChecksum() != LevelPack.checksum(jsonFile.readBytes());
+            if (candidate != null && !packStale) {
+                loadPack(candidate);
+            } else {
+                if (packFile.exists()) {
+                    Gdx.app.log("LevelManager", "levels.bin ignorado (" + (preferJson ? "hot-reload" : "levels.json mudou") + ")");
+                }
+                loadJson(jsonFile);
+            }
+            Gdx.app.log("LevelManager", "Carregados " + levels.size + " níveis em " + TimeUtils.timeSinceMillis(start) + " ms");
 
             // Sincroniza o estado dos níveis com o progresso salvo
             syncLevelsWithProgress();
@@ -42,6 +92,102 @@ public class LevelManager {
         }
     }
 
+    /**
+     * Le so o indice do pacote binario: cada nivel e decodificado quando for aberto
+     */
+    private void loadPack(LevelPack pack) {
+        this.pack = pack;
+        for (int i = 0; i < pack.getLevelCount(); i++) {
+            Level level = new Level(pack.getLevelId(i), null);
+            level.setMinMoves(pack.getMinMoves(i));
+            level.setUnlocked(level.getId() == 0);
+            levels.add(level);
+        }
+    }
+
+    /**
+     * Le as descricoes do levels.json em streaming (um nivel por vez, sem montar a arvore do JSON)
+     */
+    private void loadJson(FileHandle file) {
+        LevelReader reader = new LevelReader(file.read());
+        try {
+            LevelDescriptor descriptor;
+            while ((descriptor = reader.next()) != null) {
+                levels.add(converter.createLevel(descriptor));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Hot-reload (desenvolvimento): le de novo o levels.json e troca apenas os niveis cuja descricao mudou.
+     * Os niveis alterados perdem o circuito construido (reconstruido no proximo getLevel) e mantem
+     * estrelas, conclusao e desbloqueio. Se o arquivo nao puder ser lido (ex.: salvo pela metade),
+     * os niveis atuais continuam valendo.
+     *
+     * @return indices dos niveis alterados, incluidos ou removidos (vazio se nada mudou ou houve erro)
+     */
+    public IntArray reloadLevels(FileHandle file) {
+        IntArray changed = new IntArray();
+        long start = TimeUtils.millis();
+        Array<LevelDescriptor> descriptors = new Array<>();
+        LevelReader reader = null;
+        try {
+            reader = new LevelReader(file.read());
+            LevelDescriptor descriptor;
+            while ((descriptor = reader.next()) != null) {
+                descriptors.add(descriptor);
+            }
+        } catch (Exception e) {
+            Gdx.app.error("LevelManager", "Hot-reload: erro lendo " + file.path() + ", niveis mantidos", e);
+            return changed;
+        } finally {
+            if (reader != null) reader.close();
+        }
+
+        LevelProgress progress = LevelProgress.getInstance();
+        for (int i = 0; i < descriptors.size; i++) {
+            LevelDescriptor descriptor = descriptors.get(i);
+            Level old = i < levels.size ? levels.get(i) : null;
+            if (old != null && descriptor.sameContent(descriptorAt(i))) continue;
+
+            Level level = converter.createLevel(descriptor);
+            if (old != null) {
+                level.setStars(old.getStars());
+                level.setCompleted(old.isCompleted());
+                level.setUnlocked(old.isUnlocked());
+                levels.set(i, level);
+                residentLevels.removeValue(i); // o circuito antigo fica com quem ainda o usa
+            } else {
+                level.setStars(progress.getLevelStars(i));
+                level.setCompleted(progress.isLevelCompleted(i));
+                level.setUnlocked(progress.isLevelUnlocked(i));
+                levels.add(level);
+            }
+            changed.add(i);
+        }
+        // niveis removidos do final do arquivo
+        for (int i = levels.size - 1; i >= descriptors.size; i--) {
+            levels.removeIndex(i);
+            residentLevels.removeValue(i);
+            changed.add(i);
+        }
+
+        Gdx.app.log("LevelManager", "Hot-reload: " + changed.size + " de " + descriptors.size
+            + " nivel(is) alterado(s) em " + TimeUtils.timeSinceMillis(start) + " ms");
+        return changed;
+    }
+
+    // descricao atual do nivel: a do levels.json ou o registro do levels.bin
+    private LevelDescriptor descriptorAt(int index) {
+        LevelDescriptor descriptor = levels.get(index).getDescriptor();
+        if (descriptor == null && pack != null) {
+            descriptor = pack.read(index);
+        }
+        return descriptor;
+    }
+
     /**
      * Sincroniza o estado dos níveis (estrelas, completed, unlocked) com o LevelProgress
      */
@@ -71,16 +217,59 @@ public class LevelManager {
     }
 
     /**
-     * Retorna todos os níveis
+     * Constroi o circuito do nivel se ainda nao existir e o marca como o mais recente.
+     * Ao passar de MAX_RESIDENT_CIRCUITS, o circuito usado ha mais tempo e liberado.
+     */
+    private void ensureCircuit(int index) {
+        Level level = levels.get(index);
+        int resident = residentLevels.indexOf(index);
+        if (resident >= 0) {
+            residentLevels.removeIndex(resident);
+            residentLevels.add(index);
+            if (level.isCircuitLoaded()) return;
+        } else {
+            residentLevels.add(index);
+        }
+
+        if (!level.isCircuitLoaded()) {
+            LevelDescriptor descriptor = descriptorAt(index); // do pacote: decodifica so o registro deste nivel
+            if (descriptor != null) {
+                long start = TimeUtils.millis();
+                level.setCircuit(converter.build(descriptor, false));
+                Gdx.app.log("LevelManager", "Circuito do nivel " + (index + 1) + " construido em " + TimeUtils.timeSinceMillis(start) + " ms");
+            }
+        }
+
+        while (residentLevels.size > MAX_RESIDENT_CIRCUITS) {
+            int evicted = residentLevels.removeIndex(0);
+            levels.get(evicted).releaseCircuit();
+            Gdx.app.log("LevelManager", "Circuito do nivel " + (evicted + 1) + " liberado");
+        }
+        Gdx.app.log("LevelManager", "Circuitos residentes: " + residentLevels.size);
+    }
+
+    /**
+     * Retorna todos os níveis (os circuitos podem nao estar construidos)
      */
     public Array<Level> getAllLevels() {
         return levels;
     }
 
     /**
-     * Retorna um nível específico pelo ID
+     * Retorna um nível específico pelo ID, construindo o seu circuito se necessario
      */
     public Level getLevel(int id) {
+        if (id >= 0 && id < levels.size) {
+            ensureCircuit(id);
+            return levels.get(id);
+        }
+        return null;
+    }
+
+    /**
+     * Retorna um nível pelo ID sem construir o circuito (estrelas, desbloqueio, etc.)
+     */
+    public Level getLevelInfo(int id) {
         if (id >= 0 && id < levels.size) {
             return levels.get(id);
         }
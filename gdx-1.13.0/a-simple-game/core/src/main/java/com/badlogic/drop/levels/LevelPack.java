@@ -0,0 +1,504 @@
+package com.badlogic.drop.levels;
+
+import com.badlogic.drop.entities.Circuit;
+import com.badlogic.drop.entities.Wire;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Pacote binario de niveis (levels.bin), gerado pelo convertLevels junto com o levels.json.
+ * Os niveis ficam em registros compactos e um indice de tamanho fixo permite abrir
+ * qualquer nivel em O(1), decodificando so ele. O buffer pode ser um arquivo mapeado
+ * em memoria (desktop, ver LevelPackLoader) ou os bytes do arquivo (web).
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabecalho   int MAGIC, short VERSION, short versao do layout, int numero de niveis, int CRC-32 do levels.json
+ * indice      por nivel: int id, int minMoves, int offset do registro, int tamanho do registro
+ * registro    byte flags (1 = sequencial, 2 = tem clock, 4 = tem layout)
+ *             short n, n textos (short bytes + UTF-8)   tabela de labels do nivel
+ *             [short clock]                             indice do label do clock
+ *             short n, n x short label                  inputs
+ *             short n, n x (byte tipo, short label, byte k, k x (byte porta, short origem))  portas
+ *             short n, n x (short label, short origem)  outputs
+ *             short n, n x (short label, byte valor)    solucao
+ *             [layout]                                  so com a flag 4 (versao 2)
+ * layout      float largura, float altura               tamanho de tela usado no calculo
+ *             short n, n x (float x, float y)           posicoes das portas (ordem de Circuit.getAllGates)
+ *             short n, n x (float fromX, float fromY, float toX, float toY, byte k, k x (float x, float y))
+ *                                                       rotas dos fios (ordem de Circuit.getWires)
+ * </pre>
+ * Labels e origens sao indices na tabela de labels do proprio nivel.
+ * O layout e calculado no convertLevels para a resolucao virtual do jogo: abrir o nivel
+ * copia as posicoes em vez de posicionar as portas e rotear os fios. A versao do layout
+ * (Circuit.LAYOUT_ALGORITHM) e o CRC do json de origem ficam no cabecalho: layouts de outro
+ * algoritmo sao ignorados na leitura e o LevelManager descarta o pacote se o json mudou.
+ */
+public class LevelPack {
+    public static final int MAGIC = 0x4249544C; // "BITL"
+    public static final int VERSION = 3; // 2: layout pre-calculado, 3: versao do layout e CRC do json (1 e 2 continuam legiveis)
+
+    private static final int HEADER_SIZE = 16;
+    private static final int INDEX_ENTRY_SIZE = 16;
+
+    private static final int FLAG_SEQUENTIAL = 1;
+    private static final int FLAG_CLOCK = 2;
+    private static final int FLAG_LAYOUT = 4;
+
+    // codigos dos tipos de porta no registro
+    private static final String[] GATE_TYPES = {"AND", "OR", "NOT", "NAND", "NOR", "XOR", "XNOR"};
+
+    private static int[] crcTable;
+
+    private final ByteBuffer data;
+    private final int levelCount;
+    private final int layoutAlgorithm; // 0 nas versoes 1 e 2 (layout sempre descartado)
+    private final int sourceChecksum;
+
+    public LevelPack(ByteBuffer data) {
+        this.data = data;
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new SerializationException("Arquivo nao e um pacote de niveis");
+        }
+        int version = data.getShort(4);
+        if (version < 1 || version > VERSION) {
+            throw new SerializationException("Versao do pacote de niveis nao suportada: " + version);
+        }
+        this.levelCount = data.getInt(8);
+        this.layoutAlgorithm = version >= 3 ? data.getShort(6) : 0;
+        this.sourceChecksum = version >= 3 ? data.getInt(12) : 0;
+        if (HEADER_SIZE + levelCount * INDEX_ENTRY_SIZE > data.limit()) {
+            throw new SerializationException("Indice do pacote de niveis truncado");
+        }
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * CRC-32 do levels.json de onde o pacote foi gerado (0 nas versoes antigas)
+     */
+    public int getSourceChecksum() {
+        return sourceChecksum;
+    }
+
+    /**
+     * O layout gravado foi calculado pelo algoritmo atual (Circuit.LAYOUT_ALGORITHM)?
+     */
+    public boolean hasCurrentLayout() {
+        return layoutAlgorithm == Circuit.LAYOUT_ALGORITHM;
+    }
+
+    // id do nivel na posicao informada (sem decodificar o registro)
+    public int getLevelId(int index) {
+        return data.getInt(entry(index));
+    }
+
+    public int getMinMoves(int index) {
+        return data.getInt(entry(index) + 4);
+    }
+
+    /**
+     * Posicao do nivel com o id informado, ou -1. Os ids normalmente sao as posicoes
+     * (0, 1, 2...), entao a primeira tentativa ja acerta.
+     */
+    public int indexOf(int id) {
+        if (id >= 0 && id < levelCount && getLevelId(id) == id) return id;
+        for (int i = 0; i < levelCount; i++) {
+            if (getLevelId(i) == id) return i;
+        }
+        return -1;
+    }
+
+    private int entry(int index) {
+        if (index < 0 || index >= levelCount) {
+            throw new IndexOutOfBoundsException("Nivel " + index + " fora do pacote (" + levelCount + " niveis)");
+        }
+        return HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+    }
+
+    /**
+     * Decodifica a descricao do nivel na posicao informada
+     */
+    public LevelDescriptor read(int index) {
+        int entry = entry(index);
+        LevelDescriptor level = new LevelDescriptor(data.getInt(entry));
+        level.setMinMoves(data.getInt(entry + 4));
+        int p = data.getInt(entry + 8);
+        int end = p + data.getInt(entry + 12);
+        if (end > data.limit()) {
+            throw new SerializationException("Registro do nivel " + level.getId() + " truncado");
+        }
+
+        int flags = data.get(p++);
+        level.setSequential((flags & FLAG_SEQUENTIAL) != 0);
+
+        int labelCount = data.getShort(p) & 0xFFFF;
+        p += 2;
+        String[] labels = new String[labelCount];
+        for (int i = 0; i < labelCount; i++) {
+            int length = data.getShort(p) & 0xFFFF;
+            p += 2;
+            labels[i] = decodeUtf8(p, length);
+            p += length;
+        }
+
+        if ((flags & FLAG_CLOCK) != 0) {
+            level.setClock(labels[data.getShort(p) & 0xFFFF]);
+            p += 2;
+        }
+
+        int inputCount = data.getShort(p) & 0xFFFF;
+        p += 2;
+        for (int i = 0; i < inputCount; i++, p += 2) {
+            level.getInputs().add(labels[data.getShort(p) & 0xFFFF]);
+        }
+
+        int gateCount = data.getShort(p) & 0xFFFF;
+        p += 2;
+        for (int i = 0; i < gateCount; i++) {
+            int type = data.get(p);
+            if (type < 0 || type >= GATE_TYPES.length) {
+                throw new SerializationException("Tipo de porta invalido no nivel " + level.getId() + ": " + type);
+            }
+            LevelDescriptor.GateDescriptor gate = new LevelDescriptor.GateDescriptor(
+                GATE_TYPES[type], labels[data.getShort(p + 1) & 0xFFFF]);
+            int connections = data.get(p + 3) & 0xFF;
+            p += 4;
+            for (int k = 0; k < connections; k++, p += 3) {
+                gate.addInput(data.get(p) & 0xFF, labels[data.getShort(p + 1) & 0xFFFF]);
+            }
+            level.getGates().add(gate);
+        }
+
+        int outputCount = data.getShort(p) & 0xFFFF;
+        p += 2;
+        for (int i = 0; i < outputCount; i++, p += 4) {
+            level.getOutputs().add(new LevelDescriptor.OutputDescriptor(
+                labels[data.getShort(p) & 0xFFFF], labels[data.getShort(p + 2) & 0xFFFF]));
+        }
+
+        int solutionCount = data.getShort(p) & 0xFFFF;
+        p += 2;
+        for (int i = 0; i < solutionCount; i++, p += 3) {
+            level.getSolution().put(labels[data.getShort(p) & 0xFFFF], data.get(p + 2) != 0);
+        }
+
+        // layout de outro algoritmo: o circuito posiciona e roteia de novo ao abrir
+        if ((flags & FLAG_LAYOUT) != 0 && hasCurrentLayout()) {
+            readLayout(level, p);
+        }
+        return level;
+    }
+
+    // layout no formato de Circuit.getLayout (rotas com Wire.ROUTE_STRIDE floats por fio)
+    private void readLayout(LevelDescriptor level, int p) {
+        float width = data.getFloat(p);
+        float height = data.getFloat(p + 4);
+        int gateCount = data.getShort(p + 8) & 0xFFFF;
+        p += 10;
+        int wireCount = data.getShort(p + gateCount * 8) & 0xFFFF;
+        float[] layout = new float[gateCount * 2 + wireCount * Wire.ROUTE_STRIDE];
+        for (int i = 0; i < gateCount * 2; i++, p += 4) {
+            layout[i] = data.getFloat(p);
+        }
+        p += 2;
+        for (int w = 0; w < wireCount; w++) {
+            int base = gateCount * 2 + w * Wire.ROUTE_STRIDE;
+            for (int i = 0; i < 4; i++, p += 4) {
+                layout[base + i] = data.getFloat(p);
+            }
+            int points = data.get(p++) & 0xFF;
+            if (points > Wire.MAX_PATH_POINTS) {
+                throw new SerializationException("Rota com pontos demais no nivel " + level.getId() + ": " + points);
+            }
+            layout[base + 4] = points;
+            for (int i = 0; i < points * 2; i++, p += 4) {
+                layout[base + 5 + i] = data.getFloat(p);
+            }
+        }
+        level.setLayout(width, height, layout);
+    }
+
+    private String decodeUtf8(int p, int length) {
+        char[] chars = new char[length];
+        int count = 0;
+        int end = p + length;
+        while (p < end) {
+            int c = data.get(p++) & 0xFF;
+            if (c >= 0xE0) {
+                c = ((c & 0x0F) << 12) | ((data.get(p) & 0x3F) << 6) | (data.get(p + 1) & 0x3F);
+                p += 2;
+            } else if (c >= 0x80) {
+                c = ((c & 0x1F) << 6) | (data.get(p++) & 0x3F);
+            }
+            chars[count++] = (char) c;
+        }
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * CRC-32 (o mesmo do java.util.zip.CRC32, que nao existe no GWT) dos bytes informados
+     */
+    public static int checksum(byte[] bytes) {
+        int[] table = crcTable;
+        if (table == null) {
+            table = new int[256];
+            for (int n = 0; n < 256; n++) {
+                int c = n;
+                for (int k = 0; k < 8; k++) {
+                    c = (c & 1) != 0 ? 0xEDB88320 ^ (c >>> 1) : c >>> 1;
+                }
+                table[n] = c;
+            }
+            crcTable = table;
+        }
+        int crc = -1;
+        for (byte b : bytes) {
+            crc = table[(crc ^ b) & 0xFF] ^ (crc >>> 8);
+        }
+        return ~crc;
+    }
+
+    /**
+     * Gera o pacote binario com os niveis informados (na ordem do array), sem layouts
+     *
+     * @param sourceChecksum checksum() do levels.json de origem
+     */
+    public static byte[] encode(Array<LevelDescriptor> levels, int sourceChecksum) {
+        return encode(levels, sourceChecksum, 0, 0);
+    }
+
+    /**
+     * Gera o pacote binario com o layout de cada nivel calculado para o tamanho de tela informado
+     * (monta o circuito do nivel e roda o Circuit.updateAllPos)
+     *
+     * @param sourceChecksum checksum() do levels.json de origem
+     */
+    public static byte[] encode(Array<LevelDescriptor> levels, int sourceChecksum, float layoutWidth, float layoutHeight) {
+        Output out = new Output(HEADER_SIZE + levels.size * (INDEX_ENTRY_SIZE + 256));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(Circuit.LAYOUT_ALGORITHM);
+        out.writeInt(levels.size);
+        out.writeInt(sourceChecksum);
+        int indexStart = out.size;
+        out.ensure(levels.size * INDEX_ENTRY_SIZE);
+        out.size += levels.size * INDEX_ENTRY_SIZE;
+
+        ObjectIntMap<String> labelIds = new ObjectIntMap<>();
+        Array<String> labels = new Array<>();
+        for (int i = 0; i < levels.size; i++) {
+            LevelDescriptor level = levels.get(i);
+            int start = out.size;
+            labelIds.clear();
+            labels.clear();
+
+            // tabela de labels na ordem em que aparecem
+            for (String input : level.getInputs()) addLabel(labelIds, labels, input);
+            for (LevelDescriptor.GateDescriptor gate : level.getGates()) {
+                addLabel(labelIds, labels, gate.getLabel());
+                for (int k = 0; k < gate.getInputCount(); k++) addLabel(labelIds, labels, gate.getInputSource(k));
+            }
+            for (LevelDescriptor.OutputDescriptor output : level.getOutputs()) {
+                addLabel(labelIds, labels, output.getLabel());
+                addLabel(labelIds, labels, output.getInput());
+            }
+            for (ObjectMap.Entry<String, Boolean> expected : level.getSolution()) {
+                addLabel(labelIds, labels, expected.key);
+            }
+            if (level.getClock() != null) addLabel(labelIds, labels, level.getClock());
+            if (labels.size > 0xFFFF) {
+                throw new IllegalArgumentException("Nivel " + level.getId() + " tem labels demais para o pacote: " + labels.size);
+            }
+
+            Circuit circuit = layoutWidth > 0 && layoutHeight > 0 ? layoutCircuit(level, layoutWidth, layoutHeight) : null;
+
+            int flags = (level.isSequential() ? FLAG_SEQUENTIAL : 0) | (level.getClock() != null ? FLAG_CLOCK : 0)
+                | (circuit != null ? FLAG_LAYOUT : 0);
+            out.writeByte(flags);
+            out.writeShort(labels.size);
+            for (String label : labels) {
+                out.writeUtf8(label);
+            }
+            if (level.getClock() != null) out.writeShort(labelIds.get(level.getClock(), 0));
+
+            out.writeShort(count(level.getInputs().size, level, "inputs"));
+            for (String input : level.getInputs()) out.writeShort(labelIds.get(input, 0));
+
+            out.writeShort(count(level.getGates().size, level, "portas"));
+            for (LevelDescriptor.GateDescriptor gate : level.getGates()) {
+                out.writeByte(gateCode(gate.getType()));
+                out.writeShort(labelIds.get(gate.getLabel(), 0));
+                if (gate.getInputCount() > 0xFF) {
+                    throw new IllegalArgumentException("Porta " + gate.getLabel() + " com conexoes demais: " + gate.getInputCount());
+                }
+                out.writeByte(gate.getInputCount());
+                for (int k = 0; k < gate.getInputCount(); k++) {
+                    if (gate.getInputIndex(k) < 0 || gate.getInputIndex(k) > 0xFF) {
+                        throw new IllegalArgumentException("Porta " + gate.getLabel() + " com entrada invalida: " + gate.getInputIndex(k));
+                    }
+                    out.writeByte(gate.getInputIndex(k));
+                    out.writeShort(labelIds.get(gate.getInputSource(k), 0));
+                }
+            }
+
+            out.writeShort(count(level.getOutputs().size, level, "outputs"));
+            for (LevelDescriptor.OutputDescriptor output : level.getOutputs()) {
+                out.writeShort(labelIds.get(output.getLabel(), 0));
+                out.writeShort(labelIds.get(output.getInput(), 0));
+            }
+
+            out.writeShort(count(level.getSolution().size, level, "saidas esperadas"));
+            for (ObjectMap.Entry<String, Boolean> expected : level.getSolution()) {
+                out.writeShort(labelIds.get(expected.key, 0));
+                out.writeByte(expected.value ? 1 : 0);
+            }
+
+            if (circuit != null) {
+                writeLayout(out, level, layoutWidth, layoutHeight, circuit.getAllGates().size, circuit.getLayout());
+            }
+
+            // entrada do indice
+            int end = out.size;
+            out.size = indexStart + i * INDEX_ENTRY_SIZE;
+            out.writeInt(level.getId());
+            out.writeInt(level.getMinMoves());
+            out.writeInt(start);
+            out.writeInt(end - start);
+            out.size = end;
+        }
+        byte[] bytes = new byte[out.size];
+        System.arraycopy(out.bytes, 0, bytes, 0, out.size);
+        return bytes;
+    }
+
+    // circuito do nivel ja posicionado para o tamanho de tela informado
+    private static Circuit layoutCircuit(LevelDescriptor level, float width, float height) {
+        Circuit circuit;
+        try {
+            circuit = new JSONtoCircuit().build(level, false);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Nivel " + level.getId() + " nao monta um circuito: " + e.getMessage(), e);
+        }
+        circuit.updateAllPos(width, height);
+        return circuit;
+    }
+
+    // Grava o layout (formato de Circuit.getLayout) sem os pontos nao usados de cada rota
+    private static void writeLayout(Output out, LevelDescriptor level, float width, float height, int gateCount, float[] layout) {
+        int wireCount = (layout.length - gateCount * 2) / Wire.ROUTE_STRIDE;
+        out.writeFloat(width);
+        out.writeFloat(height);
+        out.writeShort(count(gateCount, level, "portas"));
+        for (int i = 0; i < gateCount * 2; i++) {
+            out.writeFloat(layout[i]);
+        }
+        out.writeShort(count(wireCount, level, "fios"));
+        for (int w = 0; w < wireCount; w++) {
+            int base = gateCount * 2 + w * Wire.ROUTE_STRIDE;
+            for (int i = 0; i < 4; i++) {
+                out.writeFloat(layout[base + i]);
+            }
+            int points = (int) layout[base + 4];
+            out.writeByte(points);
+            for (int i = 0; i < points * 2; i++) {
+                out.writeFloat(layout[base + 5 + i]);
+            }
+        }
+    }
+
+    private static void addLabel(ObjectIntMap<String> labelIds, Array<String> labels, String label) {
+        if (label == null) {
+            throw new IllegalArgumentException("Label nulo no nivel");
+        }
+        if (!labelIds.containsKey(label)) {
+            labelIds.put(label, labels.size);
+            labels.add(label);
+        }
+    }
+
+    private static int count(int count, LevelDescriptor level, String what) {
+        if (count > 0xFFFF) {
+            throw new IllegalArgumentException("Nivel " + level.getId() + " tem " + what + " demais para o pacote: " + count);
+        }
+        return count;
+    }
+
+    private static int gateCode(String type) {
+        for (int i = 0; i < GATE_TYPES.length; i++) {
+            if (GATE_TYPES[i].equals(type)) return i;
+        }
+        throw new IllegalArgumentException("Tipo de porta desconhecido: " + type);
+    }
+
+    // buffer de escrita que cresce sob demanda (big-endian, como o ByteBuffer)
+    private static class Output {
+        byte[] bytes;
+        int size;
+
+        Output(int capacity) {
+            bytes = new byte[Math.max(64, capacity)];
+        }
+
+        void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, size + extra)];
+                System.arraycopy(bytes, 0, grown, 0, size);
+                bytes = grown;
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeShort(int value) {
+            ensure(2);
+            bytes[size++] = (byte) (value >> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeFloat(float value) {
+            writeInt(Float.floatToIntBits(value));
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            bytes[size++] = (byte) (value >> 24);
+            bytes[size++] = (byte) (value >> 16);
+            bytes[size++] = (byte) (value >> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeUtf8(String text) {
+            int lengthAt = size;
+            writeShort(0);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    writeByte(c);
+                } else if (c < 0x800) {
+                    writeByte(0xC0 | (c >> 6));
+                    writeByte(0x80 | (c & 0x3F));
+                } else {
+                    writeByte(0xE0 | (c >> 12));
+                    writeByte(0x80 | ((c >> 6) & 0x3F));
+                    writeByte(0x80 | (c & 0x3F));
+                }
+            }
+            int length = size - lengthAt - 2;
+            if (length > 0xFFFF) {
+                throw new IllegalArgumentException("Label longo demais: " + text.length() + " caracteres");
+            }
+            bytes[lengthAt] = (byte) (length >> 8);
+            bytes[lengthAt + 1] = (byte) length;
+        }
+    }
+}
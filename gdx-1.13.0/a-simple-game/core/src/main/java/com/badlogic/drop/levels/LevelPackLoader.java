@@ -0,0 +1,23 @@
+package com.badlogic.drop.levels;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Abre o arquivo do pacote de niveis (levels.bin) como um ByteBuffer.
+ * O padrao le os bytes do arquivo (funciona em todas as plataformas); o launcher
+ * do desktop troca por um que mapeia o arquivo em memoria (ver LevelManager.setPackLoader).
+ */
+public interface LevelPackLoader {
+
+    ByteBuffer load(FileHandle file);
+
+    /** Le o arquivo inteiro para um array */
+    LevelPackLoader READ_BYTES = new LevelPackLoader() {
+        @Override
+        public ByteBuffer load(FileHandle file) {
+            return ByteBuffer.wrap(file.readBytes());
+        }
+    };
+}
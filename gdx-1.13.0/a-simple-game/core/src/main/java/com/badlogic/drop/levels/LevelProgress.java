@@ -1,25 +1,91 @@
 package com.badlogic.drop.levels;
 
 import com.badlogic.gdx.Gdx;
-import java.util.HashMap;
-import java.util.Map;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /**
  * Gerencia o progresso do jogador nos níveis
- * Nao ha salvamento persistente, apenas durante execucao
+ * O estado de cada nivel e um byte (estrelas nos bits 0-1, completado no bit 2).
+ * As alteracoes viram registros de 4 bytes acumulados em memoria; save() grava o lote
+ * no journal em uma thread separada (nunca trava o frame) e, quando o journal cresce,
+ * grava um snapshot novo no lugar dele. Desktop usa arquivos locais e web o Preferences.
+ *
+ * Cada snapshot tem uma geracao e o journal comeca com a geracao do snapshot a que pertence:
+ * se o jogo fechar entre gravar o snapshot e apagar o journal, o journal antigo e ignorado
+ * ao carregar (as alteracoes dele ja estao no snapshot).
  */
 public class LevelProgress {
     private static LevelProgress instance;
 
-    private Map<Integer, Boolean> completedLevels;
-    private Map<Integer, Integer> levelStars;
+    private static final String STORE_NAME = "bitit-progress";
+
+    private static final int SNAPSHOT_MAGIC = 0x42495450; // "BITP"
+    private static final int SNAPSHOT_VERSION = 2; // 2: geracao no cabecalho (a versao 1 continua legivel)
+    private static final int SNAPSHOT_HEADER = 15;
+    private static final int SNAPSHOT_HEADER_V1 = 11;
+
+    // registros do journal: tipo, valor, id (short)
+    private static final int RECORD_SIZE = 4;
+    private static final int RECORD_LEVEL = 1;   // valor = estado do nivel
+    private static final int RECORD_HIGHEST = 2; // id = maior nivel desbloqueado
+    private static final int RECORD_GENERATION = 3; // valor e id = geracao (24 bits) do snapshot dos registros seguintes
+    private static final int MAX_GENERATION = 0xFFFFFF;
+    private static final int MAX_LEVEL_ID = 0xFFFF;
+
+    // registros no journal antes de compactar
+    private static final int COMPACT_THRESHOLD = 256;
+
+    private static final int STARS_MASK = 3;
+    private static final int COMPLETED = 4;
+
+    private byte[] levelStates = new byte[64];
     private int highestLevelUnlocked;
 
+    private final ProgressStore store;
+    private final AsyncExecutor executor;
+    private final Object lock = new Object();
+    private final Object writeLock = new Object(); // uma gravacao por vez (save em segundo plano x flush)
+    // registros ainda nao gravados (thread de render) e o lote sendo gravado (thread de IO)
+    private byte[] pending = new byte[RECORD_SIZE * 16];
+    private int pendingSize;
+    private byte[] writing = new byte[RECORD_SIZE * 16];
+    private int journalRecords;
+    private boolean writeScheduled;
+    // geracao do ultimo snapshot e se o journal ja comeca com ela
+    private int generation;
+    private boolean journalMarked = true;
+    private final byte[] generationRecord = new byte[RECORD_SIZE];
+
     private LevelProgress() {
-        completedLevels = new HashMap<>();
-        levelStars = new HashMap<>();
-        highestLevelUnlocked = 0;
-        Gdx.app.log("LevelProgress", "Progresso iniciado em memória (não persistente)");
+        this(createStore());
+    }
+
+    private static ProgressStore createStore() {
+        switch (Gdx.app.getType()) {
+            case WebGL:
+                return new PreferencesProgressStore(STORE_NAME);
+            case Desktop:
+                // na pasta do usuario (como o Preferences do lwjgl3), nao no diretorio de trabalho (assets/)
+                return new LocalProgressStore(Gdx.files.external("." + STORE_NAME));
+            default:
+                return new LocalProgressStore(Gdx.files.local(STORE_NAME));
+        }
+    }
+
+    LevelProgress(ProgressStore store) {
+        this.store = store;
+        this.executor = new AsyncExecutor(1, "LevelProgress");
+        try {
+            load();
+            Gdx.app.log("LevelProgress", "Progresso carregado: maior nivel desbloqueado " + highestLevelUnlocked
+                + ", registros no journal: " + journalRecords);
+        } catch (Exception e) {
+            Gdx.app.error("LevelProgress", "Erro ao carregar o progresso, comecando do zero", e);
+            levelStates = new byte[64];
+            highestLevelUnlocked = 0;
+            journalRecords = COMPACT_THRESHOLD; // o proximo save grava um snapshot limpo
+        }
     }
 
     public static LevelProgress getInstance() {
@@ -33,12 +99,13 @@ public class LevelProgress {
      * Marca nivel como completado
      */
     public void setLevelCompleted(int levelId, boolean completed) {
-        completedLevels.put(levelId, completed);
+        int state = getState(levelId);
+        setState(levelId, completed ? state | COMPLETED : state & ~COMPLETED);
 
         // Atualiza o maior nivel desbloqueado
         if (completed) {
             if (levelId >= highestLevelUnlocked) {
-                highestLevelUnlocked = levelId + 1;
+                setHighestLevelUnlocked(levelId + 1);
                 Gdx.app.log("LevelProgress", "Nível " + (levelId + 1) + " desbloqueado!");
             }
         }
@@ -48,7 +115,7 @@ public class LevelProgress {
      * Verifica se um nivel foi completado
      */
     public boolean isLevelCompleted(int levelId) {
-        return completedLevels.getOrDefault(levelId, false);
+        return (getState(levelId) & COMPLETED) != 0;
     }
 
     /**
@@ -70,7 +137,7 @@ public class LevelProgress {
      * Desbloqueia todos os niveis (debug)
      */
     public void unlockAllLevels(int totalLevels) {
-        highestLevelUnlocked = totalLevels - 1;
+        setHighestLevelUnlocked(totalLevels - 1);
         Gdx.app.log("LevelProgress", "Todos os " + totalLevels + " níveis desbloqueados");
     }
 
@@ -83,7 +150,7 @@ public class LevelProgress {
     public boolean setLevelStars(int levelId, int stars) {
         int currentStars = getLevelStars(levelId);
         if (stars > currentStars) {
-            levelStars.put(levelId, stars);
+            setState(levelId, (getState(levelId) & ~STARS_MASK) | Math.min(stars, STARS_MASK));
             return true;
         }
         return false;
@@ -95,6 +162,213 @@ public class LevelProgress {
      * @return Número de estrelas (0-3)
      */
     public int getLevelStars(int levelId) {
-        return levelStars.getOrDefault(levelId, 0);
+        return getState(levelId) & STARS_MASK;
+    }
+
+    /**
+     * Grava as alteracoes pendentes em segundo plano (as chamadas seguidas viram um unico lote)
+     */
+    public void save() {
+        synchronized (lock) {
+            if (pendingSize == 0 || writeScheduled) return;
+            writeScheduled = true;
+        }
+        executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                writePending();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Grava as alteracoes pendentes antes de retornar (pause / fechamento do jogo)
+     */
+    public void flush() {
+        writePending();
+    }
+
+    /**
+     * Grava o que falta e encerra a thread de gravacao
+     */
+    public void dispose() {
+        flush();
+        executor.dispose();
+        if (instance == this) instance = null;
+    }
+
+    private int getState(int levelId) {
+        return levelId >= 0 && levelId < levelStates.length ? levelStates[levelId] : 0;
+    }
+
+    private void setState(int levelId, int state) {
+        if (levelId < 0 || levelId > MAX_LEVEL_ID) {
+            throw new IllegalArgumentException("Id de nivel invalido: " + levelId);
+        }
+        ensureLevel(levelId);
+        if (levelStates[levelId] == state) return;
+        levelStates[levelId] = (byte) state;
+        record(RECORD_LEVEL, state, levelId);
+    }
+
+    private void setHighestLevelUnlocked(int levelId) {
+        levelId = Math.max(0, Math.min(levelId, MAX_LEVEL_ID));
+        if (highestLevelUnlocked == levelId) return;
+        highestLevelUnlocked = levelId;
+        record(RECORD_HIGHEST, 0, levelId);
+    }
+
+    private void ensureLevel(int levelId) {
+        if (levelId >= levelStates.length) {
+            byte[] grown = new byte[Math.max(levelStates.length * 2, levelId + 1)];
+            System.arraycopy(levelStates, 0, grown, 0, levelStates.length);
+            levelStates = grown;
+        }
+    }
+
+    // acrescenta um registro ao lote pendente
+    private void record(int type, int value, int levelId) {
+        synchronized (lock) {
+            if (pendingSize + RECORD_SIZE > pending.length) {
+                byte[] grown = new byte[pending.length * 2];
+                System.arraycopy(pending, 0, grown, 0, pendingSize);
+                pending = grown;
+            }
+            pending[pendingSize++] = (byte) type;
+            pending[pendingSize++] = (byte) value;
+            pending[pendingSize++] = (byte) (levelId >> 8);
+            pending[pendingSize++] = (byte) levelId;
+        }
+    }
+
+    /*
+     * Troca o lote pendente pelo buffer de gravacao e grava no journal,
+     * ou um snapshot novo quando o journal passou do limite
+     */
+    private void writePending() {
+        synchronized (writeLock) {
+            byte[] batch;
+            int batchSize;
+            byte[] snapshot = null;
+            synchronized (lock) {
+                writeScheduled = false;
+                if (pendingSize == 0) return;
+                batch = pending;
+                batchSize = pendingSize;
+                pending = writing;
+                pendingSize = 0;
+                writing = batch;
+                if (journalRecords + batchSize / RECORD_SIZE > COMPACT_THRESHOLD) {
+                    // o snapshot inclui este lote: gravado junto com as alteracoes ja aplicadas.
+                    // A geracao sobe mesmo se a gravacao falhar, entao nunca se repete no disco
+                    generation = generation < MAX_GENERATION ? generation + 1 : 1;
+                    snapshot = encodeSnapshot();
+                }
+            }
+            try {
+                if (snapshot != null) {
+                    store.writeSnapshot(snapshot, snapshot.length);
+                    journalRecords = 0;
+                    journalMarked = false;
+                } else {
+                    if (!journalMarked) {
+                        // primeiro registro do journal novo: a geracao do snapshot atual
+                        generationRecord[0] = RECORD_GENERATION;
+                        generationRecord[1] = (byte) (generation >> 16);
+                        generationRecord[2] = (byte) (generation >> 8);
+                        generationRecord[3] = (byte) generation;
+                        store.appendJournal(generationRecord, RECORD_SIZE);
+                        journalMarked = true;
+                        journalRecords++;
+                    }
+                    store.appendJournal(batch, batchSize);
+                    journalRecords += batchSize / RECORD_SIZE;
+                }
+            } catch (Exception e) {
+                // o lote se perdeu, mas o estado em memoria esta completo: a proxima gravacao e um snapshot
+                journalRecords = COMPACT_THRESHOLD;
+                Gdx.app.error("LevelProgress", "Erro ao salvar o progresso", e);
+            }
+        }
+    }
+
+    private byte[] encodeSnapshot() {
+        int count = levelStates.length;
+        while (count > 0 && levelStates[count - 1] == 0) count--;
+        byte[] data = new byte[SNAPSHOT_HEADER + count];
+        writeInt(data, 0, SNAPSHOT_MAGIC);
+        data[4] = SNAPSHOT_VERSION;
+        writeInt(data, 5, highestLevelUnlocked);
+        data[9] = (byte) (count >> 8);
+        data[10] = (byte) count;
+        writeInt(data, 11, generation);
+        System.arraycopy(levelStates, 0, data, SNAPSHOT_HEADER, count);
+        return data;
+    }
+
+    private void load() {
+        byte[] snapshot = store.readSnapshot();
+        int version = snapshot != null && snapshot.length >= SNAPSHOT_HEADER_V1
+            && readInt(snapshot, 0) == SNAPSHOT_MAGIC ? snapshot[4] : 0;
+        int header = version == 1 ? SNAPSHOT_HEADER_V1 : SNAPSHOT_HEADER;
+        if ((version == 1 || version == SNAPSHOT_VERSION) && snapshot.length >= header) {
+            highestLevelUnlocked = readInt(snapshot, 5);
+            generation = version == 1 ? 0 : readInt(snapshot, 11);
+            int count = Math.min(((snapshot[9] & 0xFF) << 8) | (snapshot[10] & 0xFF), snapshot.length - header);
+            ensureLevel(count);
+            System.arraycopy(snapshot, header, levelStates, 0, count);
+        } else if (snapshot != null) {
+            Gdx.app.error("LevelProgress", "Snapshot do progresso invalido, ignorado");
+        }
+
+        // reaplica o journal; um registro incompleto no fim (gravacao interrompida) e ignorado.
+        // Registros sem geracao sao da geracao 0 (snapshot da versao 1, ou nenhum snapshot)
+        byte[] journal = store.readJournal();
+        int journalGeneration = 0;
+        int stale = 0;
+        if (journal != null) {
+            for (int p = 0; p + RECORD_SIZE <= journal.length; p += RECORD_SIZE) {
+                int type = journal[p];
+                int value = journal[p + 1];
+                int levelId = ((journal[p + 2] & 0xFF) << 8) | (journal[p + 3] & 0xFF);
+                if (type == RECORD_GENERATION) {
+                    journalGeneration = ((value & 0xFF) << 16) | levelId;
+                } else if (type != RECORD_LEVEL && type != RECORD_HIGHEST) {
+                    Gdx.app.error("LevelProgress", "Registro invalido no journal na posicao " + p + ", restante ignorado");
+                    break;
+                } else if (journalGeneration < generation) {
+                    // journal de antes do snapshot (fechou antes de apaga-lo): ja esta no snapshot
+                    stale++;
+                } else if (type == RECORD_LEVEL) {
+                    ensureLevel(levelId);
+                    levelStates[levelId] = (byte) value;
+                } else {
+                    highestLevelUnlocked = levelId;
+                }
+                journalRecords++;
+            }
+        }
+        journalMarked = journalGeneration == generation;
+        if (stale > 0) {
+            Gdx.app.log("LevelProgress", stale + " registro(s) antigos do journal ignorados");
+        }
+        if (journal != null && (stale > 0 || journalRecords * RECORD_SIZE != journal.length)) {
+            // nao da para acrescentar depois de um registro quebrado ou de um journal antigo:
+            // a proxima gravacao e um snapshot
+            journalRecords = COMPACT_THRESHOLD;
+        }
+    }
+
+    private static void writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >> 24);
+        data[offset + 1] = (byte) (value >> 16);
+        data[offset + 2] = (byte) (value >> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+            | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
     }
 }
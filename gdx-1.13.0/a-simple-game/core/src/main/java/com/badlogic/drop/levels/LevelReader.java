@@ -0,0 +1,507 @@
+package com.badlogic.drop.levels;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Leitor incremental do levels.json: devolve um LevelDescriptor por vez direto do
+ * InputStream, sem ler o arquivo inteiro para uma String e sem montar a arvore JsonValue.
+ * A memoria usada e a de um buffer fixo mais o nivel sendo lido, entao o tamanho do
+ * pacote de niveis nao importa.
+ *
+ * Uso:
+ * <pre>
+ * LevelReader reader = new LevelReader(file.read());
+ * try {
+ *     LevelDescriptor level;
+ *     while ((level = reader.next()) != null) { ... }
+ * } finally {
+ *     reader.close();
+ * }
+ * </pre>
+ *
+ * Aceita JSON padrao (o formato gerado pelo LevelToJSON). Chaves desconhecidas sao ignoradas.
+ */
+public class LevelReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    // texto do ultimo token de string/numero (reaproveitado entre tokens)
+    private final StringBuilder text = new StringBuilder(32);
+
+    private boolean started;  // ja entrou no array "levels"
+    private boolean finished; // array "levels" terminou
+
+    public LevelReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Le o proximo nivel do arquivo
+     *
+     * @return descricao do nivel ou null quando nao ha mais niveis
+     */
+    public LevelDescriptor next() {
+        if (finished) return null;
+        try {
+            if (!started) {
+                started = true;
+                if (!seekLevelsArray()) {
+                    finished = true;
+                    return null;
+                }
+                if (peekToken() == ']') {
+                    read();
+                    finished = true;
+                    return null;
+                }
+            } else {
+                int c = readToken();
+                if (c == ']') {
+                    finished = true;
+                    return null;
+                }
+                if (c != ',') throw error("esperado ',' ou ']' entre niveis");
+            }
+            return readLevel();
+        } catch (IOException e) {
+            throw new SerializationException("Erro lendo niveis", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        StreamUtils.closeQuietly(in);
+    }
+
+    // Avanca ate o '[' do array "levels" do objeto raiz
+    private boolean seekLevelsArray() throws IOException {
+        expect('{');
+        if (peekToken() == '}') return false;
+        while (true) {
+            String key = readKey();
+            if (key.equals("levels")) {
+                expect('[');
+                return true;
+            }
+            skipValue();
+            int c = readToken();
+            if (c == '}') return false;
+            if (c != ',') throw error("esperado ',' ou '}'");
+        }
+    }
+
+    private LevelDescriptor readLevel() throws IOException {
+        LevelDescriptor level = new LevelDescriptor(0);
+        expect('{');
+        if (peekToken() == '}') {
+            read();
+            return level;
+        }
+        while (true) {
+            String key = readKey();
+            switch (key) {
+                case "id":
+                    level.setId(readInt());
+                    break;
+                case "minMoves":
+                    level.setMinMoves(readInt());
+                    break;
+                case "sequential":
+                    level.setSequential(readBoolean());
+                    break;
+                case "clock":
+                    level.setClock(readNullableString());
+                    break;
+                case "inputs":
+                    readInputs(level);
+                    break;
+                case "gates":
+                    readGates(level);
+                    break;
+                case "outputs":
+                    readOutputs(level);
+                    break;
+                case "solution":
+                    readSolution(level);
+                    break;
+                default:
+                    skipValue();
+                    break;
+            }
+            int c = readToken();
+            if (c == '}') break;
+            if (c != ',') throw error("esperado ',' ou '}' no nivel");
+        }
+        return level;
+    }
+
+    // [{"label": "I0"}, ...]
+    private void readInputs(LevelDescriptor level) throws IOException {
+        if (readNull()) return;
+        expect('[');
+        if (peekToken() == ']') {
+            read();
+            return;
+        }
+        do {
+            String label = null;
+            expect('{');
+            if (peekToken() != '}') {
+                do {
+                    if (readKey().equals("label")) {
+                        label = readString();
+                    } else {
+                        skipValue();
+                    }
+                } while (readToken() == ',');
+                unread();
+            }
+            expect('}');
+            level.getInputs().add(label);
+        } while (readToken() == ',');
+        unread();
+        expect(']');
+    }
+
+    // [{"label": "0", "type": "AND", "inputs": {"1": "I1", "0": "I0"}}, ...]
+    private void readGates(LevelDescriptor level) throws IOException {
+        if (readNull()) return;
+        expect('[');
+        if (peekToken() == ']') {
+            read();
+            return;
+        }
+        do {
+            String label = null;
+            String type = null;
+            // as conexoes podem vir antes do label/type: guarda ate o fim do objeto
+            IntArray ports = null;
+            Array<String> sources = null;
+            expect('{');
+            if (peekToken() != '}') {
+                do {
+                    String key = readKey();
+                    if (key.equals("label")) {
+                        label = readString();
+                    } else if (key.equals("type")) {
+                        type = readString();
+                    } else if (key.equals("inputs") && !readNull()) {
+                        ports = new IntArray(2);
+                        sources = new Array<>(2);
+                        expect('{');
+                        if (peekToken() != '}') {
+                            do {
+                                String port = readKey();
+                                try {
+                                    ports.add(Integer.parseInt(port));
+                                } catch (NumberFormatException e) {
+                                    throw error("entrada de porta invalida: " + port);
+                                }
+                                sources.add(readString());
+                            } while (readToken() == ',');
+                            unread();
+                        }
+                        expect('}');
+                    } else {
+                        skipValue();
+                    }
+                } while (readToken() == ',');
+                unread();
+            }
+            expect('}');
+            LevelDescriptor.GateDescriptor gate = new LevelDescriptor.GateDescriptor(type, label);
+            if (ports != null) {
+                for (int i = 0; i < ports.size; i++) {
+                    gate.addInput(ports.get(i), sources.get(i));
+                }
+            }
+            level.getGates().add(gate);
+        } while (readToken() == ',');
+        unread();
+        expect(']');
+    }
+
+    // [{"label": "X0", "input": "0"}, ...]
+    private void readOutputs(LevelDescriptor level) throws IOException {
+        if (readNull()) return;
+        expect('[');
+        if (peekToken() == ']') {
+            read();
+            return;
+        }
+        do {
+            String label = null;
+            String input = null;
+            expect('{');
+            if (peekToken() != '}') {
+                do {
+                    String key = readKey();
+                    if (key.equals("label")) {
+                        label = readString();
+                    } else if (key.equals("input")) {
+                        input = readString();
+                    } else {
+                        skipValue();
+                    }
+                } while (readToken() == ',');
+                unread();
+            }
+            expect('}');
+            level.getOutputs().add(new LevelDescriptor.OutputDescriptor(label, input));
+        } while (readToken() == ',');
+        unread();
+        expect(']');
+    }
+
+    // {"X0": true, ...}
+    private void readSolution(LevelDescriptor level) throws IOException {
+        if (readNull()) return;
+        expect('{');
+        if (peekToken() == '}') {
+            read();
+            return;
+        }
+        do {
+            String key = readKey();
+            level.getSolution().put(key, readBoolean());
+        } while (readToken() == ',');
+        unread();
+        expect('}');
+    }
+
+    // ---------------------------------------------------------------- tokens
+
+    private String readKey() throws IOException {
+        String key = readString();
+        expect(':');
+        return key;
+    }
+
+    private String readString() throws IOException {
+        if (readToken() != '"') throw error("esperado texto");
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') break;
+            if (c < 0) throw error("texto nao terminado");
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'n': text.append('\n'); break;
+                    case 'r': text.append('\r'); break;
+                    case 't': text.append('\t'); break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            code = code * 16 + Character.digit((char) read(), 16);
+                        }
+                        text.append((char) code);
+                        break;
+                    default:
+                        text.append((char) c); // \" \\ \/
+                        break;
+                }
+            } else if (c < 0x80) {
+                text.append((char) c);
+            } else {
+                appendUtf8(c);
+            }
+        }
+        return text.toString();
+    }
+
+    // decodifica um caractere UTF-8 de 2 a 4 bytes cujo primeiro byte ja foi lido
+    private void appendUtf8(int first) throws IOException {
+        int extra;
+        int code;
+        if ((first & 0xE0) == 0xC0) {
+            extra = 1;
+            code = first & 0x1F;
+        } else if ((first & 0xF0) == 0xE0) {
+            extra = 2;
+            code = first & 0x0F;
+        } else {
+            extra = 3;
+            code = first & 0x07;
+        }
+        for (int i = 0; i < extra; i++) {
+            code = (code << 6) | (read() & 0x3F);
+        }
+        if (code >= 0x10000) {
+            code -= 0x10000;
+            text.append((char) (0xD800 + (code >> 10)));
+            text.append((char) (0xDC00 + (code & 0x3FF)));
+        } else {
+            text.append((char) code);
+        }
+    }
+
+    private String readNullableString() throws IOException {
+        return readNull() ? null : readString();
+    }
+
+    private int readInt() throws IOException {
+        int c = peekToken();
+        if (c == '"') {
+            String value = readString();
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw error("numero invalido: " + value);
+            }
+        }
+        String number = readLiteral();
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            try {
+                return (int) Double.parseDouble(number);
+            } catch (NumberFormatException e2) {
+                throw error("numero invalido: " + number);
+            }
+        }
+    }
+
+    private boolean readBoolean() throws IOException {
+        if (peekToken() == '"') {
+            return readString().equalsIgnoreCase("true");
+        }
+        String literal = readLiteral();
+        if (literal.equals("true")) return true;
+        if (literal.equals("false") || literal.equals("null")) return false;
+        try {
+            return Double.parseDouble(literal) != 0;
+        } catch (NumberFormatException e) {
+            throw error("booleano invalido: " + literal);
+        }
+    }
+
+    // consome um null se for o proximo token
+    private boolean readNull() throws IOException {
+        if (peekToken() != 'n') return false;
+        String literal = readLiteral();
+        if (!literal.equals("null")) throw error("valor invalido: " + literal);
+        return true;
+    }
+
+    // numero, true, false ou null
+    private String readLiteral() throws IOException {
+        skipWhitespace();
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c < 0) break;
+            if (c == ',' || c == '}' || c == ']' || c == ':' || isWhitespace(c)) {
+                unread();
+                break;
+            }
+            text.append((char) c);
+        }
+        if (text.length() == 0) throw error("valor esperado");
+        return text.toString();
+    }
+
+    // pula um valor qualquer (objetos e arrays aninhados sem guardar nada)
+    private void skipValue() throws IOException {
+        int c = peekToken();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            boolean inString = false;
+            while (true) {
+                c = read();
+                if (c < 0) throw error("fim inesperado do arquivo");
+                if (inString) {
+                    if (c == '\\') read();
+                    else if (c == '"') inString = false;
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (--depth == 0) return;
+                }
+            }
+        } else {
+            readLiteral();
+        }
+    }
+
+    private void expect(int expected) throws IOException {
+        int c = readToken();
+        if (c != expected) {
+            throw error("esperado '" + (char) expected + "'" + (c < 0 ? " (fim do arquivo)" : ", encontrado '" + (char) c + "'"));
+        }
+    }
+
+    // proximo caractere que nao e espaco (consumido)
+    private int readToken() throws IOException {
+        skipWhitespace();
+        return read();
+    }
+
+    // proximo caractere que nao e espaco (sem consumir)
+    private int peekToken() throws IOException {
+        skipWhitespace();
+        int c = read();
+        if (c >= 0) unread();
+        return c;
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (c < 0) return;
+            if (!isWhitespace(c)) {
+                unread();
+                return;
+            }
+        }
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            // o byte anterior continua no buffer para o unread()
+            if (limit > 0) {
+                buffer[0] = buffer[limit - 1];
+                position = 1;
+                limit = 1;
+            }
+            int count = in.read(buffer, limit, buffer.length - limit);
+            if (count <= 0) return -1;
+            limit += count;
+        }
+        int c = buffer[position++] & 0xFF;
+        if (c == '\n') line++;
+        return c;
+    }
+
+    // devolve o ultimo caractere lido (apenas um)
+    private void unread() {
+        position--;
+        if (buffer[position] == '\n') line--;
+    }
+
+    private SerializationException error(String message) {
+        return new SerializationException("levels.json linha " + line + ": " + message);
+    }
+}
@@ -0,0 +1,787 @@
+ package com.badlogic.drop.levels;
+
+import com.badlogic.drop.BitItGame;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class LevelToJSON {
+
+    /*
+     * Estrutura das gates / portas logicas
+     */
+    private static class Gate {
+        public String label;
+        public String type;
+        public ObjectMap<String, String> inputs;
+
+        public Gate(String label, String type, ObjectMap<String, String> inputs) {
+            this.label = label;
+            this.type = type;
+            this.inputs = inputs;
+        }
+    }
+
+    /*
+     * Estrutura dos inputs / bits de entrada
+     */
+    private static class Input {
+        public String label;
+
+        public Input(String label) {
+            this.label = label;
+        }
+    }
+
+    /*
+     * Estrutura dos outputs / bits de saida
+     */
+    private static class Output {
+        public String label;
+        public String input;
+
+        public Output(String label, String input) {
+            this.label = label;
+            this.input = input;
+        }
+    }
+
+    /*
+     * Estrutura do nivel completo
+     */
+    private static class Level {
+        public int id;
+        public List<Input> inputs;
+        public List<Gate> gates;
+        public List<Output> outputs;
+        public ObjectMap<String, Boolean> solution; // Mudado para usar ObjectMap diretamente
+        public int minMoves;
+        // estatisticas da conversao (nao vao para o JSON)
+        public int sharedNodes;
+        public int foldedNodes;
+
+        public Level(int id, List<Input> inputs, List<Gate> gates, List<Output> outputs, ObjectMap<String, Boolean> solution, int minMoves) {
+            this.id = id;
+            this.inputs = inputs;
+            this.gates = gates;
+            this.outputs = outputs;
+            this.solution = solution;
+            this.minMoves = minMoves;
+        }
+    }
+
+    /*
+     * No do grafo de expressoes de um nivel. Nos estruturalmente iguais sao unicos
+     * (hash-consing): AND(I0,I1), AND(I1,I0) e a mesma subexpressao em outra saida
+     * viram o mesmo no e, portanto, a mesma gate
+     */
+    private static class Node {
+        public final String type;  // tipo da gate ou null para input
+        public final String label; // label do input (so para inputs)
+        public final Node[] args;
+        public String gateLabel;   // label da gate emitida (null = ainda nao emitida)
+
+        public Node(String type, String label, Node[] args) {
+            this.type = type;
+            this.label = label;
+            this.args = args;
+        }
+
+        public boolean isInput() {
+            return type == null;
+        }
+    }
+
+    // portas cuja saida negada e outra porta do jogo (usado pelo fold de NOT)
+    private static final Map<String, String> NEGATED = new HashMap<>();
+    static {
+        NEGATED.put("AND", "NAND");
+        NEGATED.put("NAND", "AND");
+        NEGATED.put("OR", "NOR");
+        NEGATED.put("NOR", "OR");
+        NEGATED.put("XOR", "XNOR");
+        NEGATED.put("XNOR", "XOR");
+    }
+
+    // niveis por tarefa antes de dividir o trabalho
+    private static final int SEQUENTIAL_THRESHOLD = 32;
+
+    // niveis convertidos e gravados por lote (limita a memoria com arquivos grandes)
+    private static final int BATCH_SIZE = 4096;
+
+    // simplifica NOT(NOT(x)), NOT(NAND(..)) -> AND(..), AND(x,x) -> x etc.
+    // Desligado por padrao: muda as portas que o jogador ve nos niveis escritos a mao
+    private final boolean fold;
+    private final ForkJoinPool pool;
+
+    // estatisticas da ultima conversao
+    private int levelCount;
+    private int totalGates;
+    private int sharedNodes;
+    private int foldedNodes;
+
+    public LevelToJSON() {
+        this(false);
+    }
+
+    public LevelToJSON(boolean fold) {
+        this(fold, ForkJoinPool.commonPool());
+    }
+
+    public LevelToJSON(boolean fold, ForkJoinPool pool) {
+        this.fold = fold;
+        this.pool = pool;
+    }
+
+    /**
+     * Converte o arquivo de entrada (levels.txt) para o formato JSON
+     */
+    public void convertLevelsToJSON(String inputPath, String outputPath) {
+        String content = Gdx.files.internal(inputPath).readString();
+        try (Writer writer = Gdx.files.local(outputPath).writer(false, "UTF-8")) {
+            convert(content, writer);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Erro ao gravar " + outputPath, e);
+        }
+
+        System.out.println("Conversão concluída: " + outputPath);
+    }
+
+    /*
+     * Converte as linhas em lotes: os niveis de um lote sao montados em paralelo (cada um
+     * com o seu proprio LevelParser) e gravados em ordem direto no writer
+     */
+    private void convert(String content, Writer out) throws IOException {
+        List<String> lines = levelLines(content);
+        levelCount = lines.size();
+        totalGates = 0;
+        sharedNodes = 0;
+        foldedNodes = 0;
+
+        LevelJsonWriter json = new LevelJsonWriter(out);
+        json.begin();
+        Level[] batch = new Level[Math.min(BATCH_SIZE, lines.size())];
+        for (int first = 0; first < lines.size(); first += BATCH_SIZE) {
+            int count = Math.min(BATCH_SIZE, lines.size() - first);
+            pool.invoke(new ParseTask(fold, lines, first, batch, 0, count));
+            for (int i = 0; i < count; i++) {
+                Level level = batch[i];
+                json.write(level);
+                totalGates += level.gates.size();
+                sharedNodes += level.sharedNodes;
+                foldedNodes += level.foldedNodes;
+                batch[i] = null;
+            }
+        }
+        json.end();
+    }
+
+    // Linhas nao vazias do arquivo; o id do nivel e a posicao na lista + 1
+    private static List<String> levelLines(String content) {
+        List<String> lines = new ArrayList<>();
+        // Normaliza quebras de linha (Windows/Unix/Mac)
+        for (String line : content.split("\\r?\\n")) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    // Divide o intervalo de niveis ao meio ate atingir o limite sequencial
+    private static class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean fold;
+        private final List<String> lines;
+        private final int firstLine;
+        private final Level[] results;
+        private final int from;
+        private final int to;
+
+        ParseTask(boolean fold, List<String> lines, int firstLine, Level[] results, int from, int to) {
+            this.fold = fold;
+            this.lines = lines;
+            this.firstLine = firstLine;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    int line = firstLine + i;
+                    try {
+                        results[i] = new LevelParser(fold).parse(line + 1, lines.get(line));
+                    } catch (RuntimeException e) {
+                        throw new RuntimeException("Nivel " + (line + 1) + ": " + e.getMessage(), e);
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParseTask(fold, lines, firstLine, results, from, mid),
+                      new ParseTask(fold, lines, firstLine, results, mid, to));
+        }
+    }
+
+    /*
+     * Estado de conversao de um unico nivel (labels das gates, hash estrutural, inputs usados),
+     * entao niveis diferentes podem ser convertidos ao mesmo tempo
+     */
+    private static class LevelParser {
+        private final boolean fold;
+
+        private int gateCounter;
+        // chave estrutural (tipo + ids dos argumentos, ordenados nas portas comutativas) -> no
+        private final Map<String, Node> structuralHash = new HashMap<>();
+        private final Map<Node, Integer> nodeIds = new IdentityHashMap<>();
+        private final Set<String> allInputs = new TreeSet<>();
+        private final List<Gate> gates = new ArrayList<>();
+        private int sharedNodes;
+        private int foldedNodes;
+
+        // expressao sendo lida e posicao atual
+        private String text;
+        private int pos;
+
+        LevelParser(boolean fold) {
+            this.fold = fold;
+        }
+
+        /**
+         * Faz o parsing de uma linha do arquivo
+         * Formato: <expressao>;<expressao>...-<bits de saida esperados>-<minimo de movimentos>
+         */
+        Level parse(int levelId, String line) {
+            // Separa circuitos da solucao e minMoves usando "-"
+            String[] lineParts = line.split("-");
+            String circuitsPart = lineParts[0].trim();
+            String solutionPart = lineParts.length > 1 ? lineParts[1].trim() : "";
+            String minMovesPart = lineParts.length > 2 ? lineParts[2].trim() : "1";
+
+            // Parse minMoves (padrão 1 se não especificado)
+            int minMoves = 1;
+            try {
+                minMoves = Integer.parseInt(minMovesPart);
+            } catch (NumberFormatException e) {
+                System.err.println("Aviso: minMoves invalido no nivel " + levelId + ", usando padrao 1");
+            }
+
+            // Tokenizacao por ponto e virgula (separa circuitos/saidas)
+            String[] circuits = circuitsPart.split(";");
+
+            // Processa cada circuito: primeiro monta o grafo compartilhado de todas as saidas,
+            // depois emite as gates alcancaveis a partir delas
+            List<Node> roots = new ArrayList<>();
+            for (String circuit : circuits) {
+                roots.add(parseExpression(circuit));
+            }
+            List<String> outputGateLabels = new ArrayList<>();
+            for (Node root : roots) {
+                outputGateLabels.add(emitOutput(root));
+            }
+
+            // Cria os inputs
+            List<Input> inputs = new ArrayList<>();
+            for (String inputLabel : allInputs) {
+                inputs.add(new Input(inputLabel));
+            }
+
+            // Cria os outputs
+            List<Output> outputs = new ArrayList<>();
+            for (int i = 0; i < outputGateLabels.size(); i++) {
+                outputs.add(new Output("X" + i, outputGateLabels.get(i)));
+            }
+
+            // Cria a solucao
+            ObjectMap<String, Boolean> solution = parseSolution(solutionPart, outputs.size());
+
+            Level level = new Level(levelId, inputs, gates, outputs, solution, minMoves);
+            level.sharedNodes = sharedNodes;
+            level.foldedNodes = foldedNodes;
+            return level;
+        }
+
+        /**
+         * Parsing descendente recursivo de uma expressao em uma unica passada:
+         * expr = input | tipo '(' expr (',' expr)* ')'
+         * Retorna o no (compartilhado) que representa essa expressao
+         */
+        private Node parseExpression(String expr) {
+            text = expr;
+            pos = 0;
+            Node node = parseNode();
+            skipSpaces();
+            if (pos != text.length()) {
+                throw invalid("fim da expressao esperado");
+            }
+            return node;
+        }
+
+        private Node parseNode() {
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && isNameChar(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos == start) {
+                throw invalid("nome de gate ou input esperado");
+            }
+            String name = text.substring(start, pos);
+            skipSpaces();
+
+            // Verifica se eh um input direto (I0, I1, I2, ...)
+            if (pos == text.length() || text.charAt(pos) != '(') {
+                if (isInputLabel(name)) {
+                    return makeInput(name);
+                }
+                throw invalid("'(' esperado depois de " + name);
+            }
+            pos++;
+
+            // Argumentos separados por virgula, cada um processado recursivamente
+            List<Node> args = new ArrayList<>(2);
+            while (true) {
+                args.add(parseNode());
+                skipSpaces();
+                if (pos < text.length() && text.charAt(pos) == ',') {
+                    pos++;
+                    continue;
+                }
+                break;
+            }
+            if (pos == text.length() || text.charAt(pos) != ')') {
+                throw invalid("',' ou ')' esperado");
+            }
+            pos++;
+
+            return makeGate(name, args.toArray(new Node[0]));
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_';
+        }
+
+        // I seguido so de digitos
+        private static boolean isInputLabel(String name) {
+            if (name.length() < 2 || name.charAt(0) != 'I') return false;
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isDigit(name.charAt(i))) return false;
+            }
+            return true;
+        }
+
+        private RuntimeException invalid(String reason) {
+            return new RuntimeException("Expressao invalida: " + text.trim() + " (" + reason + ", posicao " + pos + ")");
+        }
+
+        private Node makeInput(String label) {
+            String key = label;
+            Node node = structuralHash.get(key);
+            if (node == null) {
+                node = new Node(null, label, new Node[0]);
+                register(key, node);
+            }
+            return node;
+        }
+
+        /**
+         * Retorna o no da gate, reaproveitando um no estruturalmente igual se ja existir.
+         * Todas as portas de duas ou mais entradas do jogo sao comutativas, entao a chave usa
+         * os argumentos ordenados; a gate emitida mantem a ordem de quem apareceu primeiro.
+         */
+        private Node makeGate(String type, Node[] args) {
+            if (fold) {
+                Node folded = foldGate(type, args);
+                if (folded != null) {
+                    foldedNodes++;
+                    return folded;
+                }
+            }
+
+            int[] ids = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                ids[i] = nodeIds.get(args[i]);
+            }
+            if (!type.equals("NOT")) {
+                Arrays.sort(ids);
+            }
+            StringBuilder key = new StringBuilder(type).append('(');
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0) key.append(',');
+                key.append(ids[i]);
+            }
+            key.append(')');
+
+            String structure = key.toString();
+            Node node = structuralHash.get(structure);
+            if (node != null) {
+                sharedNodes++;
+                return node;
+            }
+            node = new Node(type, null, args);
+            register(structure, node);
+            return node;
+        }
+
+        private void register(String key, Node node) {
+            nodeIds.put(node, nodeIds.size());
+            structuralHash.put(key, node);
+        }
+
+        /**
+         * Simplificacoes locais (so com fold ligado). Retorna null se nada se aplica.
+         * A linguagem dos niveis nao tem constantes nem porta de constante, entao padroes
+         * como XOR(x,x) ficam como estao.
+         */
+        private Node foldGate(String type, Node[] args) {
+            if (type.equals("NOT") && args.length == 1) {
+                Node arg = args[0];
+                if ("NOT".equals(arg.type)) {
+                    return arg.args[0]; // NOT(NOT(x)) -> x
+                }
+                String negated = NEGATED.get(arg.type);
+                if (negated != null && arg.args.length > 1) {
+                    return makeGate(negated, arg.args); // NOT(NAND(a,b)) -> AND(a,b)
+                }
+            }
+            if ((type.equals("AND") || type.equals("OR")) && args.length > 1) {
+                for (Node arg : args) {
+                    if (arg != args[0]) {
+                        return null;
+                    }
+                }
+                return args[0]; // AND(x,x) -> x, OR(x,x) -> x
+            }
+            return null;
+        }
+
+        /**
+         * Emite as gates da saida (filhos antes dos pais, cada no uma unica vez)
+         * Retorna o label da gate ligada na saida
+         */
+        private String emitOutput(Node root) {
+            if (root.isInput()) {
+                // o fold reduziu a saida a um input, mas saidas precisam vir de uma gate:
+                // AND(x,x) funciona como buffer
+                allInputs.add(root.label);
+                ObjectMap<String, String> gateInputs = new ObjectMap<>();
+                gateInputs.put("0", root.label);
+                gateInputs.put("1", root.label);
+                String gateLabel = String.valueOf(gateCounter++);
+                gates.add(new Gate(gateLabel, "AND", gateInputs));
+                return gateLabel;
+            }
+            return emit(root);
+        }
+
+        private String emit(Node node) {
+            if (node.isInput()) {
+                allInputs.add(node.label);
+                return node.label;
+            }
+            if (node.gateLabel != null) {
+                return node.gateLabel;
+            }
+
+            ObjectMap<String, String> gateInputs = new ObjectMap<>();
+            for (int i = 0; i < node.args.length; i++) {
+                gateInputs.put(String.valueOf(i), emit(node.args[i]));
+            }
+
+            // Cria a gate
+            node.gateLabel = String.valueOf(gateCounter++);
+            gates.add(new Gate(node.gateLabel, node.type, gateInputs));
+            return node.gateLabel;
+        }
+
+        /**
+         * Faz o parsing da solucao (valores esperados das saidas)
+         * Formato: "1,0,1" significa X0=true, X1=false, X2=true
+         */
+        private ObjectMap<String, Boolean> parseSolution(String solutionString, int numOutputs) {
+            ObjectMap<String, Boolean> values = new ObjectMap<>();
+
+            if (solutionString.isEmpty()) {
+                // Se nao ha solucao, retorna null
+                return null;
+            }
+
+            String[] parts = solutionString.split(",");
+            for (int i = 0; i < parts.length && i < numOutputs; i++) {
+                String value = parts[i].trim();
+                boolean boolValue = value.equals("1");
+                values.put("X" + i, boolValue);
+            }
+
+            return values;
+        }
+    }
+
+    /*
+     * Grava o JSON nivel a nivel direto no writer, no mesmo formato do Json.prettyPrint
+     * usado antes (tabs, uma chave por linha), sem montar a arvore do arquivo em memoria
+     */
+    private static class LevelJsonWriter {
+        private final Writer out;
+        private int written;
+
+        LevelJsonWriter(Writer out) {
+            this.out = out;
+        }
+
+        void begin() throws IOException {
+            out.write("{\n\"levels\": [");
+        }
+
+        void write(Level level) throws IOException {
+            out.write(written++ == 0 ? "\n\t{\n" : ",\n\t{\n");
+            out.write("\t\t\"id\": " + level.id + ",\n");
+
+            out.write("\t\t\"inputs\": [");
+            for (int i = 0; i < level.inputs.size(); i++) {
+                out.write(i == 0 ? "\n\t\t\t{\n" : ",\n\t\t\t{\n");
+                field(4, "label", level.inputs.get(i).label, false);
+                out.write("\t\t\t}");
+            }
+            closeArray(level.inputs.isEmpty());
+
+            out.write("\t\t\"gates\": [");
+            for (int i = 0; i < level.gates.size(); i++) {
+                Gate gate = level.gates.get(i);
+                out.write(i == 0 ? "\n\t\t\t{\n" : ",\n\t\t\t{\n");
+                field(4, "label", gate.label, true);
+                field(4, "type", gate.type, true);
+                out.write("\t\t\t\t\"inputs\": {");
+                boolean first = true;
+                for (ObjectMap.Entry<String, String> input : gate.inputs) {
+                    out.write(first ? "\n" : ",\n");
+                    first = false;
+                    field(5, input.key, input.value, false, false);
+                }
+                out.write(first ? "}\n" : "\n\t\t\t\t}\n");
+                out.write("\t\t\t}");
+            }
+            closeArray(level.gates.isEmpty());
+
+            out.write("\t\t\"outputs\": [");
+            for (int i = 0; i < level.outputs.size(); i++) {
+                Output output = level.outputs.get(i);
+                out.write(i == 0 ? "\n\t\t\t{\n" : ",\n\t\t\t{\n");
+                field(4, "label", output.label, true);
+                field(4, "input", output.input, false);
+                out.write("\t\t\t}");
+            }
+            closeArray(level.outputs.isEmpty());
+
+            if (level.solution == null) {
+                out.write("\t\t\"solution\": null,\n");
+            } else {
+                out.write("\t\t\"solution\": {");
+                boolean first = true;
+                for (ObjectMap.Entry<String, Boolean> value : level.solution) {
+                    out.write(first ? "\n\t\t\t" : ",\n\t\t\t");
+                    first = false;
+                    out.write(quote(value.key) + ": " + value.value);
+                }
+                out.write(first ? "},\n" : "\n\t\t},\n");
+            }
+
+            out.write("\t\t\"minMoves\": " + level.minMoves + "\n");
+            out.write("\t}");
+        }
+
+        void end() throws IOException {
+            out.write(written == 0 ? "]\n}" : "\n]\n}");
+        }
+
+        private void closeArray(boolean empty) throws IOException {
+            out.write(empty ? "],\n" : "\n\t\t],\n");
+        }
+
+        private void field(int depth, String name, String value, boolean comma) throws IOException {
+            field(depth, name, value, comma, true);
+        }
+
+        private void field(int depth, String name, String value, boolean comma, boolean newline) throws IOException {
+            for (int i = 0; i < depth; i++) {
+                out.write('\t');
+            }
+            out.write(quote(name) + ": " + quote(value));
+            if (comma) out.write(',');
+            if (newline) out.write('\n');
+        }
+
+        private static String quote(String value) {
+            StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"': sb.append("\\\""); break;
+                    case '\\': sb.append("\\\\"); break;
+                    case '\n': sb.append("\\n"); break;
+                    case '\r': sb.append("\\r"); break;
+                    case '\t': sb.append("\\t"); break;
+                    default: sb.append(c);
+                }
+            }
+            return sb.append('"').toString();
+        }
+    }
+
+    /**
+     * Versao standalone que nao depende do contexto libGDX para executar na raiz do projeto
+     * Usa Java IO padrao para ler e escrever arquivos
+     */
+    public void convertLevelsToJSONStandalone(String inputPath, String outputPath) throws IOException {
+        // Le o arquivo de entrada
+        String content = new String(Files.readAllBytes(Paths.get(inputPath)), StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        try (Writer writer = Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8)) {
+            convert(content, writer);
+        }
+        long converted = System.nanoTime();
+
+        // Rele o arquivo gerado com o mesmo leitor em streaming usado pelo jogo
+        Array<LevelDescriptor> readBack = validateOutput(outputPath);
+        if (readBack.size != levelCount) {
+            throw new IOException("levels.json gerado tem " + readBack.size + " niveis, esperado " + levelCount);
+        }
+
+        // Pacote binario com os mesmos niveis (lido pelo LevelManager quando existir)
+        String packPath = outputPath.replaceFirst("\\.json$", "") + ".bin";
+        // com o layout ja calculado para a resolucao virtual do jogo
+        int checksum = LevelPack.checksum(Files.readAllBytes(Paths.get(outputPath)));
+        byte[] pack = LevelPack.encode(readBack, checksum, BitItGame.VIRTUAL_WIDTH, BitItGame.VIRTUAL_HEIGHT);
+        Files.write(Paths.get(packPath), pack);
+
+        System.out.println("Conversao concluida!");
+        System.out.println("Arquivo de entrada: " + inputPath);
+        System.out.println("Arquivo de saida: " + outputPath);
+        System.out.println("Pacote binario: " + packPath + " (" + pack.length + " bytes, json " + Files.size(Paths.get(outputPath)) + ")");
+        System.out.println("Total de niveis: " + levelCount + " (" + (converted - start) / 1000000 + " ms em "
+            + pool.getParallelism() + " thread(s))");
+        System.out.println("Total de gates: " + totalGates + " (" + sharedNodes + " subexpressoes compartilhadas"
+            + (fold ? ", " + foldedNodes + " simplificadas" : "") + ")");
+    }
+
+    /**
+     * Gera so o levels.bin a partir de um levels.json existente (editado a mao ou no hot-reload),
+     * sem reescrever o json
+     */
+    public void packStandalone(String jsonPath) throws IOException {
+        Array<LevelDescriptor> levels = validateOutput(jsonPath);
+        String packPath = jsonPath.replaceFirst("\\.json$", "") + ".bin";
+        int checksum = LevelPack.checksum(Files.readAllBytes(Paths.get(jsonPath)));
+        byte[] pack = LevelPack.encode(levels, checksum, BitItGame.VIRTUAL_WIDTH, BitItGame.VIRTUAL_HEIGHT);
+        Files.write(Paths.get(packPath), pack);
+
+        System.out.println("Pacote binario: " + packPath + " (" + pack.length + " bytes, json " + Files.size(Paths.get(jsonPath)) + ")");
+        System.out.println("Total de niveis: " + levels.size);
+    }
+
+    /*
+     * Le o levels.json gerado nivel a nivel (LevelReader) e confere as conexoes
+     * @return niveis lidos
+     */
+    private Array<LevelDescriptor> validateOutput(String outputPath) throws IOException {
+        Array<LevelDescriptor> descriptors = new Array<>();
+        LevelReader reader = new LevelReader(Files.newInputStream(Paths.get(outputPath)));
+        try {
+            LevelDescriptor descriptor;
+            while ((descriptor = reader.next()) != null) {
+                Set<String> labels = new HashSet<>();
+                for (String input : descriptor.getInputs()) {
+                    labels.add(input);
+                }
+                for (LevelDescriptor.GateDescriptor gate : descriptor.getGates()) {
+                    labels.add(gate.getLabel());
+                }
+                for (LevelDescriptor.GateDescriptor gate : descriptor.getGates()) {
+                    for (int i = 0; i < gate.getInputCount(); i++) {
+                        if (!labels.contains(gate.getInputSource(i))) {
+                            throw new IOException("Nivel " + descriptor.getId() + ": porta " + gate.getLabel()
+                                + " ligada em " + gate.getInputSource(i) + " inexistente");
+                        }
+                    }
+                }
+                for (LevelDescriptor.OutputDescriptor output : descriptor.getOutputs()) {
+                    if (!labels.contains(output.getInput())) {
+                        throw new IOException("Nivel " + descriptor.getId() + ": saida " + output.getLabel()
+                            + " ligada em " + output.getInput() + " inexistente");
+                    }
+                }
+                descriptors.add(descriptor);
+            }
+        } finally {
+            reader.close();
+        }
+        return descriptors;
+    }
+
+    /**
+     * Metodo main: converte o levels.txt (ou so refaz o pacote com --pack) e termina com codigo 1 em caso de erro
+     */
+    public static void main(String[] args) {
+        try {
+            // --fold: simplifica padroes como NOT(NAND(..)) e NOT(NOT(x))
+            LevelToJSON converter = new LevelToJSON(Arrays.asList(args).contains("--fold"));
+
+            // Define os caminhos dos arquivos
+            String projectRoot = System.getProperty("user.dir");
+
+            // Se estamos em core/, sobe um nivel para a raiz do projeto
+            if (projectRoot.endsWith("core")) {
+                projectRoot = projectRoot.substring(0, projectRoot.length() - 5);
+            }
+
+            // caminhos opcionais (ex.: niveis do LevelGenerator): [entrada.txt] [saida.json]
+            List<String> paths = new ArrayList<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--")) paths.add(arg);
+            }
+            String inputPath = paths.size() > 0 ? paths.get(0) : projectRoot + "/assets/levels/levels.txt";
+            String outputPath = paths.size() > 1 ? paths.get(1) : projectRoot + "/assets/levels/levels.json";
+
+            // --pack [levels.json]: so refaz o levels.bin a partir do json
+            if (Arrays.asList(args).contains("--pack")) {
+                String jsonPath = paths.size() > 0 ? paths.get(0) : projectRoot + "/assets/levels/levels.json";
+                System.out.println("=== Empacotador de Niveis JSON para BIN ===");
+                converter.packStandalone(jsonPath);
+                return;
+            }
+
+            System.out.println("=== Conversor de Niveis TXT para JSON ===");
+            System.out.println("Diretorio de trabalho: " + projectRoot);
+            System.out.println();
+
+            converter.convertLevelsToJSONStandalone(inputPath, outputPath);
+
+        } catch (Exception e) {
+            System.err.println("Erro durante a conversao:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.badlogic.drop.levels;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Observa o levels.json durante o desenvolvimento (hot-reload, ver LevelManager.reloadLevels).
+ * So existe no desktop, quando o launcher liga o modo; nas outras plataformas fica null.
+ */
+public interface LevelWatcher {
+
+    /**
+     * Comeca a observar o arquivo. O listener roda na thread de render, uma vez por
+     * gravacao (gravacoes seguidas do editor sao agrupadas)
+     *
+     * @return false se o arquivo nao esta no disco (ex.: dentro do jar)
+     */
+    boolean watch(FileHandle file, Runnable listener);
+
+    /** Para de observar e encerra a thread */
+    void dispose();
+}
@@ -0,0 +1,56 @@
+package com.badlogic.drop.levels;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Progresso em arquivos (desktop): progress.bin (snapshot) e progress.journal.
+ * O snapshot novo e escrito inteiro em um arquivo temporario; so depois o anterior e apagado
+ * e o temporario renomeado (sem depender de um rename que substitua o destino, que nao existe
+ * em todas as plataformas). Um fechamento no meio mantem um snapshot completo: o anterior,
+ * ou o temporario quando o anterior ja foi apagado. O journal que sobrar de antes do snapshot
+ * e reconhecido pela geracao e ignorado pelo LevelProgress.
+ */
+public class LocalProgressStore implements ProgressStore {
+    private final FileHandle snapshot;
+    private final FileHandle journal;
+    private final FileHandle temp;
+
+    public LocalProgressStore(FileHandle dir) {
+        snapshot = dir.child("progress.bin");
+        journal = dir.child("progress.journal");
+        temp = dir.child("progress.bin.tmp");
+    }
+
+    @Override
+    public byte[] readSnapshot() {
+        if (temp.exists()) {
+            if (snapshot.exists()) {
+                // compactacao interrompida antes de apagar o snapshot anterior: ele vale
+                temp.delete();
+            } else {
+                // o anterior ja foi apagado, entao o temporario foi escrito por completo
+                temp.moveTo(snapshot);
+            }
+        }
+        return snapshot.exists() ? snapshot.readBytes() : null;
+    }
+
+    @Override
+    public byte[] readJournal() {
+        return journal.exists() ? journal.readBytes() : null;
+    }
+
+    @Override
+    public void appendJournal(byte[] data, int length) {
+        journal.writeBytes(data, 0, length, true);
+    }
+
+    @Override
+    public void writeSnapshot(byte[] data, int length) {
+        temp.writeBytes(data, 0, length, false);
+        snapshot.delete();
+        temp.moveTo(snapshot);
+        // se fechar antes disto, o journal antigo fica com a geracao anterior e e ignorado ao carregar
+        journal.delete();
+    }
+}
@@ -0,0 +1,61 @@
+package com.badlogic.drop.levels;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+
+/**
+ * Progresso no Preferences (web: localStorage do navegador).
+ * Snapshot e journal ficam em duas chaves, com os bytes em hexadecimal.
+ */
+public class PreferencesProgressStore implements ProgressStore {
+    private static final String SNAPSHOT = "snapshot";
+    private static final String JOURNAL = "journal";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Preferences preferences;
+
+    public PreferencesProgressStore(String name) {
+        preferences = Gdx.app.getPreferences(name);
+    }
+
+    @Override
+    public byte[] readSnapshot() {
+        return decode(preferences.getString(SNAPSHOT, null));
+    }
+
+    @Override
+    public byte[] readJournal() {
+        return decode(preferences.getString(JOURNAL, null));
+    }
+
+    @Override
+    public void appendJournal(byte[] data, int length) {
+        preferences.putString(JOURNAL, preferences.getString(JOURNAL, "") + encode(data, length));
+        preferences.flush();
+    }
+
+    @Override
+    public void writeSnapshot(byte[] data, int length) {
+        preferences.putString(SNAPSHOT, encode(data, length));
+        preferences.remove(JOURNAL);
+        preferences.flush();
+    }
+
+    private static String encode(byte[] data, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            chars[i * 2] = HEX[(data[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[data[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static byte[] decode(String text) {
+        if (text == null) return null;
+        byte[] data = new byte[text.length() / 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ((Character.digit(text.charAt(i * 2), 16) << 4) | Character.digit(text.charAt(i * 2 + 1), 16));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,23 @@
+package com.badlogic.drop.levels;
+
+/**
+ * Armazenamento persistente do progresso (usado pelo LevelProgress).
+ * O progresso fica em um snapshot compacto mais um journal onde cada alteracao e
+ * apenas acrescentada; de tempos em tempos o LevelProgress grava um snapshot novo,
+ * que substitui o anterior e esvazia o journal (compactacao).
+ * Os metodos podem ser chamados fora da thread de render.
+ */
+public interface ProgressStore {
+
+    /** Snapshot gravado por ultimo (null se nao houver) */
+    byte[] readSnapshot();
+
+    /** Conteudo do journal (null ou vazio se nao houver) */
+    byte[] readJournal();
+
+    /** Acrescenta registros no fim do journal */
+    void appendJournal(byte[] data, int length);
+
+    /** Substitui o snapshot e esvazia o journal */
+    void writeSnapshot(byte[] data, int length);
+}
@@ -1,5 +1,6 @@
 package com.badlogic.drop.screens;
 
+import com.badlogic.drop.Assets;
 import com.badlogic.drop.BitItGame;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
@@ -28,11 +29,11 @@ public class CreditsScreen implements Screen {
 
          // Carrega texturas
         try {
-            backgroundTexture = new Texture(Gdx.files.internal("textures/guides/creditsscreen.png"));
+            backgroundTexture = Assets.getInstance().acquire("textures/guides/creditsscreen.png");
             backgroundImage = new Image(backgroundTexture);
             backgroundImage.setScale(0.5f);
 
-            buttonBackTexture = new Texture(Gdx.files.internal("textures/UI/pageup.png"));
+            buttonBackTexture = Assets.getInstance().acquire("textures/UI/pageup.png");
 
         } catch (Exception e) {
             Gdx.app.error("CreditsScreen", "Erro ao carregar texturas", e);
@@ -105,7 +106,7 @@ public class CreditsScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (buttonBackTexture != null) buttonBackTexture.dispose();
+        if (backgroundTexture != null) Assets.getInstance().release("textures/guides/creditsscreen.png");
+        if (buttonBackTexture != null) Assets.getInstance().release("textures/UI/pageup.png");
     }
 }
@@ -0,0 +1,256 @@
+package com.badlogic.drop.screens;
+
+import com.badlogic.drop.Assets;
+import com.badlogic.drop.BitItGame;
+import com.badlogic.drop.entities.CircuitEditor;
+import com.badlogic.drop.entities.Wire;
+import com.badlogic.drop.entities.gates.InputBits;
+import com.badlogic.drop.entities.gates.LogicGate;
+import com.badlogic.drop.ui.GateRenderer;
+import com.badlogic.drop.ui.WireRenderer;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Modo sandbox: o jogador monta o proprio circuito (desktop, mouse e teclado).
+ *
+ * 1-7 adicionam AND, OR, NOT, XOR, NAND, NOR, XNOR no mouse; I adiciona um input e O um output.
+ * Arrastar com o botao esquerdo move a porta (clique num input inverte o valor).
+ * Arrastar com o botao direito de uma porta ate outra cria um fio (a entrada e a mais proxima do mouse).
+ * DEL remove a porta sob o mouse, X remove os fios que chegam nela e ESC volta ao menu.
+ *
+ * Cada edicao atualiza so a regiao afetada do circuito (ver CircuitEditor).
+ */
+public class EditorScreen implements Screen {
+    private static final String[] GATE_KEY_TYPES = {"AND", "OR", "NOT", "XOR", "NAND", "NOR", "XNOR"};
+    // distancia minima (pixels do mundo) para um clique virar arraste
+    private static final float DRAG_THRESHOLD = 6f;
+
+    private final BitItGame game;
+    private final Stage stage;
+    private final Viewport viewport;
+    private Texture backgroundTexture;
+
+    private final CircuitEditor editor = new CircuitEditor();
+    private final GateRenderer gateRenderer = new GateRenderer();
+    private final WireRenderer wireRenderer = new WireRenderer();
+    private final BitmapFont font;
+
+    private final Vector2 mousePos = new Vector2();
+    private final Vector2 pressPos = new Vector2();
+    private LogicGate dragGate;   // porta sendo movida (botao esquerdo)
+    private float dragOffsetX, dragOffsetY;
+    private boolean dragMoved;
+    private LogicGate wireSource; // porta de origem do fio sendo criado (botao direito)
+
+    private String status = "";   // resumo da ultima edicao (refeito so quando algo muda)
+    private String error;
+    private boolean disposed;
+
+    private final boolean debug = false;
+
+    public EditorScreen(final BitItGame game) {
+        this.game = game;
+        try {
+            backgroundTexture = Assets.getInstance().acquire("textures/UI/gamescreen.png");
+        } catch (Exception e) {
+            Gdx.app.error("EditorScreen", "Erro ao carregar texturas", e);
+            throw e;
+        }
+
+        stage = new Stage(new FitViewport(BitItGame.VIRTUAL_WIDTH, BitItGame.VIRTUAL_HEIGHT));
+        viewport = stage.getViewport();
+        Image backgroundImage = new Image(backgroundTexture);
+        backgroundImage.setFillParent(true);
+        stage.addActor(backgroundImage);
+
+        font = new BitmapFont();
+        font.setColor(Color.WHITE);
+        font.getData().setScale(1.2f);
+
+        editor.setDebugMode(debug);
+        wireRenderer.setDebug(debug);
+        updateStatus();
+    }
+
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(stage);
+    }
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0.1f, 0.1f, 0.15f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        mousePos.set(Gdx.input.getX(), Gdx.input.getY());
+        viewport.unproject(mousePos);
+        if (handleInput()) {
+            return; // voltou ao menu
+        }
+
+        viewport.apply();
+        stage.act(Math.min(delta, 1 / 30f));
+        stage.draw();
+
+        ShapeRenderer shapes = wireRenderer.getShapeRenderer();
+        shapes.setProjectionMatrix(viewport.getCamera().combined);
+        wireRenderer.renderAll(editor.getWires());
+        if (wireSource != null) {
+            // fio em construcao: da saida da porta de origem ate o mouse
+            shapes.begin(ShapeRenderer.ShapeType.Line);
+            shapes.setColor(Color.YELLOW);
+            shapes.line(wireSource.getX() + wireSource.getWidth() / 2, wireSource.getY() + wireSource.getHeight() - 30,
+                mousePos.x, mousePos.y);
+            shapes.end();
+        }
+
+        game.batch.setProjectionMatrix(viewport.getCamera().combined);
+        game.batch.begin();
+        gateRenderer.render(game.batch, editor.getGates());
+        font.setColor(Color.WHITE);
+        font.draw(game.batch, status, 10, BitItGame.VIRTUAL_HEIGHT - 10);
+        font.draw(game.batch, "1-7 portas, I input, O output, DEL remove, ESC menu", 10, 30);
+        if (error != null) {
+            font.setColor(Color.SALMON);
+            font.draw(game.batch, error, 10, BitItGame.VIRTUAL_HEIGHT - 40, BitItGame.VIRTUAL_WIDTH - 20, Align.left, true);
+        }
+        game.batch.end();
+    }
+
+    /**
+     * Gerencia entrada do usuario
+     *
+     * @return true se a tela foi trocada
+     */
+    private boolean handleInput() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+            game.setScreen(new MenuScreen(game)); // o BitItGame libera esta tela no proximo frame
+            return true;
+        }
+
+        // novas portas na posicao do mouse (centralizadas)
+        for (int i = 0; i < GATE_KEY_TYPES.length; i++) {
+            if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1 + i)) {
+                addGate(GATE_KEY_TYPES[i]);
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.I)) addGate("INPUT");
+        if (Gdx.input.isKeyJustPressed(Input.Keys.O)) addGate("OUTPUT");
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.FORWARD_DEL) || Gdx.input.isKeyJustPressed(Input.Keys.DEL)) {
+            LogicGate gate = editor.gateAt(mousePos.x, mousePos.y);
+            if (gate != null) {
+                editor.removeGate(gate);
+                gateRenderer.invalidate(); // as portas seguintes mudaram de indice
+                if (gate == dragGate) dragGate = null;
+                if (gate == wireSource) wireSource = null;
+                updateStatus();
+            }
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.X)) {
+            LogicGate gate = editor.gateAt(mousePos.x, mousePos.y);
+            if (gate != null) {
+                editor.disconnectInputs(gate);
+                updateStatus();
+            }
+        }
+
+        // botao esquerdo: mover porta / inverter input
+        if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
+            dragGate = editor.gateAt(mousePos.x, mousePos.y);
+            if (dragGate != null) {
+                pressPos.set(mousePos);
+                dragOffsetX = mousePos.x - dragGate.getX();
+                dragOffsetY = mousePos.y - dragGate.getY();
+                dragMoved = false;
+            }
+        }
+        if (dragGate != null) {
+            if (Gdx.input.isButtonPressed(Input.Buttons.LEFT)) {
+                if (dragMoved || pressPos.dst2(mousePos) > DRAG_THRESHOLD * DRAG_THRESHOLD) {
+                    dragMoved = true;
+                    editor.moveGate(dragGate, mousePos.x - dragOffsetX, mousePos.y - dragOffsetY);
+                }
+            } else {
+                if (!dragMoved && dragGate instanceof InputBits) {
+                    editor.toggleInput((InputBits) dragGate);
+                    if (debug) Gdx.app.log("EditorScreen", "Input " + dragGate.getLabel() + " -> " + dragGate.getOutput());
+                    updateStatus();
+                }
+                dragGate = null;
+            }
+        }
+
+        // botao direito: fio da porta de origem ate a porta onde o botao for solto
+        if (Gdx.input.isButtonJustPressed(Input.Buttons.RIGHT)) {
+            wireSource = editor.gateAt(mousePos.x, mousePos.y);
+        }
+        if (wireSource != null && !Gdx.input.isButtonPressed(Input.Buttons.RIGHT)) {
+            LogicGate target = editor.gateAt(mousePos.x, mousePos.y);
+            if (target != null && target != wireSource && target.getNumInputs() > 0) {
+                // entrada mais proxima do mouse (as entradas dividem a largura da porta)
+                int port = (int) ((mousePos.x - target.getX()) / (target.getWidth() / target.getNumInputs()));
+                port = Math.max(0, Math.min(target.getNumInputs() - 1, port));
+                Wire wire = editor.connect(wireSource, target, port);
+                if (debug && wire != null) Gdx.app.log("EditorScreen", "Fio " + wireSource.getLabel() + " -> " + target.getLabel());
+                updateStatus();
+            }
+            wireSource = null;
+        }
+        return false;
+    }
+
+    private void addGate(String type) {
+        LogicGate gate = editor.addGate(type, mousePos.x, mousePos.y);
+        editor.moveGate(gate, mousePos.x - gate.getWidth() / 2, mousePos.y - gate.getHeight() / 2);
+        updateStatus();
+    }
+
+    // texto do topo: tamanho do circuito e custo da ultima edicao
+    private void updateStatus() {
+        status = "Portas: " + editor.getGates().size + "  Fios: " + editor.getWires().size
+            + "  (ultima edicao: " + editor.getLastVisited() + " visitada(s), "
+            + editor.getLastTouched() + " recalculada(s))";
+        error = editor.getLastError();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) return;
+        disposed = true;
+        stage.dispose();
+        wireRenderer.dispose();
+        font.dispose();
+        if (backgroundTexture != null) Assets.getInstance().release("textures/UI/gamescreen.png");
+    }
+}
@@ -1,5 +1,7 @@
 package com.badlogic.drop.screens;
 
+import com.badlogic.drop.AllocationCounter;
+import com.badlogic.drop.Assets;
 import com.badlogic.drop.BitItGame;
 import com.badlogic.drop.entities.Circuit;
 import com.badlogic.drop.entities.gates.InputBits;
@@ -7,20 +9,23 @@ import com.badlogic.drop.levels.Level;
 import com.badlogic.drop.levels.LevelManager;
 import com.badlogic.drop.levels.LevelProgress;
 import com.badlogic.drop.ui.ExpectedOutputs;
+import com.badlogic.drop.ui.GateRenderer;
 import com.badlogic.drop.ui.WireRenderer;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 //import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
@@ -40,10 +45,12 @@ public class GameScreen implements Screen {
 
     private Circuit circuit;
     private WireRenderer wireRenderer;
+    private final GateRenderer gateRenderer = new GateRenderer();
     private Viewport viewport;
     private LevelManager levelManager;
 
     private final Vector2 touchPos;
+    private final IntArray touchHits = new IntArray(4); // portas sob o toque (reaproveitado)
     private final BitmapFont debugFont;
     //private final Label movesLabel;
 
@@ -51,19 +58,36 @@ public class GameScreen implements Screen {
     private final LevelCompletePopUp levelupPopup;
     private ExpectedOutputs expectedOutputsPanel;
 
+    // niveis sequenciais: um ciclo do clock a cada CLOCK_PERIOD segundos
+    private static final float CLOCK_PERIOD = 0.5f;
+    private float clockTime = 0f;
+
     private boolean levelCompleted = false;
     private boolean firstMove = false;
+    private boolean debug = false;
+
+    // overlay de alocacoes (desktop, F3): bytes alocados pelo render de cada frame e coletas de lixo
+    private final AllocationCounter allocationCounter;
+    private boolean showAllocations = false;
+    private long frameBytes;
+    private long maxFrameBytes;
+    private long shownBytes = -1;
+    private long shownMaxBytes = -1;
+    private long shownCollections = -1;
+    private float allocationWindow;
+    private final StringBuilder allocationText = new StringBuilder(64);
+    private final GlyphLayout allocationLayout = new GlyphLayout();
 
     public GameScreen(final BitItGame game, int levelId) {
-        game.batch = new SpriteBatch();
         this.game = game;
         this.levelId = levelId;
         this.moves = 0;
+        this.allocationCounter = game.allocationCounter;
         Gdx.app.log("GameScreen", "Iniciando nivel " + (levelId + 1));
 
         // Carrega texturas
         try {
-            backgroundTexture = new Texture(Gdx.files.internal("textures/UI/gamescreen.png"));
+            backgroundTexture = Assets.getInstance().acquire("textures/UI/gamescreen.png");
             backgroundImage = new Image(backgroundTexture);
             backgroundImage.setScale(0.5f);
         } catch (Exception e) {
@@ -156,20 +180,23 @@ public class GameScreen implements Screen {
                 // Cria renderizador de fios
                 if (wireRenderer == null) {
                     wireRenderer = new WireRenderer();
+                    wireRenderer.setDebug(debug);
                 }
 
-                wireRenderer.renderAll(circuit.getWires());
-                //carrega sprites das portas
-                game.batch.begin();
-                for (com.badlogic.drop.entities.gates.LogicGate gate : circuit.getAllGates()) {
-                    if (gate != null) gate.render(game.batch);
+                // debug: confere que as portas saem num draw call so (todas no mesmo atlas)
+                if (debug) {
+                    game.batch.begin();
+                    gateRenderer.render(game.batch, circuit);
+                    game.batch.end();
+                    Gdx.app.log("GameScreen", "Portas desenhadas com " + game.batch.renderCalls + " draw call(s), "
+                        + Assets.getInstance().getGateTextureCount() + " textura(s) de portas");
                 }
-                game.batch.end();
 
                 // Cria painel de saídas esperadas no topo da tela
                 float yPosition = BitItGame.VIRTUAL_HEIGHT - 105; // 120 pixels do topo
                 expectedOutputsPanel = new ExpectedOutputs(
-                    circuit.getExpectedOutput(),
+                    circuit.getExpectedOutputBits(),
+                    circuit.getOutputCount(),
                     BitItGame.VIRTUAL_WIDTH,
                     yPosition
                 );
@@ -183,6 +210,57 @@ public class GameScreen implements Screen {
         }
     }
 
+    /**
+     * Hot-reload do levels.json (desktop, desenvolvimento): se o nivel aberto esta entre os alterados,
+     * troca o circuito pelo novo e mantem a partida (valores dos inputs com o mesmo label,
+     * movimentos e nivel concluido)
+     *
+     * @param changed indices dos niveis alterados (LevelManager.reloadLevels)
+     */
+    public void reloadLevel(IntArray changed) {
+        if (!changed.contains(levelId)) return;
+        Level reloaded = levelManager.getLevel(levelId);
+        if (reloaded == null) {
+            Gdx.app.error("GameScreen", "Hot-reload: nivel " + (levelId + 1) + " removido do levels.json");
+            game.setScreen(new LevelsScreen(game, levelId / 6));
+            return;
+        }
+        Circuit previous = circuit;
+        currentLevel = reloaded;
+        circuit = reloaded.getCircuit();
+        circuit.resetInputs();
+
+        // inputs que continuam com o mesmo label mantem o valor (o clock recomeca)
+        if (previous != null) {
+            Array<InputBits> oldInputs = previous.getInputs();
+            for (InputBits input : circuit.getInputs()) {
+                if (input == circuit.getClock()) continue;
+                for (InputBits old : oldInputs) {
+                    if (old.getLabel().equals(input.getLabel())) {
+                        input.setValue(old.getValue());
+                        break;
+                    }
+                }
+            }
+        }
+        circuit.updateAllPos((int)BitItGame.VIRTUAL_WIDTH, (int)BitItGame.VIRTUAL_HEIGHT);
+        circuit.evaluate();
+        clockTime = 0f;
+
+        // fios e sprites sao refeitos no proximo render (outro circuito); o painel muda de tamanho
+        // com o numero de saidas, entao e recriado (o novo adquire as texturas antes do antigo liberar)
+        ExpectedOutputs previousPanel = expectedOutputsPanel;
+        expectedOutputsPanel = new ExpectedOutputs(
+            circuit.getExpectedOutputBits(),
+            circuit.getOutputCount(),
+            BitItGame.VIRTUAL_WIDTH,
+            BitItGame.VIRTUAL_HEIGHT - 105
+        );
+        if (previousPanel != null) previousPanel.dispose();
+        Gdx.app.log("GameScreen", "Hot-reload: nivel " + (levelId + 1) + " trocado (" + circuit.getAllGates().size
+            + " portas, " + moves + " movimento(s) mantido(s))");
+    }
+
     @Override
     public void show() {
         Gdx.input.setInputProcessor(stage);
@@ -190,6 +268,8 @@ public class GameScreen implements Screen {
 
     @Override
     public void render(float delta) {
+        long allocatedAtStart = allocationCounter != null && showAllocations ? allocationCounter.getAllocatedBytes() : 0;
+
         // Limpa tela
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.15f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -210,22 +290,27 @@ public class GameScreen implements Screen {
 
         if (circuit != null) {
             // evita evaluacao quando ha popup aberto
+            // (avaliacao incremental: sem entradas alteradas nenhuma porta e avaliada)
             if ((menuPopup == null || !menuPopup.isVisible()) &&
                 (levelupPopup == null || !levelupPopup.isVisible())) {
+                if (circuit.hasClock()) {
+                    clockTime += delta;
+                    while (clockTime >= CLOCK_PERIOD) {
+                        clockTime -= CLOCK_PERIOD;
+                        circuit.tick();
+                    }
+                }
                 circuit.evaluate();
             }
 
-            // Desenha fios
+            // Desenha fios (mesh montado uma vez por layout, um draw call)
             if (wireRenderer != null) {
-                wireRenderer.getShapeRenderer().setProjectionMatrix(viewport.getCamera().combined);
-                wireRenderer.renderAll(circuit.getWires());
+                wireRenderer.renderCircuit(circuit, viewport.getCamera().combined);
             }
 
             // Desenha gates
             game.batch.begin();
-            for (com.badlogic.drop.entities.gates.LogicGate gate : circuit.getAllGates()) {
-                if (gate != null) gate.render(game.batch);
-            }
+            gateRenderer.render(game.batch, circuit);
             game.batch.end();
         }
 
@@ -246,6 +331,15 @@ public class GameScreen implements Screen {
             levelupPopup.draw();
         }
 
+        if (allocationCounter != null) {
+            if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+                showAllocations = !showAllocations;
+            } else if (showAllocations) {
+                frameBytes = allocationCounter.getAllocatedBytes() - allocatedAtStart;
+                renderAllocationOverlay(delta);
+            }
+        }
+
         // desenhar labels da UI
         //game.batch.begin();
         //movesLabel.draw(game.batch, 1);
@@ -259,6 +353,32 @@ public class GameScreen implements Screen {
         // game.batch.end();
     }
 
+    /**
+     * Overlay de debug com as alocacoes do frame (maximo do ultimo segundo) e as coletas de lixo.
+     * O texto so e remontado quando algum valor muda, sem alocar no frame.
+     */
+    private void renderAllocationOverlay(float delta) {
+        maxFrameBytes = Math.max(maxFrameBytes, frameBytes);
+        allocationWindow += delta;
+        if (allocationWindow >= 1f) {
+            long collections = allocationCounter.getCollectionCount();
+            if (frameBytes != shownBytes || maxFrameBytes != shownMaxBytes || collections != shownCollections) {
+                shownBytes = frameBytes;
+                shownMaxBytes = maxFrameBytes;
+                shownCollections = collections;
+                allocationText.setLength(0);
+                allocationText.append("alloc: ").append(frameBytes).append(" B/frame (max ")
+                    .append(maxFrameBytes).append(")  GC: ").append(collections);
+                allocationLayout.setText(debugFont, allocationText);
+            }
+            allocationWindow = 0f;
+            maxFrameBytes = 0;
+        }
+        game.batch.begin();
+        debugFont.draw(game.batch, allocationLayout, 10, 30);
+        game.batch.end();
+    }
+
     /**
      * Gerencia entrada do usuario
      */
@@ -269,7 +389,7 @@ public class GameScreen implements Screen {
         }
 
         // liga o menu com esc
-        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.ESCAPE)) {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
             if (menuPopup != null) {
                 menuPopup.toggle();
             }
@@ -297,36 +417,30 @@ public class GameScreen implements Screen {
                 return;
             }
 
-            // Verifica se clicou em algum input bit
+            // Verifica se clicou em algum input bit (indice espacial: inputs sao allGates[0, inputs.size))
             Array<InputBits> inputs = circuit.getInputs();
-            for (InputBits input : inputs) {
-                Rectangle bounds = new Rectangle(input.getX(), input.getY(),
-                                                 input.getWidth(), input.getHeight());
-                if (bounds.contains(touchPos.x, touchPos.y)) {
-                    input.toggle();
-                    moves++;
-                    firstMove = true;
-                    Gdx.app.log("GameScreen", "Input " + input.getLabel() + " -> " + input.getValue());
-                }
+            circuit.getGateGrid().gatesAt(touchPos.x, touchPos.y, touchHits);
+            for (int k = 0; k < touchHits.size; k++) {
+                int i = touchHits.get(k);
+                if (i >= inputs.size) break; // indices crescentes: o resto sao portas e outputs
+                InputBits input = inputs.get(i);
+                if (input == circuit.getClock()) continue; // clock muda sozinho
+                input.toggle();
+                moves++;
+                firstMove = true;
+                if (debug) Gdx.app.log("GameScreen", "Input " + input.getLabel() + " -> " + input.getValue());
             }
 
             // verificacao do circuito depois de clique
             if (circuit != null) {
-                // primeiramente calcula todos os valores do circuito
+                // primeiramente calcula os valores do circuito (apenas o cone do input alterado)
+                int propagations = circuit.getPropagationCount();
                 circuit.evaluate();
-
-                // primeiro fios
-                if (wireRenderer != null) {
-                    wireRenderer.getShapeRenderer().setProjectionMatrix(viewport.getCamera().combined);
-                    wireRenderer.renderAll(circuit.getWires());
-                }
-
-                // dai os gates
-                game.batch.begin();
-                for (com.badlogic.drop.entities.gates.LogicGate gate : circuit.getAllGates()) {
-                    if (gate != null) gate.render(game.batch);
+                if (debug && circuit.getPropagationCount() != propagations) {
+                    Gdx.app.log("GameScreen", "Portas reavaliadas: " + circuit.getLastPropagationTouched()
+                        + " de " + circuit.getAllGates().size);
                 }
-                game.batch.end();
+                // fios e gates sao desenhados no render logo em seguida
             }
         }
 
@@ -352,13 +466,15 @@ public class GameScreen implements Screen {
                 int previousBest = levelProgress.getLevelStars(levelId);
                 Gdx.app.log("GameScreen", "Pontuação atual (" + stars + ") não superou a melhor (" + previousBest + ")");
             }
+            // grava em segundo plano (nao trava o frame)
+            levelProgress.save();
 
             // atualiza dados do nivel atual no LevelManager com a melhor pontuação
-            levelManager.getLevel(levelId).setCompleted(true);
+            currentLevel.setCompleted(true);
             int bestStars = levelProgress.getLevelStars(levelId);
-            levelManager.getLevel(levelId).setStars(bestStars);
+            currentLevel.setStars(bestStars);
             if (levelId + 1 < levelManager.getTotalLevels()) {
-                levelManager.getLevel(levelId + 1).setUnlocked(true);
+                levelManager.getLevelInfo(levelId + 1).setUnlocked(true);
             }
 
             // Mostra popup de nivel completo com estrelas
@@ -410,18 +526,13 @@ public class GameScreen implements Screen {
     @Override
     public void dispose() {
         if (stage != null) stage.dispose();
-        if (backgroundTexture != null) backgroundTexture.dispose();
+        if (backgroundTexture != null) Assets.getInstance().release("textures/UI/gamescreen.png");
         if (wireRenderer != null) wireRenderer.dispose();
         if (debugFont != null) debugFont.dispose();
-        if (game.batch != null) game.batch.dispose();
         if (menuPopup != null) menuPopup.dispose();
+        if (levelupPopup != null) levelupPopup.dispose();
         if (expectedOutputsPanel != null) expectedOutputsPanel.dispose();
 
-        // texturas dos gates
-        if (circuit != null) {
-            for (com.badlogic.drop.entities.gates.LogicGate gate : circuit.getAllGates()) {
-                if (gate != null) gate.dispose();
-            }
-        }
+        // sprites dos gates pertencem ao atlas compartilhado do Assets
     }
 }
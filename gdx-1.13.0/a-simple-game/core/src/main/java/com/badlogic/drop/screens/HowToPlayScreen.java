@@ -1,4 +1,5 @@
 package com.badlogic.drop.screens;
+import com.badlogic.drop.Assets;
 import com.badlogic.drop.BitItGame;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
@@ -64,9 +65,14 @@ public class HowToPlayScreen implements Screen {
         // Carrega texturas
         try {
             // botoes de navegacao entre niveis e home
-            buttonUpTexture = new Texture(Gdx.files.internal("textures/UI/pageup.png"));
-            buttonDownTexture = new Texture(Gdx.files.internal("textures/UI/pagedown.png"));
-            buttonBackTexture = new Texture(Gdx.files.internal("textures/UI/pageup.png"));
+            buttonUpTexture = Assets.getInstance().acquire("textures/UI/pageup.png");
+            buttonDownTexture = Assets.getInstance().acquire("textures/UI/pagedown.png");
+            buttonBackTexture = Assets.getInstance().acquire("textures/UI/pageup.png");
+
+            // paginas do tutorial carregam em segundo plano enquanto o jogador le a primeira
+            for (String path : paths) {
+                Assets.getInstance().request(path);
+            }
 
         } catch (Exception e) {
             Gdx.app.error("HowToPlayScreen", "Erro ao carregar texturas", e);
@@ -154,14 +160,9 @@ public class HowToPlayScreen implements Screen {
                 currentTutorialImage.remove();
             }
 
-            // Libera a textura anterior se existir
-            if (currentTutorialTexture != null) {
-                currentTutorialTexture.dispose();
-            }
-
-            // Carrega a nova textura do tutorial
+            // Pega a textura do tutorial (ja pedida no construtor)
             String path = paths[page];
-            currentTutorialTexture = new Texture(Gdx.files.internal(path));
+            currentTutorialTexture = Assets.getInstance().get(path);
             currentTutorialImage = new Image(currentTutorialTexture);
             float imageWidth = currentTutorialTexture.getWidth();
             float imageHeight = currentTutorialTexture.getHeight();
@@ -251,10 +252,11 @@ public class HowToPlayScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (buttonUpTexture != null) buttonUpTexture.dispose();
-        if (buttonDownTexture != null) buttonDownTexture.dispose();
-        if (buttonBackTexture != null) buttonBackTexture.dispose();
-        if (currentTutorialTexture != null) currentTutorialTexture.dispose();
+        if (buttonUpTexture != null) Assets.getInstance().release("textures/UI/pageup.png");
+        if (buttonDownTexture != null) Assets.getInstance().release("textures/UI/pagedown.png");
+        if (buttonBackTexture != null) Assets.getInstance().release("textures/UI/pageup.png");
+        for (String path : paths) {
+            Assets.getInstance().release(path);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.badlogic.drop.screens;
 
+import com.badlogic.drop.Assets;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -81,7 +82,7 @@ public class LevelCompletePopUp {
         // mudar pra depois ficar com textura sem botoes
         // original do canva = 1080x1920
         // escala de FHD pra tela atual (540x960) = 0.5
-        menuTexture = new Texture(Gdx.files.internal("textures/UI/lvlupmenu.png"));
+        menuTexture = Assets.getInstance().acquire("textures/UI/lvlupmenu.png");
         Image scaleImg = new Image(menuTexture);
         scaleImg.setSize(scaleImg.getWidth() * 0.5f, scaleImg.getHeight() * 0.5f);
         menuImage = scaleImg;
@@ -102,9 +103,9 @@ public class LevelCompletePopUp {
         lvlMenuButton = criabotao(540/2 + 80, 620/2, 100, 100);
 
         // Carrega texturas de estrelas (cada pontuação tem sua própria textura)
-        star1Texture = new Texture(Gdx.files.internal("textures/UI/1star.png"));
-        star2Texture = new Texture(Gdx.files.internal("textures/UI/2star.png"));
-        star3Texture = new Texture(Gdx.files.internal("textures/UI/3star.png"));
+        star1Texture = Assets.getInstance().acquire("textures/UI/1star.png");
+        star2Texture = Assets.getInstance().acquire("textures/UI/2star.png");
+        star3Texture = Assets.getInstance().acquire("textures/UI/3star.png");
 
         // Cria imagem de estrela (textura será alterada dinamicamente baseada na pontuação)
         starImage = new Image(star3Texture);
@@ -260,16 +261,16 @@ public class LevelCompletePopUp {
 
     public void dispose() {
         if (menuTexture != null) {
-            menuTexture.dispose();
+            Assets.getInstance().release("textures/UI/lvlupmenu.png");
         }
         if (star1Texture != null) {
-            star1Texture.dispose();
+            Assets.getInstance().release("textures/UI/1star.png");
         }
         if (star2Texture != null) {
-            star2Texture.dispose();
+            Assets.getInstance().release("textures/UI/2star.png");
         }
         if (star3Texture != null) {
-            star3Texture.dispose();
+            Assets.getInstance().release("textures/UI/3star.png");
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.badlogic.drop.screens;
 
+import com.badlogic.drop.Assets;
 import com.badlogic.drop.BitItGame;
 import com.badlogic.drop.levels.LevelManager;
 import com.badlogic.drop.levels.LevelProgress;
@@ -67,14 +68,14 @@ public class LevelsScreen implements Screen {
 
         // Carrega texturas
         try {
-            backgroundTexture = new Texture(Gdx.files.internal("textures/UI/levelscreen.png"));
+            backgroundTexture = Assets.getInstance().acquire("textures/UI/levelscreen.png");
             backgroundImage = new Image(backgroundTexture);
             backgroundImage.setScale(0.5f);
 
             // botoes de navegacao entre niveis e home
-            buttonUpTexture = new Texture(Gdx.files.internal("textures/UI/pageup.png"));
-            buttonDownTexture = new Texture(Gdx.files.internal("textures/UI/pagedown.png"));
-            buttonBackTexture = new Texture(Gdx.files.internal("textures/UI/pageup.png"));
+            buttonUpTexture = Assets.getInstance().acquire("textures/UI/pageup.png");
+            buttonDownTexture = Assets.getInstance().acquire("textures/UI/pagedown.png");
+            buttonBackTexture = Assets.getInstance().acquire("textures/UI/pageup.png");
 
         } catch (Exception e) {
             Gdx.app.error("LevelScreen", "Erro ao carregar texturas", e);
@@ -183,9 +184,9 @@ public class LevelsScreen implements Screen {
                     //boolean unlocked = levelProgress.isLevelUnlocked(levelIndex);
                     //boolean completed = levelProgress.isLevelCompleted(levelIndex);
 
-                    boolean unlocked = levelManager.getLevel(levelIndex).isUnlocked();
-                    boolean completed = levelManager.getLevel(levelIndex).isCompleted();
-                    int stars = levelManager.getLevel(levelIndex).getStars();
+                    boolean unlocked = levelManager.getLevelInfo(levelIndex).isUnlocked();
+                    boolean completed = levelManager.getLevelInfo(levelIndex).isCompleted();
+                    int stars = levelManager.getLevelInfo(levelIndex).getStars();
 
                     final LevelButton levelBtn = new LevelButton(levelIndex, unlocked, completed, stars, game.font);
                     levelButtons.add(levelBtn);
@@ -283,10 +284,10 @@ public class LevelsScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (buttonUpTexture != null) buttonUpTexture.dispose();
-        if (buttonDownTexture != null) buttonDownTexture.dispose();
-        if (buttonBackTexture != null) buttonBackTexture.dispose();
+        if (backgroundTexture != null) Assets.getInstance().release("textures/UI/levelscreen.png");
+        if (buttonUpTexture != null) Assets.getInstance().release("textures/UI/pageup.png");
+        if (buttonDownTexture != null) Assets.getInstance().release("textures/UI/pagedown.png");
+        if (buttonBackTexture != null) Assets.getInstance().release("textures/UI/pageup.png");
 
         for (LevelButton btn : levelButtons) {
             btn.dispose();
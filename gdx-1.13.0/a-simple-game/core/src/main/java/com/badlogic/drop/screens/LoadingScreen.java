@@ -0,0 +1,119 @@
+package com.badlogic.drop.screens;
+
+import com.badlogic.drop.Assets;
+import com.badlogic.drop.BitItGame;
+import com.badlogic.drop.Preloader;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Tela de carregamento inicial.
+ * Espera o Preloader da plataforma baixar o bundle (web) e depois carrega as texturas
+ * pelo AssetManager aos poucos, mostrando o progresso, antes de abrir o menu.
+ */
+public class LoadingScreen implements Screen {
+    public static final String BUNDLE = "assets";
+
+    // tempo maximo de carregamento por frame (ms)
+    private static final int FRAME_BUDGET = 12;
+
+    private static final float BAR_WIDTH = 360f;
+    private static final float BAR_HEIGHT = 24f;
+
+    private final BitItGame game;
+    private final Viewport viewport;
+    private final ShapeRenderer shapeRenderer;
+
+    private boolean bundleReady = false;
+    private long start;
+
+    public LoadingScreen(final BitItGame game, Preloader preloader) {
+        this.game = game;
+        viewport = new FitViewport(BitItGame.VIRTUAL_WIDTH, BitItGame.VIRTUAL_HEIGHT);
+        viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
+        shapeRenderer = new ShapeRenderer();
+        start = TimeUtils.millis();
+
+        if (preloader == null) {
+            onBundleReady();
+        } else {
+            preloader.preloadBundle(BUNDLE, new Preloader.Callback() {
+                @Override
+                public void onBundlePreloaded(String bundle) {
+                    onBundleReady();
+                }
+            });
+        }
+    }
+
+    // bundle disponivel: enfileira as texturas no AssetManager
+    private void onBundleReady() {
+        if (bundleReady) return;
+        bundleReady = true;
+        Assets.getInstance().queueBundle();
+    }
+
+    @Override
+    public void show() {
+    }
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0.1f, 0.1f, 0.15f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float progress = 0f;
+        if (bundleReady) {
+            long frameStart = TimeUtils.millis();
+            boolean done = Assets.getInstance().update();
+            while (!done && TimeUtils.timeSinceMillis(frameStart) < FRAME_BUDGET) {
+                done = Assets.getInstance().update();
+            }
+            if (done) {
+                Gdx.app.log("LoadingScreen", "Assets carregados em " + TimeUtils.timeSinceMillis(start) + " ms");
+                game.setScreen(new MenuScreen(game));
+                return;
+            }
+            progress = Assets.getInstance().getProgress();
+        }
+
+        // barra de progresso
+        viewport.apply();
+        shapeRenderer.setProjectionMatrix(viewport.getCamera().combined);
+        float x = (BitItGame.VIRTUAL_WIDTH - BAR_WIDTH) / 2;
+        float y = (BitItGame.VIRTUAL_HEIGHT - BAR_HEIGHT) / 2;
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0.25f, 0.25f, 0.3f, 1);
+        shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.setColor(0.4f, 1f, 0.5f, 1);
+        shapeRenderer.rect(x, y, BAR_WIDTH * progress, BAR_HEIGHT);
+        shapeRenderer.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void dispose() {
+        shapeRenderer.dispose();
+    }
+}
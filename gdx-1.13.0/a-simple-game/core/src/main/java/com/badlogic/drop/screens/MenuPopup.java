@@ -1,5 +1,6 @@
 package com.badlogic.drop.screens;
 
+import com.badlogic.drop.Assets;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -48,7 +49,7 @@ public class MenuPopup {
         // mudar pra depois ficar com textura sem botoes
         // original do canva = 1080x1920
         // escala de FHD pra tela atual (540x960) = 0.5
-        menuTexture = new Texture(Gdx.files.internal("textures/UI/pausemenu.png"));
+        menuTexture = Assets.getInstance().acquire("textures/UI/pausemenu.png");
         Image scaleImg = new Image(menuTexture);
         scaleImg.setSize(scaleImg.getWidth() * 0.5f, scaleImg.getHeight() * 0.5f);
         menuImage = scaleImg;
@@ -147,7 +148,7 @@ public class MenuPopup {
     
     public void dispose() {
         if (menuTexture != null) {
-            menuTexture.dispose();
+            Assets.getInstance().release("textures/UI/pausemenu.png");
         }
     }
 }
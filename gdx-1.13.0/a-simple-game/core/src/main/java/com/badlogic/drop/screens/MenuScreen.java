@@ -1,7 +1,9 @@
 package com.badlogic.drop.screens;
 
+import com.badlogic.drop.Assets;
 import com.badlogic.drop.BitItGame;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
@@ -17,23 +19,26 @@ import com.badlogic.gdx.utils.viewport.FitViewport;
  * Tela inicial do jogo
  */
 public class MenuScreen implements Screen {
+    private final BitItGame game;
     private final Stage stage;
     private Texture backgroundTexture;
     private Texture playButtonTexture;
     private Texture creditsButtonTexture;
     private Texture howToPlayTexture;
     private Image backgroundImage;
+    private boolean disposed;
 
     public MenuScreen(final BitItGame game) {
+        this.game = game;
 
         // Carrega texturas
         try {
-            backgroundTexture = new Texture(Gdx.files.internal("textures/UI/homescreen.png"));
+            backgroundTexture = Assets.getInstance().acquire("textures/UI/homescreen.png");
             backgroundImage = new Image(backgroundTexture);
             backgroundImage.setScale(0.5f);
-            playButtonTexture = new Texture(Gdx.files.internal("textures/UI/playbutton.png"));
-            howToPlayTexture = new Texture(Gdx.files.internal("textures/UI/howtoplaybtn.png"));
-            creditsButtonTexture = new Texture(Gdx.files.internal("textures/UI/creditsbutton.png"));
+            playButtonTexture = Assets.getInstance().acquire("textures/UI/playbutton.png");
+            howToPlayTexture = Assets.getInstance().acquire("textures/UI/howtoplaybtn.png");
+            creditsButtonTexture = Assets.getInstance().acquire("textures/UI/creditsbutton.png");
         } catch (Exception e) {
             Gdx.app.error("MenuScreen", "Erro ao carregar texturas", e);
             throw e;
@@ -71,8 +76,7 @@ public class MenuScreen implements Screen {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 Gdx.app.log("MenuScreen", "Botao play clicado em: " + x + ", " + y);
-                game.setScreen(new LevelsScreen(game));
-                dispose();
+                game.setScreen(new LevelsScreen(game)); // o BitItGame libera esta tela no proximo frame
             }
         });
 
@@ -82,7 +86,6 @@ public class MenuScreen implements Screen {
             public void clicked(InputEvent event, float x, float y) {
                 Gdx.app.log("MenuScreen", "Botao how to play clicado em: " + x + ", " + y);
                 game.setScreen(new HowToPlayScreen(game));
-                dispose();
             }
         });
 
@@ -92,7 +95,6 @@ public class MenuScreen implements Screen {
             public void clicked(InputEvent event, float x, float y) {
                 Gdx.app.log("MenuScreen", "Botao creditos clicado em: " + x + ", " + y);
                 game.setScreen(new CreditsScreen(game));
-                dispose();
             }
         });
 
@@ -123,6 +125,12 @@ public class MenuScreen implements Screen {
         // Atualiza e desenha stage
         stage.act(Math.min(delta, 1 / 30f));
         stage.draw();
+
+        // modo sandbox (editor de circuitos, desktop)
+        if (Gdx.input.isKeyJustPressed(Input.Keys.E)) {
+            Gdx.app.log("MenuScreen", "Editor aberto");
+            game.setScreen(new EditorScreen(game));
+        }
     }
 
     @Override
@@ -144,8 +152,12 @@ public class MenuScreen implements Screen {
 
     @Override
     public void dispose() {
+        if (disposed) return; // liberada uma unica vez (ver BitItGame.setScreen)
+        disposed = true;
         stage.dispose();
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (playButtonTexture != null) playButtonTexture.dispose();
+        if (backgroundTexture != null) Assets.getInstance().release("textures/UI/homescreen.png");
+        if (playButtonTexture != null) Assets.getInstance().release("textures/UI/playbutton.png");
+        if (howToPlayTexture != null) Assets.getInstance().release("textures/UI/howtoplaybtn.png");
+        if (creditsButtonTexture != null) Assets.getInstance().release("textures/UI/creditsbutton.png");
     }
 }
@@ -0,0 +1,179 @@
+package com.badlogic.drop.tools;
+
+import com.badlogic.drop.entities.CircuitEditor;
+import com.badlogic.drop.entities.Wire;
+import com.badlogic.drop.entities.gates.InputBits;
+import com.badlogic.drop.entities.gates.LogicGate;
+import com.badlogic.drop.entities.gates.OutputBits;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Queue;
+
+import java.util.Random;
+
+/**
+ * Teste headless do CircuitEditor: aplica edicoes aleatorias (adicionar, ligar, desligar,
+ * remover, mover e inverter inputs) e, depois de cada uma, confere o estado incremental
+ * contra um recalculo completo:
+ * - CircuitEditor.verify() (ordem topologica, niveis e indices horizontais densos)
+ * - saida de cada porta avaliada do zero na ordem topologica, e o estado de cada fio
+ * - ligacoes que fechariam laco sao recusadas e as demais aceitas (busca por alcance)
+ * Reproduzivel pelo seed; roda sem backend do libGDX e termina com codigo 1 se houver erros.
+ *
+ * Uso: gradlew core:checkEditor [-PeditorRounds=20] [-PeditorSeed=1]
+ */
+public class EditorChecker {
+
+    // edicoes por circuito (cada rodada comeca com um editor vazio)
+    private static final int EDITS_PER_ROUND = 250;
+
+    // erros impressos antes de so contar
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    private static final String[] TYPES = {"INPUT", "OUTPUT", "AND", "OR", "NOT", "XOR", "NAND", "NOR", "XNOR"};
+
+    private final Random random;
+    private int errors;
+    private int edits;
+    private int cycles;
+
+    public EditorChecker(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Roda uma rodada de edicoes aleatorias num editor vazio
+     */
+    public void runRound() {
+        CircuitEditor editor = new CircuitEditor();
+        for (int step = 0; step < EDITS_PER_ROUND; step++) {
+            edit(editor);
+            edits++;
+            check(editor);
+        }
+    }
+
+    private void edit(CircuitEditor editor) {
+        Array<LogicGate> gates = editor.getGates();
+        Array<Wire> wires = editor.getWires();
+        int op = random.nextInt(11);
+        if (gates.size < 4 || op < 3) {
+            editor.addGate(TYPES[random.nextInt(TYPES.length)], random.nextFloat() * 500, random.nextFloat() * 900);
+        } else if (op < 7) {
+            LogicGate from = gates.get(random.nextInt(gates.size));
+            LogicGate to = gates.get(random.nextInt(gates.size));
+            if (to.getNumInputs() == 0 || from instanceof OutputBits) return;
+            boolean cycle = from == to || reaches(editor, to, from);
+            Wire wire = editor.connect(from, to, random.nextInt(to.getNumInputs()));
+            if (cycle) {
+                cycles++;
+                if (wire != null) error("laco aceito: " + from.getLabel() + " -> " + to.getLabel());
+            } else if (wire == null) {
+                error("ligacao sem laco recusada: " + editor.getLastError());
+            }
+        } else if (op < 8 && wires.size > 0) {
+            editor.disconnect(wires.get(random.nextInt(wires.size)));
+        } else if (op < 9) {
+            editor.removeGate(gates.get(random.nextInt(gates.size)));
+        } else if (op < 10) {
+            editor.moveGate(gates.get(random.nextInt(gates.size)), random.nextFloat() * 500, random.nextFloat() * 900);
+        } else {
+            for (LogicGate gate : gates) {
+                if (gate instanceof InputBits && random.nextBoolean()) {
+                    editor.toggleInput((InputBits) gate);
+                    break;
+                }
+            }
+        }
+    }
+
+    // existe caminho from ->* to?
+    private static boolean reaches(CircuitEditor editor, LogicGate from, LogicGate to) {
+        Queue<LogicGate> queue = new Queue<>();
+        ObjectSet<LogicGate> seen = new ObjectSet<>();
+        queue.addLast(from);
+        seen.add(from);
+        while (queue.size > 0) {
+            LogicGate gate = queue.removeFirst();
+            if (gate == to) return true;
+            for (Wire wire : editor.getWires()) {
+                if (wire.getFromGate() == gate && seen.add(wire.getToGate())) {
+                    queue.addLast(wire.getToGate());
+                }
+            }
+        }
+        return false;
+    }
+
+    private void check(CircuitEditor editor) {
+        if (!editor.verify()) {
+            error("verify falhou depois da edicao " + edits);
+        }
+        // avaliacao completa na ordem topologica, independente da logica das portas
+        ObjectMap<LogicGate, Boolean> values = new ObjectMap<>();
+        for (LogicGate gate : editor.getTopologicalOrder(new Array<>())) {
+            boolean[] in = new boolean[gate.getNumInputs()];
+            for (Wire wire : editor.getWires()) {
+                if (wire.getToGate() == gate) {
+                    in[wire.getToInputIndex()] = values.get(wire.getFromGate());
+                }
+            }
+            boolean value = evaluate(gate, in);
+            values.put(gate, value);
+            if (value != gate.getOutput()) {
+                error("saida errada em " + gate.getLabel() + " depois da edicao " + edits);
+            }
+        }
+        for (Wire wire : editor.getWires()) {
+            if (wire.getState() != wire.getFromGate().getOutput()) {
+                error("fio com estado errado depois da edicao " + edits);
+            }
+        }
+    }
+
+    private static boolean evaluate(LogicGate gate, boolean[] in) {
+        switch (gate.getGateType()) {
+            case "INPUT": return ((InputBits) gate).getValue();
+            case "OUTPUT": return in.length > 0 && in[0];
+            case "NOT": return !in[0];
+            case "AND": return in[0] && in[1];
+            case "OR": return in[0] || in[1];
+            case "XOR": return in[0] ^ in[1];
+            case "NAND": return !(in[0] && in[1]);
+            case "NOR": return !(in[0] || in[1]);
+            case "XNOR": return !(in[0] ^ in[1]);
+            default: throw new IllegalArgumentException("Tipo de porta desconhecido: " + gate.getGateType());
+        }
+    }
+
+    private void error(String message) {
+        if (errors++ < MAX_REPORTED_ERRORS) {
+            System.out.println("Erro: " + message);
+        }
+    }
+
+    /**
+     * Metodo main: roda as rodadas e termina com codigo 1 se alguma conferencia falhar
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        System.out.println("=== Teste do editor de circuitos ===");
+        System.out.println("Rodadas: " + rounds + " x " + EDITS_PER_ROUND + " edicoes, seed: " + seed);
+
+        EditorChecker checker = new EditorChecker(seed);
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            checker.runRound();
+        }
+        long end = System.nanoTime();
+
+        System.out.println("Edicoes: " + checker.edits + ", lacos recusados: " + checker.cycles
+            + ", erros: " + checker.errors + " em " + (end - start) / 1000000 + " ms");
+        if (checker.errors > 0) {
+            System.exit(1);
+        }
+    }
+}
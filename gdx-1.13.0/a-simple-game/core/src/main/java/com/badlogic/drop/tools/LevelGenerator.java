@@ -0,0 +1,468 @@
+package com.badlogic.drop.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Gerador procedural de niveis (headless): sorteia DAGs de portas sobre I0..In e escreve
+ * no formato do levels.txt ("expr;expr-saidas-minMoves"), pronto para o convertLevels.
+ * A saida esperada vem de uma combinacao de entradas sorteada e o minMoves e calculado pela
+ * tabela verdade com a mesma regra do LevelSolver. Cada nivel recebe uma nota de dificuldade
+ * (profundidade, fan-out, quantidade de portas, fracao de combinacoes que resolvem e minMoves)
+ * e o arquivo sai ordenado por ela.
+ *
+ * As tentativas rodam em paralelo (fork-join), cada uma com a semente derivada de (seed, indice):
+ * o mesmo seed gera o mesmo arquivo independente do numero de threads.
+ *
+ * Uso: gradlew core:generateLevels [-PlevelCount=20000] [-PlevelSeed=1] [-PlevelOutput=assets/levels/generated.txt]
+ */
+public class LevelGenerator {
+
+    // tipos de porta na gramatica do levels.txt
+    private static final String[] GATE_TYPES = {"AND", "OR", "NOT", "NAND", "NOR", "XOR", "XNOR"};
+    private static final int AND = 0, OR = 1, NOT = 2, NAND = 3, NOR = 4, XOR = 5, XNOR = 6;
+    private static final int INPUT = -1;
+
+    // tentativas por tarefa antes de dividir o trabalho
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    // tentativas de montar um circuito valido com a mesma semente
+    private static final int MAX_RETRIES = 64;
+
+    // niveis por pagina na tela de niveis (linhas em branco separam os grupos no arquivo)
+    private static final int LEVELS_PER_PAGE = 6;
+
+    /**
+     * Faixas de dificuldade pela nota (score) do nivel
+     */
+    public enum Difficulty {
+        EASY(0f), MEDIUM(18f), HARD(24f), EXPERT(30f);
+
+        public final float minScore;
+
+        Difficulty(float minScore) {
+            this.minScore = minScore;
+        }
+
+        public static Difficulty of(float score) {
+            Difficulty[] values = values();
+            for (int i = values.length - 1; i > 0; i--) {
+                if (score >= values[i].minScore) return values[i];
+            }
+            return EASY;
+        }
+    }
+
+    /**
+     * Parametros da geracao
+     */
+    public static class Settings {
+        public int count = 1000;
+        public long seed = 1;
+        public int minInputs = 2;
+        public int maxInputs = 4;   // ate 6 (tabela verdade em um long)
+        public int maxOutputs = 2;
+        public int minGates = 2;
+        public int maxGates = 10;   // portas distintas depois do compartilhamento
+        public int maxDepth = 5;
+        public float shareChance = 0.3f; // chance de reaproveitar uma subexpressao (fan-out)
+    }
+
+    /**
+     * Nivel gerado com as metricas usadas na nota
+     */
+    public static class GeneratedLevel {
+        public long attempt;        // indice da tentativa (define a semente)
+        public String expression;   // saidas separadas por ';'
+        public String outputs;      // bits esperados separados por ','
+        public int minMoves;
+        public int numInputs;
+        public int numOutputs;
+        public int gates;
+        public int depth;
+        public int maxFanOut;
+        public int solutionCount;
+        public float score;
+        public Difficulty difficulty;
+
+        public String toLine() {
+            return expression + "-" + outputs + "-" + minMoves;
+        }
+    }
+
+    /**
+     * Gera settings.count niveis distintos em paralelo, ordenados pela nota
+     */
+    public static GeneratedLevel[] generate(Settings settings, ForkJoinPool pool) {
+        if (settings.maxInputs > 6 || settings.minInputs < 2 || settings.minInputs > settings.maxInputs) {
+            throw new IllegalArgumentException("Faixa de entradas invalida: " + settings.minInputs + ".." + settings.maxInputs);
+        }
+        GeneratedLevel[] levels = new GeneratedLevel[settings.count];
+        Set<String> seen = new HashSet<>();
+        int found = 0;
+        long nextAttempt = 0;
+        long maxAttempts = (long) settings.count * 16 + 1024;
+
+        // rodadas de tentativas em paralelo; a deduplicacao segue a ordem dos indices (deterministica)
+        while (found < settings.count && nextAttempt < maxAttempts) {
+            int batch = (int) Math.min(Math.max((settings.count - found) * 2L, 64), maxAttempts - nextAttempt);
+            GeneratedLevel[] attempts = new GeneratedLevel[batch];
+            pool.invoke(new GenerateTask(settings, attempts, nextAttempt, 0, batch));
+            nextAttempt += batch;
+            for (int i = 0; i < batch && found < settings.count; i++) {
+                GeneratedLevel level = attempts[i];
+                if (level != null && seen.add(level.expression)) {
+                    levels[found++] = level;
+                }
+            }
+        }
+        if (found < settings.count) {
+            levels = Arrays.copyOf(levels, found);
+        }
+
+        // progressao de dificuldade; empate pela ordem das tentativas
+        Arrays.sort(levels, new Comparator<GeneratedLevel>() {
+            @Override
+            public int compare(GeneratedLevel a, GeneratedLevel b) {
+                int byScore = Float.compare(a.score, b.score);
+                return byScore != 0 ? byScore : Long.compare(a.attempt, b.attempt);
+            }
+        });
+        return levels;
+    }
+
+    // Divide o intervalo de tentativas ao meio ate atingir o limite sequencial
+    private static class GenerateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Settings settings;
+        private final GeneratedLevel[] results;
+        private final long firstAttempt;
+        private final int from;
+        private final int to;
+
+        GenerateTask(Settings settings, GeneratedLevel[] results, long firstAttempt, int from, int to) {
+            this.settings = settings;
+            this.results = results;
+            this.firstAttempt = firstAttempt;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = generateOne(settings, firstAttempt + i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GenerateTask(settings, results, firstAttempt, from, mid),
+                      new GenerateTask(settings, results, firstAttempt, mid, to));
+        }
+    }
+
+    /**
+     * Gera o nivel da tentativa informada (null se nenhum circuito valido saiu da semente)
+     */
+    public static GeneratedLevel generateOne(Settings settings, long attempt) {
+        Random random = new Random(mix(settings.seed, attempt));
+        for (int retry = 0; retry < MAX_RETRIES; retry++) {
+            GeneratedLevel level = new Builder(settings, random).build();
+            if (level != null) {
+                level.attempt = attempt;
+                return level;
+            }
+        }
+        return null;
+    }
+
+    // semente independente por tentativa (finalizador do SplitMix64)
+    private static long mix(long seed, long attempt) {
+        long z = seed + (attempt + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * Monta um circuito de cima para baixo: cada argumento e uma entrada, uma subexpressao
+     * ja pronta (vira fan-out no JSON, o LevelToJSON compartilha subexpressoes iguais) ou uma
+     * porta nova. Cada no guarda sua tabela verdade (bit c = valor na combinacao c).
+     */
+    private static class Builder {
+        private final Settings settings;
+        private final Random random;
+        private final int numInputs;
+        private final int combinations;
+        private final long validMask;
+
+        private int size;
+        private int[] type = new int[32];
+        private int[] left = new int[32];
+        private int[] right = new int[32];
+        private int[] height = new int[32];
+        private long[] table = new long[32];
+        private String[] key = new String[32]; // forma canonica (argumentos ordenados)
+
+        Builder(Settings settings, Random random) {
+            this.settings = settings;
+            this.random = random;
+            this.numInputs = settings.minInputs + random.nextInt(settings.maxInputs - settings.minInputs + 1);
+            this.combinations = 1 << numInputs;
+            this.validMask = combinations == 64 ? -1L : (1L << combinations) - 1;
+            for (int i = 0; i < numInputs; i++) {
+                add(INPUT, i, -1, 0, inputTable(i), "I" + i);
+            }
+        }
+
+        // bit c ligado quando a entrada i vale 1 na combinacao c (I0 e o bit 0, como no LevelSolver)
+        private long inputTable(int input) {
+            long t = 0;
+            for (int c = 0; c < combinations; c++) {
+                if ((c >>> input & 1) != 0) t |= 1L << c;
+            }
+            return t;
+        }
+
+        GeneratedLevel build() {
+            int numOutputs = 1 + random.nextInt(settings.maxOutputs);
+            int depthBudget = 2 + random.nextInt(Math.max(1, settings.maxDepth - 1));
+            int[] roots = new int[numOutputs];
+            Set<String> rootKeys = new HashSet<>();
+            for (int o = 0; o < numOutputs; o++) {
+                roots[o] = gate(depthBudget);
+                long t = table[roots[o]];
+                // saidas ligadas direto numa entrada, constantes ou repetidas nao acrescentam nada ao puzzle
+                if (type[roots[o]] == INPUT || t == 0 || t == validMask || !rootKeys.add(key[roots[o]])) return null;
+            }
+
+            // portas alcancaveis a partir das saidas, entradas usadas e fan-out
+            boolean[] reachable = new boolean[size];
+            int[] fanOut = new int[size];
+            for (int root : roots) {
+                mark(root, reachable, fanOut);
+            }
+            for (int i = 0; i < numInputs; i++) {
+                if (!reachable[i]) return null; // rotulos I0..In sem buracos
+            }
+            int gates = 0;
+            int maxFanOut = 0;
+            for (int n = 0; n < size; n++) {
+                if (!reachable[n]) continue;
+                if (type[n] != INPUT) gates++;
+                maxFanOut = Math.max(maxFanOut, fanOut[n]);
+            }
+            if (gates < settings.minGates || gates > settings.maxGates) return null;
+
+            // saida esperada de uma combinacao sorteada (sempre alcancavel)
+            int target = 1 + random.nextInt(combinations - 1);
+            long match = validMask;
+            StringBuilder outputs = new StringBuilder();
+            for (int o = 0; o < numOutputs; o++) {
+                boolean expected = (table[roots[o]] >>> target & 1) != 0;
+                match &= expected ? table[roots[o]] : ~table[roots[o]];
+                if (o > 0) outputs.append(',');
+                outputs.append(expected ? '1' : '0');
+            }
+            if ((match & 1) != 0) return null; // o estado inicial (tudo desligado) ja resolve
+
+            // mesma regra do LevelSolver: menor distancia de Hamming a partir de tudo desligado
+            int minMoves = Integer.MAX_VALUE;
+            int solutionCount = Long.bitCount(match);
+            for (long m = match; m != 0; m &= m - 1) {
+                minMoves = Math.min(minMoves, Integer.bitCount(Long.numberOfTrailingZeros(m)));
+            }
+
+            GeneratedLevel level = new GeneratedLevel();
+            StringBuilder expression = new StringBuilder();
+            int depth = 0;
+            for (int o = 0; o < numOutputs; o++) {
+                if (o > 0) expression.append(';');
+                expression.append(key[roots[o]]);
+                depth = Math.max(depth, height[roots[o]]);
+            }
+            level.expression = expression.toString();
+            level.outputs = outputs.toString();
+            level.minMoves = minMoves;
+            level.numInputs = numInputs;
+            level.numOutputs = numOutputs;
+            level.gates = gates;
+            level.depth = depth;
+            level.maxFanOut = maxFanOut;
+            level.solutionCount = solutionCount;
+            level.score = score(level, combinations);
+            level.difficulty = Difficulty.of(level.score);
+            return level;
+        }
+
+        private void mark(int node, boolean[] reachable, int[] fanOut) {
+            if (reachable[node]) return;
+            reachable[node] = true;
+            if (type[node] == INPUT) return;
+            fanOut[left[node]]++;
+            mark(left[node], reachable, fanOut);
+            if (right[node] >= 0) {
+                fanOut[right[node]]++;
+                mark(right[node], reachable, fanOut);
+            }
+        }
+
+        // argumento de uma porta com ate maxHeight niveis abaixo dele
+        private int argument(int maxHeight, int exclude) {
+            if (maxHeight <= 0 || random.nextInt(3) == 0) {
+                return randomNode(0, exclude); // entrada
+            }
+            if (size > numInputs && random.nextFloat() < settings.shareChance) {
+                int shared = randomNode(maxHeight, exclude);
+                if (shared >= 0) return shared;
+            }
+            return gate(maxHeight);
+        }
+
+        // no existente (ja completo, entao nao cria laco) com altura ate maxHeight
+        private int randomNode(int maxHeight, int exclude) {
+            int start = random.nextInt(size);
+            for (int i = 0; i < size; i++) {
+                int n = (start + i) % size;
+                if (n != exclude && height[n] <= maxHeight && (maxHeight == 0 || type[n] != INPUT)) return n;
+            }
+            return maxHeight == 0 ? (exclude + 1) % numInputs : -1;
+        }
+
+        private int gate(int maxHeight) {
+            int op = random.nextInt(GATE_TYPES.length);
+            int a = argument(maxHeight - 1, -1);
+            if (op == NOT) {
+                if (type[a] == NOT) return left[a]; // NOT(NOT(x)) = x
+                return add(NOT, a, -1, height[a] + 1, ~table[a] & validMask, "NOT(" + key[a] + ")");
+            }
+            int b = argument(maxHeight - 1, a);
+            if (b == a) {
+                b = (a + 1) % numInputs;
+            }
+            if (key[b].compareTo(key[a]) < 0) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            String k = GATE_TYPES[op] + "(" + key[a] + "," + key[b] + ")";
+            return add(op, a, b, Math.max(height[a], height[b]) + 1, apply(op, table[a], table[b]) & validMask, k);
+        }
+
+        private static long apply(int op, long a, long b) {
+            switch (op) {
+                case AND: return a & b;
+                case OR: return a | b;
+                case NAND: return ~(a & b);
+                case NOR: return ~(a | b);
+                case XOR: return a ^ b;
+                case XNOR: return ~(a ^ b);
+                default: throw new IllegalArgumentException("Porta invalida: " + op);
+            }
+        }
+
+        private int add(int op, int a, int b, int h, long t, String k) {
+            // mesma subexpressao ja montada: reaproveita o no
+            for (int n = numInputs; n < size; n++) {
+                if (key[n].equals(k)) return n;
+            }
+            if (size == type.length) {
+                int capacity = size * 2;
+                type = Arrays.copyOf(type, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                height = Arrays.copyOf(height, capacity);
+                table = Arrays.copyOf(table, capacity);
+                key = Arrays.copyOf(key, capacity);
+            }
+            type[size] = op;
+            left[size] = a;
+            right[size] = b;
+            height[size] = h;
+            table[size] = t;
+            key[size] = k;
+            return size++;
+        }
+    }
+
+    /**
+     * Nota de dificuldade: circuitos mais fundos, com mais portas e fan-out, com poucas
+     * combinacoes que resolvem e mais cliques ate a solucao sao mais dificeis
+     */
+    static float score(GeneratedLevel level, int combinations) {
+        float rarity = (float) (Math.log((double) combinations / level.solutionCount) / Math.log(2));
+        return level.depth * 2f
+            + level.gates
+            + (level.maxFanOut - 1) * 1.5f
+            + rarity * 2f
+            + level.minMoves * 2f
+            + level.numInputs;
+    }
+
+    /**
+     * Escreve os niveis no formato do levels.txt, em grupos de uma pagina da tela de niveis
+     */
+    public static void write(GeneratedLevel[] levels, String path) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < levels.length; i++) {
+            if (i > 0 && i % LEVELS_PER_PAGE == 0) sb.append('\n');
+            sb.append(levels[i].toLine()).append('\n');
+        }
+        Files.write(Paths.get(path), sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Metodo main: gera os niveis e imprime o resumo por dificuldade
+     * Argumentos: [quantidade] [seed] [arquivo de saida]
+     */
+    public static void main(String[] args) {
+        String projectRoot = System.getProperty("user.dir");
+        if (projectRoot.endsWith("core")) {
+            projectRoot = projectRoot.substring(0, projectRoot.length() - 5);
+        }
+        Settings settings = new Settings();
+        if (args.length > 0) settings.count = Integer.parseInt(args[0]);
+        if (args.length > 1) settings.seed = Long.parseLong(args[1]);
+        String path = args.length > 2 ? args[2] : projectRoot + "/assets/levels/generated.txt";
+
+        System.out.println("=== Gerador de niveis ===");
+        System.out.println("Niveis: " + settings.count + ", seed: " + settings.seed
+            + ", threads: " + ForkJoinPool.commonPool().getParallelism());
+
+        long start = System.nanoTime();
+        GeneratedLevel[] levels = generate(settings, ForkJoinPool.commonPool());
+        long generated = System.nanoTime();
+
+        try {
+            write(levels, path);
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar " + path + ": " + e.getMessage());
+            System.exit(1);
+        }
+
+        int[] perDifficulty = new int[Difficulty.values().length];
+        for (GeneratedLevel level : levels) {
+            perDifficulty[level.difficulty.ordinal()]++;
+        }
+        System.out.println("Arquivo: " + path);
+        for (Difficulty difficulty : Difficulty.values()) {
+            System.out.println("  " + difficulty + ": " + perDifficulty[difficulty.ordinal()]);
+        }
+        System.out.println("Gerados: " + levels.length + " em " + (generated - start) / 1000000 + " ms");
+        if (levels.length < settings.count) {
+            System.out.println("Aviso: apenas " + levels.length + " niveis distintos com estes parametros");
+            System.exit(1);
+        }
+    }
+}
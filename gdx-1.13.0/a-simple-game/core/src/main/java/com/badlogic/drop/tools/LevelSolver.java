@@ -0,0 +1,248 @@
+package com.badlogic.drop.tools;
+
+import com.badlogic.drop.entities.Circuit;
+import com.badlogic.drop.entities.TruthTableEvaluator;
+import com.badlogic.drop.levels.JSONtoCircuit;
+import com.badlogic.drop.levels.Level;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solver headless dos niveis: para cada nivel enumera todas as combinacoes de entrada
+ * que produzem a saida esperada e calcula a menor distancia de Hamming a partir do
+ * estado inicial (todas as entradas em false, como em Circuit.resetInputs()).
+ * Compara o resultado com o minMoves e a solucao do JSON e reporta as divergencias.
+ * Roda sem backend do libGDX (sem texturas) e resolve os niveis em paralelo (fork-join).
+ * Com --verify-compiled tambem compara a avaliacao compilada com a varredura de fios
+ * (Circuit.verifyCompiledEvaluation); niveis com lacos ou entradas demais sao pulados.
+ *
+ * Uso: gradlew core:solveLevels [-PlevelsJson=caminho/levels.json] [-PverifyCompiled]
+ */
+public class LevelSolver {
+
+    // quantas solucoes guardar para o relatorio
+    private static final int MAX_LISTED_SOLUTIONS = 8;
+
+    // niveis por tarefa antes de dividir o trabalho
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    /**
+     * Resultado da resolucao de um nivel
+     */
+    public static class Result {
+        public int levelId;
+        public int numInputs;
+        public int declaredMinMoves;
+        public int solutionCount;     // combinacoes que produzem a saida esperada
+        public int minDistance = -1;  // menor numero de bits ligados entre as solucoes (-1 = sem solucao)
+        public int minMoves = -1;     // menor numero de cliques para vencer no jogo
+        public final Array<String> solutions = new Array<>();
+        public String error;
+
+        public boolean isReachable() {
+            return solutionCount > 0;
+        }
+
+        public boolean hasMismatch() {
+            return error != null || !isReachable() || minMoves != declaredMinMoves;
+        }
+    }
+
+    /**
+     * Resolve um unico nivel
+     */
+    public static Result solve(Level level) {
+        Result result = new Result();
+        result.levelId = level.getId();
+        result.declaredMinMoves = level.getMinMoves();
+
+        Circuit circuit = level.getCircuit();
+        TruthTableEvaluator evaluator = new TruthTableEvaluator(circuit);
+        int numInputs = evaluator.getNumInputs();
+        int numOutputs = evaluator.getNumOutputs();
+        int combinations = evaluator.getCombinationCount();
+        long validMask = combinations >= 64 ? -1L : (1L << combinations) - 1;
+        result.numInputs = numInputs;
+
+        boolean[] expected = new boolean[numOutputs];
+        for (int o = 0; o < numOutputs; o++) {
+            expected[o] = circuit.getExpectedOutput(o);
+        }
+
+        boolean distanceOneSolution = false;
+        for (int block = 0; block < evaluator.getBlockCount(); block++) {
+            evaluator.evaluateBlock(block);
+
+            // bit m ligado = combinacao block * 64 + m produz todas as saidas esperadas
+            long match = validMask;
+            for (int o = 0; o < numOutputs; o++) {
+                long out = evaluator.getOutputBlock(o);
+                match &= expected[o] ? out : ~out;
+            }
+
+            while (match != 0) {
+                int bit = Long.numberOfTrailingZeros(match);
+                match &= match - 1;
+                int combination = (block << 6) | bit;
+                int distance = Integer.bitCount(combination);
+
+                result.solutionCount++;
+                if (result.minDistance < 0 || distance < result.minDistance) {
+                    result.minDistance = distance;
+                }
+                if (distance == 1) {
+                    distanceOneSolution = true;
+                }
+                if (result.solutions.size < MAX_LISTED_SOLUTIONS) {
+                    result.solutions.add(formatCombination(combination, numInputs));
+                }
+            }
+        }
+
+        // O jogo so verifica a vitoria depois do primeiro clique: se o estado inicial ja
+        // resolve o nivel, vence com 1 clique (se existir solucao a 1 bit) ou liga e desliga (2)
+        if (result.minDistance > 0) {
+            result.minMoves = result.minDistance;
+        } else if (result.minDistance == 0) {
+            result.minMoves = distanceOneSolution ? 1 : 2;
+        }
+        return result;
+    }
+
+    // Ex.: combinacao 0b101 com 3 entradas -> "I0=1 I1=0 I2=1"
+    private static String formatCombination(int combination, int numInputs) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numInputs; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append('I').append(i).append('=').append((combination >>> i) & 1);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Resolve todos os niveis em paralelo usando o pool fork-join informado
+     */
+    public static Result[] solveAll(Array<Level> levels, ForkJoinPool pool) {
+        Result[] results = new Result[levels.size];
+        pool.invoke(new SolveTask(levels, results, 0, levels.size));
+        return results;
+    }
+
+    // Divide o intervalo de niveis ao meio ate atingir o limite sequencial
+    private static class SolveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Array<Level> levels;
+        private final Result[] results;
+        private final int from;
+        private final int to;
+
+        SolveTask(Array<Level> levels, Result[] results, int from, int to) {
+            this.levels = levels;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Level level = levels.get(i);
+                    try {
+                        results[i] = solve(level);
+                    } catch (RuntimeException e) {
+                        Result failed = new Result();
+                        failed.levelId = level.getId();
+                        failed.declaredMinMoves = level.getMinMoves();
+                        failed.error = e.getMessage();
+                        results[i] = failed;
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SolveTask(levels, results, from, mid),
+                      new SolveTask(levels, results, mid, to));
+        }
+    }
+
+    /**
+     * Compara a avaliacao compilada com a varredura de fios em cada nivel
+     * @return numero de niveis com divergencia (os pulados nao contam)
+     */
+    public static int verifyCompiledEvaluation(Array<Level> levels) {
+        int mismatches = 0;
+        int skipped = 0;
+        for (Level level : levels) {
+            Circuit circuit = level.getCircuit();
+            if (!circuit.canVerifyCompiledEvaluation()) {
+                skipped++;
+                System.out.println("Nivel " + level.getId() + ": avaliacao compilada nao verificada ("
+                    + (circuit.hasFeedback() ? "circuito com lacos" : circuit.getInputs().size + " entradas, limite "
+                    + Circuit.MAX_VERIFIED_INPUTS) + ")");
+            } else if (!circuit.verifyCompiledEvaluation()) {
+                mismatches++;
+                System.out.println("Nivel " + level.getId() + ": avaliacao compilada diverge da varredura de fios");
+            }
+        }
+        System.out.println("Avaliacao compilada: " + (levels.size - skipped) + " niveis verificados, "
+            + skipped + " pulados, divergencias: " + mismatches);
+        return mismatches;
+    }
+
+    /**
+     * Metodo main: valida o arquivo de niveis e termina com codigo 1 se houver divergencias
+     */
+    public static void main(String[] args) {
+        String projectRoot = System.getProperty("user.dir");
+        if (projectRoot.endsWith("core")) {
+            projectRoot = projectRoot.substring(0, projectRoot.length() - 5);
+        }
+        String path = projectRoot + "/assets/levels/levels.json";
+        boolean verifyCompiled = false;
+        for (String arg : args) {
+            if (arg.equals("--verify-compiled")) verifyCompiled = true;
+            else path = arg;
+        }
+
+        System.out.println("=== Solver de niveis ===");
+        System.out.println("Arquivo: " + path);
+
+        long start = System.nanoTime();
+        Array<Level> levels = new JSONtoCircuit().convert(new FileHandle(new File(path)), false);
+        long built = System.nanoTime();
+
+        Result[] results = solveAll(levels, ForkJoinPool.commonPool());
+        long solved = System.nanoTime();
+
+        int mismatches = 0;
+        for (Result result : results) {
+            if (!result.hasMismatch()) continue;
+            mismatches++;
+
+            if (result.error != null) {
+                System.out.println("Nivel " + result.levelId + ": erro ao resolver - " + result.error);
+            } else if (!result.isReachable()) {
+                System.out.println("Nivel " + result.levelId + ": saida esperada inalcancavel");
+            } else {
+                System.out.println("Nivel " + result.levelId + ": minMoves " + result.declaredMinMoves
+                    + " no JSON, calculado " + result.minMoves
+                    + " (" + result.solutionCount + " solucoes, ex.: " + result.solutions.first() + ")");
+            }
+        }
+
+        System.out.println("Niveis: " + results.length + ", divergencias: " + mismatches);
+        System.out.println("Construcao: " + (built - start) / 1000000 + " ms, resolucao: " + (solved - built) / 1000000 + " ms");
+        if (verifyCompiled) {
+            mismatches += verifyCompiledEvaluation(levels);
+        }
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.badlogic.drop.ui;
 
+import com.badlogic.drop.Assets;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.utils.Array;
 
 /**
  * Painel que mostra as saídas esperadas para o nível atual
@@ -15,7 +15,8 @@ public class ExpectedOutputs {
 
     private Texture bitOnTexture;
     private Texture bitOffTexture;
-    private Array<Boolean> expectedOutputs;
+    private long[] expectedBits; // bit i = saida esperada i
+    private int numBits;
 
     private float bitSize;
     private float totalWidth;
@@ -23,15 +24,15 @@ public class ExpectedOutputs {
     private float startY;
     private float spacing = 10f;
 
-    public ExpectedOutputs(Array<Boolean> expectedOutputs, float screenWidth, float yPosition) {
-        this.expectedOutputs = expectedOutputs;
+    public ExpectedOutputs(long[] expectedBits, int numBits, float screenWidth, float yPosition) {
+        this.expectedBits = expectedBits;
+        this.numBits = numBits;
 
         // Carrega texturas
-        bitOnTexture = new Texture(Gdx.files.internal("textures/bits/out_on.png"));
-        bitOffTexture = new Texture(Gdx.files.internal("textures/bits/out_off.png"));
+        bitOnTexture = Assets.getInstance().acquire("textures/bits/out_on.png");
+        bitOffTexture = Assets.getInstance().acquire("textures/bits/out_off.png");
 
         // Calcula tamanho dos bits baseado na quantidade
-        int numBits = expectedOutputs.size;
         if (numBits > 0) {
             // Calcula os tamanhos e espacamentos
             spacing = 50f;
@@ -53,14 +54,14 @@ public class ExpectedOutputs {
      * Desenha os bits de saída esperados
      */
     public void render(SpriteBatch batch) {
-        if (expectedOutputs == null || expectedOutputs.size == 0) {
+        if (expectedBits == null || numBits == 0) {
             return;
         }
 
         float currentX = startX;
 
-        for (int i = 0; i < expectedOutputs.size; i++) {
-            boolean value = expectedOutputs.get(i);
+        for (int i = 0; i < numBits; i++) {
+            boolean value = (expectedBits[i >>> 6] & (1L << (i & 63))) != 0;
             Texture texture = value ? bitOnTexture : bitOffTexture;
 
             batch.draw(texture, currentX, startY, bitSize, bitSize);
@@ -68,15 +69,18 @@ public class ExpectedOutputs {
         }
     }
 
-    public void updateExpectedOutputs(Array<Boolean> newOutputs) {
-        this.expectedOutputs = newOutputs;
+    public void updateExpectedOutputs(long[] expectedBits, int numBits) {
+        this.expectedBits = expectedBits;
+        this.numBits = numBits;
     }
 
     /**
      * Libera recursos
      */
     public void dispose() {
-        if (bitOnTexture != null) bitOnTexture.dispose();
-        if (bitOffTexture != null) bitOffTexture.dispose();
+        if (bitOnTexture != null) Assets.getInstance().release("textures/bits/out_on.png");
+        if (bitOffTexture != null) Assets.getInstance().release("textures/bits/out_off.png");
+        bitOnTexture = null;
+        bitOffTexture = null;
     }
 }
@@ -0,0 +1,79 @@
+package com.badlogic.drop.ui;
+
+import com.badlogic.drop.Assets;
+import com.badlogic.drop.entities.Circuit;
+import com.badlogic.drop.entities.gates.LogicGate;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+// Renderizador das portas logicas (view do modelo em entities)
+// As portas so guardam logica e layout; aqui cada porta (pelo indice em circuit.getAllGates())
+// recebe os sprites on/off do atlas compartilhado, escolhidos pela saida atual da porta
+public class GateRenderer {
+
+    // sprites de cada porta do circuito atual (mesmo indice de getAllGates)
+    private TextureRegion[] spritesOn = new TextureRegion[0];
+    private TextureRegion[] spritesOff = new TextureRegion[0];
+    private Array<LogicGate> spritesGates;
+    private int spritesCount;
+
+    // Desenha todas as portas do circuito (batch.begin() ja chamado)
+    public void render(SpriteBatch batch, Circuit circuit) {
+        render(batch, circuit.getAllGates());
+    }
+
+    /**
+     * Desenha as portas do array (batch.begin() ja chamado). Os sprites ficam associados
+     * ao indice de cada porta: se o array mudar sem mudar de tamanho, chame invalidate().
+     */
+    public void render(SpriteBatch batch, Array<LogicGate> gates) {
+        if (gates != spritesGates || gates.size != spritesCount) {
+            loadSprites(gates);
+        }
+
+        for (int i = 0; i < gates.size; i++) {
+            LogicGate gate = gates.get(i);
+            if (gate == null) continue;
+            TextureRegion sprite = gate.getOutput() ? spritesOn[i] : spritesOff[i];
+            if (sprite != null) {
+                batch.draw(sprite, gate.getPosition().x, gate.getPosition().y, gate.getWidth(), gate.getHeight());
+            }
+        }
+    }
+
+    // Sprites resolvidos de novo no proximo render (ex.: portas do editor trocadas de lugar no array)
+    public void invalidate() {
+        spritesGates = null;
+    }
+
+    // Resolve os sprites de cada porta uma vez por circuito
+    private void loadSprites(Array<LogicGate> gates) {
+        if (spritesOn.length < gates.size) {
+            spritesOn = new TextureRegion[gates.size];
+            spritesOff = new TextureRegion[gates.size];
+        }
+        Assets assets = Assets.getInstance();
+        for (int i = 0; i < gates.size; i++) {
+            LogicGate gate = gates.get(i);
+            if (gate == null) continue;
+            String name = spriteName(gate.getGateType());
+            spritesOn[i] = assets.getGateRegion(name + "_on");
+            spritesOff[i] = assets.getGateRegion(name + "_off");
+        }
+        spritesGates = gates;
+        spritesCount = gates.size;
+    }
+
+    // nome do sprite no atlas (ex.: "AND" -> AND_on/AND_off, inputs e outputs usam os bits)
+    private static String spriteName(String gateType) {
+        switch (gateType) {
+            case "INPUT":
+                return "in";
+            case "OUTPUT":
+                return "out";
+            default:
+                return gateType;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.badlogic.drop.ui;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.drop.Assets;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -22,8 +22,15 @@ public class LevelButton extends Stack {
     private Label levelLabel;
     private Image starsImage;
     private Texture buttonTexture;
-    private static Texture baseTexture = null;
-    private static Texture[] starTextures = null;
+    private Texture[] starTextures;
+
+    private static final String BASE_TEXTURE = "textures/UI/levelbutton.png";
+    private static final String[] STAR_TEXTURES = {
+        "textures/UI/0star.png",
+        "textures/UI/1star.png",
+        "textures/UI/2star.png",
+        "textures/UI/3star.png"
+    };
 
     public LevelButton(int levelId, boolean unlocked, boolean completed, int stars, BitmapFont font) {
         this.levelId = levelId;
@@ -31,23 +38,13 @@ public class LevelButton extends Stack {
         this.completed = completed;
         this.stars = stars;
 
-        // Carrega a textura base uma única vez
-        if (baseTexture == null) {
-            baseTexture = new Texture(Gdx.files.internal("textures/UI/levelbutton.png"));
-        }
-
-        // Carrega texturas das estrelas uma única vez
-        if (starTextures == null) {
-            starTextures = new Texture[4];
-            starTextures[0] = new Texture(Gdx.files.internal("textures/UI/0star.png"));
-            starTextures[1] = new Texture(Gdx.files.internal("textures/UI/1star.png"));
-            starTextures[2] = new Texture(Gdx.files.internal("textures/UI/2star.png"));
-            starTextures[3] = new Texture(Gdx.files.internal("textures/UI/3star.png"));
+        // Texturas compartilhadas entre todos os botoes (referencias contadas no Assets)
+        buttonTexture = Assets.getInstance().acquire(BASE_TEXTURE);
+        starTextures = new Texture[STAR_TEXTURES.length];
+        for (int i = 0; i < STAR_TEXTURES.length; i++) {
+            starTextures[i] = Assets.getInstance().acquire(STAR_TEXTURES[i]);
         }
 
-        // Usa a textura base
-        buttonTexture = baseTexture;
-
         // Cria o botao com escala maior
         ImageButton.ImageButtonStyle style = new ImageButton.ImageButtonStyle();
         style.imageUp = new TextureRegionDrawable(buttonTexture);
@@ -136,5 +133,12 @@ public class LevelButton extends Stack {
     }
 
     public void dispose() {
+        if (buttonTexture == null) return;
+        Assets.getInstance().release(BASE_TEXTURE);
+        for (String path : STAR_TEXTURES) {
+            Assets.getInstance().release(path);
+        }
+        buttonTexture = null;
+        starTextures = null;
     }
 }
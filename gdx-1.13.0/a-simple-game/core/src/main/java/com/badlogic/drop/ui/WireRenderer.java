@@ -1,19 +1,69 @@
 package com.badlogic.drop.ui;
 
+import com.badlogic.drop.entities.Circuit;
 import com.badlogic.drop.entities.Wire;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 
 // Renderizador dedicado para desenhar fios conectando portas logicas
-// Usa ShapeRenderer do libGDX para desenhar linhas conectando os pontos do caminho
+// renderCircuit: todos os fios em um Mesh estatico (um quad por segmento), montado so quando o
+// layout muda; por frame apenas a cor dos fios que mudaram de estado e reescrita e tudo e
+// desenhado em um unico draw call
+// render/renderAll: ShapeRenderer do libGDX, um retangulo por segmento (usado para debug)
 public class WireRenderer {
 
     private final ShapeRenderer shapeRenderer;
     private final boolean ownsRenderer; // se este renderer criou o ShapeRenderer
     private boolean debugOnce = false;
+    private boolean debug = false; // loga a montagem do mesh (o editor remonta a cada arraste)
+
+    // Cores para diferentes estados
+    private final Color activeColor = new Color(0x00d4ffff);       // #00d4ffff quando ativo
+    private final Color inactiveColor = new Color(1f, 1f, 1f, 1f); // Branco quando inativo
+    private final Color debugColor = new Color(); // cor por segmento no debugOnce (reaproveitada)
+
+    // posicao (x, y) + cor empacotada
+    private static final int VERTEX_SIZE = 3;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+        + "uniform mat4 u_projTrans;\n"
+        + "varying vec4 v_color;\n"
+        + "void main() {\n"
+        + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+        + "    v_color.a = v_color.a * (255.0/254.0);\n"
+        + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "}\n";
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n"
+        + "precision mediump float;\n"
+        + "#endif\n"
+        + "varying vec4 v_color;\n"
+        + "void main() {\n"
+        + "    gl_FragColor = v_color;\n"
+        + "}\n";
+
+    // Mesh dos fios do circuito atual
+    private Mesh mesh;
+    private ShaderProgram meshShader;
+    private float[] vertices;
+    private int vertexCount;
+    private int[] wireVertexStart; // primeiro vertice de cada fio
+    private int[] wireVertexEnd;   // ultimo vertice (exclusivo) de cada fio
+    private float[] wireColor;     // cor empacotada atualmente no mesh para cada fio
+    private Circuit meshCircuit;
+    private int meshLayoutVersion;
     // Cria um WireRenderer com seu proprio ShapeRenderer
     public WireRenderer() {
         this.shapeRenderer = new ShapeRenderer();
@@ -26,6 +76,10 @@ public class WireRenderer {
         this.ownsRenderer = false;
     }
 
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
     // Renderiza um unico fio
     // - wire: fio a ser desenhado
     // - autoBeginEnd: se true, chama begin() e end() automaticamente
@@ -41,7 +95,7 @@ public class WireRenderer {
             shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         }
 
-        Color color = wire.getCurrentColor();
+        Color color = getColor(wire);
         float lineWidth = wire.getLineWidth();
         //Gdx.app.log("WireRenderer", "quantidade de pontos " + points.size);
         // Desenha segmentos conectando os pontos
@@ -49,7 +103,7 @@ public class WireRenderer {
             Vector2 start = points.get(i);
             Vector2 end = points.get(i + 1);
 
-            if(debugOnce) color = new Color(100*(9 & (1 << i)), 100*(18 & (1 << i)), 100*(36 & (1 << i)), 1);
+            if(debugOnce) color = debugColor.set(100*(9 & (1 << i)), 100*(18 & (1 << i)), 100*(36 & (1 << i)), 1);
             shapeRenderer.setColor(color);
 
             // Desenha linha grossa usando retangulo
@@ -70,13 +124,152 @@ public class WireRenderer {
 
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
 
-        for (Wire wire : wires) {
-            render(wire, false); // false porque ja chamamos begin()
+        for (int i = 0; i < wires.size; i++) {
+            render(wires.get(i), false); // false porque ja chamamos begin()
         }
         debugOnce = false;
         shapeRenderer.end();
     }
 
+    /**
+     * Desenha todos os fios do circuito com um unico draw call.
+     * O mesh e reconstruido apenas quando o circuito ou o layout (Circuit.getLayoutVersion) muda.
+     */
+    public void renderCircuit(Circuit circuit, Matrix4 projection) {
+        if (circuit == null) return;
+        if (circuit != meshCircuit || circuit.getLayoutVersion() != meshLayoutVersion) {
+            buildMesh(circuit);
+        }
+        if (vertexCount == 0) return;
+
+        updateColors(circuit.getWires());
+
+        meshShader.bind();
+        meshShader.setUniformMatrix("u_projTrans", projection);
+        mesh.render(meshShader, GL20.GL_TRIANGLES, 0, vertexCount / 4 * 6);
+    }
+
+    // monta os quads de todos os segmentos (mesma geometria do drawThickLine)
+    private void buildMesh(Circuit circuit) {
+        Array<Wire> wires = circuit.getWires();
+        meshCircuit = circuit;
+        meshLayoutVersion = circuit.getLayoutVersion();
+
+        int maxQuads = 0;
+        for (Wire wire : wires) {
+            maxQuads += Math.max(wire.getPathPoints().size - 1, 0);
+        }
+        ensureCapacity(maxQuads, wires.size);
+
+        int v = 0;
+        for (int w = 0; w < wires.size; w++) {
+            Wire wire = wires.get(w);
+            Array<Vector2> points = wire.getPathPoints();
+            float thickness = wire.getLineWidth();
+            float color = getColor(wire).toFloatBits();
+            wireVertexStart[w] = v / VERTEX_SIZE;
+            wireColor[w] = color;
+            for (int i = 0; i < points.size - 1; i++) {
+                Vector2 start = points.get(i);
+                Vector2 end = points.get(i + 1);
+                float x1 = start.x;
+                float y1 = start.y;
+                float dx = end.x - x1;
+                float dy = end.y - y1;
+                float length = (float) Math.sqrt(dx * dx + dy * dy);
+                if (length < thickness * 0.5f) continue;
+
+                if (dx < 0) {
+                    y1 += thickness;
+                } else if (dx > 0) {
+                    x1 -= thickness;
+                }
+
+                // retangulo length x thickness rotacionado na direcao do segmento a partir de (x1, y1)
+                float cos = dx / length;
+                float sin = dy / length;
+                float ux = cos * length, uy = sin * length;       // ao longo do segmento
+                float px = -sin * thickness, py = cos * thickness; // espessura
+                v = putVertex(v, x1, y1, color);
+                v = putVertex(v, x1 + ux, y1 + uy, color);
+                v = putVertex(v, x1 + ux + px, y1 + uy + py, color);
+                v = putVertex(v, x1 + px, y1 + py, color);
+            }
+            wireVertexEnd[w] = v / VERTEX_SIZE;
+        }
+        vertexCount = v / VERTEX_SIZE;
+        if (vertexCount > 0) {
+            mesh.setVertices(vertices, 0, v);
+        }
+        if (debug) Gdx.app.log("WireRenderer", "Mesh dos fios montado: " + wires.size + " fios, " + (vertexCount / 4) + " segmentos");
+    }
+
+    private int putVertex(int offset, float x, float y, float color) {
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = color;
+        return offset + VERTEX_SIZE;
+    }
+
+    // garante mesh e arrays com espaco para os segmentos do circuito
+    private void ensureCapacity(int quads, int wireCount) {
+        if (wireVertexStart == null || wireVertexStart.length < wireCount) {
+            wireVertexStart = new int[wireCount];
+            wireVertexEnd = new int[wireCount];
+            wireColor = new float[wireCount];
+        }
+        if (meshShader == null) {
+            meshShader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            if (!meshShader.isCompiled()) {
+                throw new GdxRuntimeException("Erro ao compilar shader dos fios: " + meshShader.getLog());
+            }
+        }
+        int maxVertices = Math.max(quads, 1) * 4;
+        if (maxVertices > 65536) {
+            throw new GdxRuntimeException("Circuito com fios demais para um mesh: " + quads + " segmentos");
+        }
+        if (mesh != null && mesh.getMaxVertices() >= maxVertices) return;
+        if (mesh != null) mesh.dispose();
+
+        // cresce em potencias de 2 para nao recriar o mesh a cada nivel
+        int capacity = 64;
+        while (capacity < maxVertices) capacity <<= 1;
+        mesh = new Mesh(true, capacity, capacity / 4 * 6,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE));
+        vertices = new float[capacity * VERTEX_SIZE];
+        short[] indices = new short[capacity / 4 * 6];
+        for (int i = 0, j = 0; i < indices.length; i += 6, j += 4) {
+            indices[i] = (short) j;
+            indices[i + 1] = (short) (j + 1);
+            indices[i + 2] = (short) (j + 2);
+            indices[i + 3] = (short) (j + 2);
+            indices[i + 4] = (short) (j + 3);
+            indices[i + 5] = (short) j;
+        }
+        mesh.setIndices(indices);
+    }
+
+    // reescreve apenas a cor dos fios que mudaram de estado desde o ultimo frame
+    private void updateColors(Array<Wire> wires) {
+        int dirtyStart = Integer.MAX_VALUE;
+        int dirtyEnd = -1;
+        for (int w = 0; w < wires.size; w++) {
+            float color = getColor(wires.get(w)).toFloatBits();
+            if (color == wireColor[w]) continue;
+            wireColor[w] = color;
+            for (int v = wireVertexStart[w]; v < wireVertexEnd[w]; v++) {
+                vertices[v * VERTEX_SIZE + 2] = color;
+            }
+            dirtyStart = Math.min(dirtyStart, wireVertexStart[w]);
+            dirtyEnd = Math.max(dirtyEnd, wireVertexEnd[w]);
+        }
+        if (dirtyEnd > dirtyStart) {
+            int offset = dirtyStart * VERTEX_SIZE;
+            mesh.updateVertices(offset, vertices, offset, (dirtyEnd - dirtyStart) * VERTEX_SIZE);
+        }
+    }
+
     // Desenha uma linha grossa entre dois pontos com um retangulo
     private void drawThickLine(float x1, float y1, float x2, float y2, float thickness) {
         float dx = x2 - x1;
@@ -113,7 +306,7 @@ public class WireRenderer {
             shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
         }
 
-        Color color = wire.getCurrentColor();
+        Color color = getColor(wire);
         shapeRenderer.setColor(color);
 
         // Configura espessura (disponível no libGDX mas depende do driver)
@@ -151,11 +344,43 @@ public class WireRenderer {
     }
 
 
-    // Libera recursos (so se este renderer criou o ShapeRenderer)
+    // Libera recursos (ShapeRenderer so se este renderer o criou)
     public void dispose() {
         if (ownsRenderer && shapeRenderer != null) {
             shapeRenderer.dispose();
         }
+        if (mesh != null) {
+            mesh.dispose();
+            mesh = null;
+        }
+        if (meshShader != null) {
+            meshShader.dispose();
+            meshShader = null;
+        }
+        meshCircuit = null;
+    }
+
+    /**
+     * Retorna a cor atual baseada no estado do fio
+     */
+    public Color getColor(Wire wire) {
+        return wire.getState() ? activeColor : inactiveColor;
+    }
+
+    public Color getActiveColor() {
+        return activeColor;
+    }
+
+    public void setActiveColor(Color color) {
+        this.activeColor.set(color);
+    }
+
+    public Color getInactiveColor() {
+        return inactiveColor;
+    }
+
+    public void setInactiveColor(Color color) {
+        this.inactiveColor.set(color);
     }
 
     public ShapeRenderer getShapeRenderer() {
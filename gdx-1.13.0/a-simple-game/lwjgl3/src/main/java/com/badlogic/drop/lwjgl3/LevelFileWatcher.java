@@ -0,0 +1,100 @@
+package com.badlogic.drop.lwjgl3;
+
+import com.badlogic.drop.levels.LevelWatcher;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-reload do levels.json com WatchService: uma thread daemon observa a pasta do arquivo
+ * e, quando ele muda, avisa a thread de render (Gdx.app.postRunnable).
+ *
+ * Editores costumam gravar em varias etapas (truncar + escrever, ou arquivo temporario + rename):
+ * os eventos sao agrupados ate QUIET_MILLIS sem mudanca e viram um unico aviso.
+ * Gravacoes sem mudanca real custam so a comparacao das descricoes no LevelManager.
+ */
+public class LevelFileWatcher implements LevelWatcher {
+    // espera sem eventos antes de recarregar
+    private static final long QUIET_MILLIS = 200;
+
+    private WatchService service;
+    private Thread thread;
+
+    @Override
+    public boolean watch(FileHandle file, Runnable listener) {
+        File onDisk = file.type() == Files.FileType.Classpath ? null : file.file();
+        if (onDisk == null || !onDisk.isFile()) return false;
+        final Path path = onDisk.getAbsoluteFile().toPath();
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            // CREATE/DELETE cobrem editores que gravam num temporario e renomeiam
+            path.getParent().register(service, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            Gdx.app.error("LevelFileWatcher", "Erro observando " + path, e);
+            dispose();
+            return false;
+        }
+        final WatchService watchService = service;
+        thread = new Thread(() -> run(watchService, path, listener), "LevelFileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private static void run(WatchService service, Path path, Runnable listener) {
+        Path name = path.getFileName();
+        File file = path.toFile();
+        try {
+            while (true) {
+                if (!touches(service.take(), name)) continue;
+                // agrupa a rajada de eventos da mesma gravacao
+                WatchKey key;
+                while ((key = service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    touches(key, name);
+                }
+                if (!file.isFile()) continue; // apagado ou no meio de um rename
+                Gdx.app.postRunnable(listener);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // dispose
+        }
+    }
+
+    // consome os eventos da chave e diz se algum e do arquivo observado
+    private static boolean touches(WatchKey key, Path name) {
+        boolean hit = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // OVERFLOW (context null): eventos perdidos, pode ter sido o arquivo
+            if (event.context() == null || name.equals(event.context())) hit = true;
+        }
+        key.reset();
+        return hit;
+    }
+
+    @Override
+    public void dispose() {
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ignored) {
+            }
+            service = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+}
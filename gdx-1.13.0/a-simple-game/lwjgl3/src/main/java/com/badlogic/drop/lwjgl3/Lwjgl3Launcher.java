@@ -3,6 +3,7 @@ package com.badlogic.drop.lwjgl3;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.badlogic.drop.Main;
+import com.badlogic.drop.levels.LevelManager;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
@@ -14,6 +15,13 @@ public class Lwjgl3Launcher {
     private static Lwjgl3Application createApplication() {
         Main main = new Main();
         main.preloader = new NullPreloader();
+        main.allocationCounter = new ThreadAllocationCounter();
+        LevelManager.setPackLoader(new MappedLevelPackLoader());
+        // hot-reload do levels.json (gradlew lwjgl3:run -PhotReload)
+        if (Boolean.getBoolean("bitit.hotReload")) {
+            main.levelWatcher = new LevelFileWatcher();
+            LevelManager.setPreferJson(true);
+        }
         return new Lwjgl3Application(main, getDefaultConfiguration());
     }
 
@@ -0,0 +1,34 @@
+package com.badlogic.drop.lwjgl3;
+
+import com.badlogic.drop.levels.LevelPackLoader;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Mapeia o levels.bin em memoria: abrir o jogo so toca nas paginas do indice e cada
+ * nivel aberto le apenas o seu registro. Dentro do jar (classpath) nao ha arquivo
+ * para mapear e os bytes sao lidos normalmente.
+ */
+public class MappedLevelPackLoader implements LevelPackLoader {
+
+    @Override
+    public ByteBuffer load(FileHandle file) {
+        File onDisk = file.type() == Files.FileType.Classpath ? null : file.file();
+        if (onDisk == null || !onDisk.isFile()) {
+            return READ_BYTES.load(file);
+        }
+        try (FileChannel channel = FileChannel.open(onDisk.toPath(), StandardOpenOption.READ)) {
+            // o mapeamento continua valido depois de fechar o canal
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Erro mapeando " + file.path(), e);
+        }
+    }
+}
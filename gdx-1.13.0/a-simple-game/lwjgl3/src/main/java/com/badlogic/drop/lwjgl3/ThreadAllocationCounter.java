@@ -0,0 +1,64 @@
+package com.badlogic.drop.lwjgl3;
+
+import com.badlogic.drop.AllocationCounter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Contador de alocacoes pelo ThreadMXBean da HotSpot.
+ * Na JVM 11 a propria leitura aloca alguns bytes (arrays internos); esse custo e medido
+ * uma vez no construtor e descontado, entao um frame sem alocacoes le 0.
+ */
+public class ThreadAllocationCounter implements AllocationCounter {
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final GarbageCollectorMXBean[] collectors;
+    private final long readCost;
+    private long readCount;
+
+    public ThreadAllocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threadBean = (com.sun.management.ThreadMXBean) bean;
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threadBean = null;
+        }
+        // lista copiada para um array: iterar a List a cada frame alocaria o iterator
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+        readCost = measureReadCost();
+    }
+
+    // menor diferenca entre leituras seguidas (aquece o caminho antes)
+    private long measureReadCost() {
+        if (threadBean == null) return 0;
+        long id = Thread.currentThread().getId();
+        long cost = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long first = threadBean.getThreadAllocatedBytes(id);
+            long second = threadBean.getThreadAllocatedBytes(id);
+            cost = Math.min(cost, second - first);
+        }
+        return Math.max(0, cost);
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        if (threadBean == null) return -1;
+        long bytes = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        // desconta o que as leituras anteriores alocaram
+        return bytes - readCost * readCount++;
+    }
+
+    @Override
+    public long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+}